@@ -0,0 +1,80 @@
+package br.edu.utfpr.bankapi.benchmark;
+
+import java.util.ArrayList;
+import java.util.stream.Stream;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import br.edu.utfpr.bankapi.Application;
+import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.model.Money;
+import br.edu.utfpr.bankapi.repository.AccountRepository;
+import br.edu.utfpr.bankapi.service.AccountNumberFilter;
+
+/**
+ * Inicializa a aplicação (sem servidor web) sobre um banco H2 em memória
+ */
+final class BenchmarkContext {
+
+    // Número da primeira conta criada; as demais são sequenciais
+    static final long FIRST_ACCOUNT = 100_000;
+
+    private BenchmarkContext() {
+    }
+
+    /**
+     * @param args argumentos adicionais no formato de linha de comando
+     *             (--propriedade=valor), que prevalecem sobre o
+     *             application.properties
+     */
+    static ConfigurableApplicationContext start(String... args) {
+        return start(WebApplicationType.NONE, args);
+    }
+
+    /**
+     * Inicializa a aplicação com o servidor web, em porta aleatória
+     * ({@code local.server.port})
+     */
+    static ConfigurableApplicationContext startServer(String... args) {
+        return start(WebApplicationType.SERVLET, Stream.concat(Stream.of("--server.port=0"), Stream.of(args))
+                .toArray(String[]::new));
+    }
+
+    private static ConfigurableApplicationContext start(WebApplicationType type, String... args) {
+        var defaults = Stream.of(
+                "--spring.datasource.url=jdbc:h2:mem:bankapi;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.show-sql=false",
+                // Os scripts de migração são específicos de PostgreSQL/MariaDB: no H2 apenas as
+                // tabelas acessadas por JDBC são criadas (schema-h2.sql dos benchmarks)
+                "--spring.sql.init.platform=h2",
+                // Eventos publicados no log (desligado pelo nível WARN), sem gravar arquivo
+                "--bankapi.outbox.sink=log",
+                "--logging.level.root=WARN");
+
+        return new SpringApplicationBuilder(Application.class)
+                .web(type)
+                .run(Stream.concat(defaults, Stream.of(args)).toArray(String[]::new));
+    }
+
+    /**
+     * Cria as contas a partir de {@link #FIRST_ACCOUNT}, com limite especial
+     * alto o suficiente para que nenhum débito seja recusado
+     */
+    static void createAccounts(ConfigurableApplicationContext context, int count) {
+        var accounts = new ArrayList<Account>(count);
+        for (int i = 0; i < count; i++)
+            accounts.add(new Account("Conta " + i, FIRST_ACCOUNT + i, 0, Money.ofUnits(1_000_000_000_000L)));
+
+        context.getBean(AccountRepository.class).saveAll(accounts);
+
+        // As contas foram gravadas direto no repositório: atualiza o filtro de contas existentes
+        context.getBean(AccountNumberFilter.class).rebuild();
+    }
+}
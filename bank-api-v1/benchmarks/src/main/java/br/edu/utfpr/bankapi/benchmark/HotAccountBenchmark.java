@@ -0,0 +1,87 @@
+package br.edu.utfpr.bankapi.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import br.edu.utfpr.bankapi.dto.DepositDTO;
+import br.edu.utfpr.bankapi.exception.NotFoundException;
+import br.edu.utfpr.bankapi.service.DepositGroupCommitter;
+import br.edu.utfpr.bankapi.service.HotAccountShards;
+import br.edu.utfpr.bankapi.service.TransactionService;
+
+/**
+ * Depósitos simultâneos em uma única conta (conta de liquidação), com o saldo
+ * dividido em {@code shards} parcelas ({@link HotAccountShards}). Com 0 a
+ * conta não tem o saldo dividido e todos os depósitos disputam a sua linha.
+ *
+ * Com {@code groupCommit} os depósitos passam pelo
+ * {@link DepositGroupCommitter}, que grava os depósitos simultâneos da conta
+ * em uma única transação.
+ *
+ * Com atualização atômica (padrão), sobre H2 em memória. A vazão de
+ * {@code depositHotAccount} deve crescer com o número de parcelas até o
+ * número de threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class HotAccountBenchmark {
+
+    static final int ACCOUNTS = 100;
+
+    @Param({ "0", "4", "16" })
+    int shards;
+
+    @Param({ "false", "true" })
+    boolean groupCommit;
+
+    ConfigurableApplicationContext context;
+
+    TransactionService transactionService;
+
+    DepositGroupCommitter depositGroupCommitter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("--bankapi.transaction.locking=ATOMIC",
+                "--bankapi.hot-accounts.numbers=" + (shards == 0 ? "" : BenchmarkContext.FIRST_ACCOUNT),
+                "--bankapi.hot-accounts.shards=" + Math.max(shards, 1),
+                "--bankapi.deposit.group-commit.enabled=" + groupCommit);
+
+        BenchmarkContext.createAccounts(context, ACCOUNTS);
+        // A conta foi criada depois da inicialização: cria as parcelas
+        context.getBean(HotAccountShards.class).init();
+        transactionService = context.getBean(TransactionService.class);
+        depositGroupCommitter = context.getBeanProvider(DepositGroupCommitter.class).getIfAvailable();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public Object depositHotAccount() throws NotFoundException {
+        var dto = new DepositDTO(BenchmarkContext.FIRST_ACCOUNT, 1);
+        return depositGroupCommitter != null ? depositGroupCommitter.deposit(dto) : transactionService.deposit(dto);
+    }
+}
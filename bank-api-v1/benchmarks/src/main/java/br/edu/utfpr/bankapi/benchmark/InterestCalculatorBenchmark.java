@@ -0,0 +1,45 @@
+package br.edu.utfpr.bankapi.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.edu.utfpr.bankapi.service.InterestCalculator;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InterestCalculatorBenchmark {
+
+    @Param({ "12", "360" })
+    int prazo;
+
+    // Campos de estado (não constantes) para evitar que o JIT pré-calcule o resultado
+    double valor = 15_432.78;
+
+    long valorCentavos = 1_543_278;
+
+    float taxa = 1.25f;
+
+    @Benchmark
+    public double calcularJuros() {
+        return InterestCalculator.calcularJuros(valor, taxa, prazo);
+    }
+
+    @Benchmark
+    public long calcularJurosEmCentavos() {
+        return InterestCalculator.calcularJuros(valorCentavos, taxa, prazo);
+    }
+}
@@ -0,0 +1,25 @@
+package br.edu.utfpr.bankapi.benchmark;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Simula a latência de um banco remoto: atrasa cada instrução SQL em
+ * {@code bankapi.loadtest.db-latency-ms} (propriedade de sistema), com a
+ * conexão já obtida do pool
+ */
+public class LatencyStatementInspector implements StatementInspector {
+
+    private static final long LATENCY = Long.getLong("bankapi.loadtest.db-latency-ms", 0);
+
+    @Override
+    public String inspect(String sql) {
+        if (LATENCY > 0) {
+            try {
+                Thread.sleep(LATENCY);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,169 @@
+package br.edu.utfpr.bankapi.benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Teste de carga comparando threads da plataforma (pool do Tomcat) e threads
+ * virtuais (perfil virtual-threads) sob latência de banco.
+ *
+ * Cada instrução SQL é atrasada em {@code bankapi.loadtest.db-latency-ms}
+ * ({@link LatencyStatementInspector}) e o pool de conexões é o mesmo nos dois
+ * modos. Os clientes enviam depósitos (dependem do banco) e consultas de
+ * contas inexistentes (rejeitadas pelo filtro de contas, sem banco). Com
+ * threads da plataforma as threads do Tomcat ficam presas aguardando conexão e
+ * as consultas sem banco esperam na fila; com threads virtuais apenas as
+ * requisições que usam o banco esperam pelo pool.
+ *
+ * Execução: {@code mvn package exec:exec -Ploadtest}. Parâmetros (propriedades
+ * de sistema): bankapi.loadtest.clients (padrão 1000),
+ * bankapi.loadtest.seconds (20), bankapi.loadtest.db-latency-ms (50). O
+ * resultado é gravado em target/loadtest-result.json.
+ */
+public class LoadTest {
+
+    static final int ACCOUNTS = 1_000;
+
+    public static void main(String[] args) throws Exception {
+        var clients = Integer.getInteger("bankapi.loadtest.clients", 1000);
+        var seconds = Integer.getInteger("bankapi.loadtest.seconds", 20);
+        if (System.getProperty("bankapi.loadtest.db-latency-ms") == null)
+            System.setProperty("bankapi.loadtest.db-latency-ms", "50");
+
+        var results = new LinkedHashMap<String, Object>();
+        results.put("clients", clients);
+        results.put("seconds", seconds);
+        results.put("dbLatencyMs", Long.getLong("bankapi.loadtest.db-latency-ms"));
+        results.put("platform", run(false, clients, seconds));
+        results.put("virtual", run(true, clients, seconds));
+
+        var json = new ObjectMapper().writerWithDefaultPrettyPrinter().writeValueAsString(results);
+        var output = Path.of(args.length > 0 ? args[0] : "target/loadtest-result.json");
+        Files.createDirectories(output.toAbsolutePath().getParent());
+        Files.writeString(output, json);
+        System.out.println(json);
+    }
+
+    private static Map<String, Object> run(boolean virtualThreads, int clients, int seconds) {
+        var context = BenchmarkContext.startServer(
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                // Mesmo limite de acesso ao banco nos dois modos
+                "--spring.datasource.hikari.maximum-pool-size=20",
+                "--spring.datasource.hikari.connection-timeout=2000",
+                "--server.tomcat.max-connections=10000",
+                "--bankapi.audit.sample-rate=0",
+                "--spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                        + LatencyStatementInspector.class.getName());
+        try {
+            BenchmarkContext.createAccounts(context, ACCOUNTS);
+            var base = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+
+            var deposits = new Stats();
+            var lookups = new Stats();
+            var deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+
+            try (var http = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+                    var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int i = 0; i < clients; i++) {
+                    var deposit = i % 2 == 0;
+                    executor.submit(() -> {
+                        while (System.nanoTime() < deadline) {
+                            if (deposit)
+                                deposits.record(() -> send(http, depositRequest(base), 201));
+                            else
+                                lookups.record(() -> send(http, lookupRequest(base), 404));
+                        }
+                    });
+                }
+            }
+
+            var result = new LinkedHashMap<String, Object>();
+            result.put("deposits", deposits.summary(seconds));
+            result.put("lookups", lookups.summary(seconds));
+            return result;
+        } finally {
+            context.close();
+        }
+    }
+
+    private static HttpRequest depositRequest(String base) {
+        var body = "{\"receiverAccountNumber\":" + randomAccount() + ",\"amount\":1}";
+        return HttpRequest.newBuilder(URI.create(base + "/transaction/deposit"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    /**
+     * Consulta de conta inexistente: respondida sem acesso ao banco
+     */
+    private static HttpRequest lookupRequest(String base) {
+        return HttpRequest.newBuilder(URI.create(base + "/account/1")).GET().build();
+    }
+
+    private static boolean send(HttpClient http, HttpRequest request, int expectedStatus) {
+        try {
+            return http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == expectedStatus;
+        } catch (IOException ex) {
+            return false;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static long randomAccount() {
+        return BenchmarkContext.FIRST_ACCOUNT + ThreadLocalRandom.current().nextInt(ACCOUNTS);
+    }
+
+    /**
+     * Contagem de respostas e latências de um tipo de requisição
+     */
+    static final class Stats {
+
+        private final AtomicLong ok = new AtomicLong();
+
+        private final AtomicLong failed = new AtomicLong();
+
+        private final ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+
+        void record(BooleanSupplier request) {
+            var start = System.nanoTime();
+            var success = request.getAsBoolean();
+            latencies.add(System.nanoTime() - start);
+            (success ? ok : failed).incrementAndGet();
+        }
+
+        Map<String, Object> summary(int seconds) {
+            var sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+            var summary = new LinkedHashMap<String, Object>();
+            summary.put("ok", ok.get());
+            summary.put("failed", failed.get());
+            summary.put("throughputPerSecond", ok.get() / (double) seconds);
+            summary.put("p50Ms", percentile(sorted, 0.50));
+            summary.put("p99Ms", percentile(sorted, 0.99));
+            return summary;
+        }
+
+        private static double percentile(long[] sorted, double p) {
+            if (sorted.length == 0)
+                return 0;
+            return sorted[(int) Math.min(sorted.length - 1, Math.round(p * (sorted.length - 1)))] / 1e6;
+        }
+    }
+}
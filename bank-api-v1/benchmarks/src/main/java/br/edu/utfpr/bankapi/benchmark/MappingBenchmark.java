@@ -0,0 +1,65 @@
+package br.edu.utfpr.bankapi.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.BeanUtils;
+
+import br.edu.utfpr.bankapi.dto.AccountDTO;
+import br.edu.utfpr.bankapi.dto.TransferDTO;
+import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.model.Transaction;
+import br.edu.utfpr.bankapi.model.TransactionType;
+
+/**
+ * Mapeamento de DTO para entidade com BeanUtils.copyProperties (usado nos
+ * serviços) comparado à cópia campo a campo
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MappingBenchmark {
+
+    TransferDTO transferDTO = new TransferDTO(100_000, 100_001, 15050);
+
+    AccountDTO accountDTO = new AccountDTO("Juca Silva", 11111L, 0, 3000);
+
+    @Benchmark
+    public Transaction transferCopyProperties() {
+        var transaction = new Transaction();
+        transaction.setType(TransactionType.TRANSFER);
+        BeanUtils.copyProperties(transferDTO, transaction);
+        return transaction;
+    }
+
+    @Benchmark
+    public Transaction transferManual() {
+        var transaction = new Transaction();
+        transaction.setType(TransactionType.TRANSFER);
+        transaction.setAmount(transferDTO.amount());
+        return transaction;
+    }
+
+    @Benchmark
+    public Account accountCopyProperties() {
+        var account = new Account();
+        BeanUtils.copyProperties(accountDTO, account);
+        return account;
+    }
+
+    @Benchmark
+    public Account accountConstructor() {
+        return new Account(accountDTO);
+    }
+}
@@ -0,0 +1,77 @@
+package br.edu.utfpr.bankapi.benchmark;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.edu.utfpr.bankapi.model.Money;
+
+/**
+ * Custo de uma transferência sobre os saldos (conferência do saldo com o
+ * limite, débito e crédito) com cada representação de valor monetário: double,
+ * BigDecimal e centavos em long ({@link Money}).
+ *
+ * Executar com {@code -prof gc} para comparar também a alocação por operação.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MoneyBenchmark {
+
+    double sourceDouble = 1_000_000.10;
+    double receiverDouble = 0;
+    double limitDouble = 500.00;
+    double amountDouble = 0.10;
+
+    BigDecimal sourceDecimal = new BigDecimal("1000000.10");
+    BigDecimal receiverDecimal = BigDecimal.ZERO.setScale(2);
+    BigDecimal limitDecimal = new BigDecimal("500.00");
+    BigDecimal amountDecimal = new BigDecimal("0.10");
+
+    long sourceCents = 100_000_010;
+    long receiverCents = 0;
+    long limitCents = 50_000;
+    long amountCents = 10;
+
+    @Benchmark
+    public double transferDouble() {
+        if (sourceDouble + limitDouble < amountDouble)
+            sourceDouble += 1_000_000;
+
+        sourceDouble -= amountDouble;
+        receiverDouble += amountDouble;
+        return receiverDouble;
+    }
+
+    @Benchmark
+    public BigDecimal transferBigDecimal() {
+        if (sourceDecimal.add(limitDecimal).compareTo(amountDecimal) < 0)
+            sourceDecimal = sourceDecimal.add(BigDecimal.valueOf(1_000_000));
+
+        sourceDecimal = sourceDecimal.subtract(amountDecimal);
+        receiverDecimal = receiverDecimal.add(amountDecimal);
+        return receiverDecimal;
+    }
+
+    @Benchmark
+    public long transferCents() {
+        if (Money.add(sourceCents, limitCents) < amountCents)
+            sourceCents = Money.add(sourceCents, Money.ofUnits(1_000_000));
+
+        sourceCents = Money.subtract(sourceCents, amountCents);
+        receiverCents = Money.add(receiverCents, amountCents);
+        return receiverCents;
+    }
+}
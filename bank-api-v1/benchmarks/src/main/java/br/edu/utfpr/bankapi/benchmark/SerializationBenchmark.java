@@ -0,0 +1,67 @@
+package br.edu.utfpr.bankapi.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.edu.utfpr.bankapi.dto.TransactionResponseDTO;
+import br.edu.utfpr.bankapi.dto.TransferDTO;
+import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.model.Money;
+import br.edu.utfpr.bankapi.model.Transaction;
+import br.edu.utfpr.bankapi.model.TransactionType;
+
+/**
+ * Serialização JSON das respostas de transação, com o ObjectMapper configurado
+ * como no Spring MVC
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    Transaction transaction = new Transaction(
+            new Account(1L, "Guido Power", 66666, Money.ofUnits(184500), Money.ofUnits(1_000_000_000)),
+            new Account(2L, "Ana Campos", 12346, Money.ofUnits(15500), 0),
+            Money.ofUnits(15000), TransactionType.TRANSFER);
+
+    TransactionResponseDTO response = TransactionResponseDTO.of(transaction);
+
+    String transferJson = "{\"sourceAccountNumber\":66666,\"receiverAccountNumber\":12346,\"amount\":15000.0}";
+
+    /**
+     * Entidade completa, com as duas contas aninhadas (resposta anterior da
+     * API)
+     */
+    @Benchmark
+    public String transactionEntity() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(transaction);
+    }
+
+    @Benchmark
+    public String transactionResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(response);
+    }
+
+    @Benchmark
+    public TransferDTO transferRequest() throws JsonProcessingException {
+        return objectMapper.readValue(transferJson, TransferDTO.class);
+    }
+}
@@ -0,0 +1,151 @@
+package br.edu.utfpr.bankapi.benchmark;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import br.edu.utfpr.bankapi.dto.DepositDTO;
+import br.edu.utfpr.bankapi.dto.TransferDTO;
+import br.edu.utfpr.bankapi.dto.WithdrawDTO;
+import br.edu.utfpr.bankapi.exception.ConcurrentUpdateException;
+import br.edu.utfpr.bankapi.exception.NotFoundException;
+import br.edu.utfpr.bankapi.ledger.LedgerPersister;
+import br.edu.utfpr.bankapi.service.TransactionService;
+
+/**
+ * Transferência, depósito e saque pelo TransactionService, com a aplicação
+ * completa sobre H2 em memória.
+ *
+ * O parâmetro mode seleciona o controle de concorrência
+ * ({@code bankapi.transaction.locking}) ou, em LEDGER, o livro-razão em
+ * memória (perfil "ledger"), em que o banco sai do caminho da requisição, ou,
+ * em PARTITIONED, o livro-razão particionado (perfil "partitioned").
+ *
+ * Os cenários *HotAccounts concentram todas as threads em duas contas para
+ * medir a contenção; os demais sorteiam contas entre {@link #ACCOUNTS}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class TransactionServiceBenchmark {
+
+    static final int ACCOUNTS = 10_000;
+
+    @Param({ "ATOMIC", "PESSIMISTIC", "OPTIMISTIC", "LEDGER", "PARTITIONED" })
+    String mode;
+
+    ConfigurableApplicationContext context;
+
+    TransactionService transactionService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = switch (mode) {
+            case "LEDGER" -> BenchmarkContext.start("--spring.profiles.active=ledger");
+            case "PARTITIONED" -> BenchmarkContext.start("--spring.profiles.active=partitioned");
+            default -> BenchmarkContext.start("--bankapi.transaction.locking=" + mode);
+        };
+
+        BenchmarkContext.createAccounts(context, ACCOUNTS);
+        transactionService = context.getBean(TransactionService.class);
+    }
+
+    /**
+     * Nos modos LEDGER e PARTITIONED aguarda a gravação dos lançamentos pendentes entre as
+     * iterações, limitando a fila do LedgerPersister (fora da medição)
+     */
+    @TearDown(Level.Iteration)
+    public void drainLedger() throws InterruptedException {
+        var persister = context.getBeanProvider(LedgerPersister.class).getIfAvailable();
+        while (persister != null && persister.pending() > 0)
+            Thread.sleep(10);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object deposit() throws NotFoundException {
+        return transactionService.deposit(new DepositDTO(randomAccount(), 1));
+    }
+
+    @Benchmark
+    public Object withdraw() throws NotFoundException {
+        return attempt(() -> transactionService.withdraw(new WithdrawDTO(randomAccount(), 1)));
+    }
+
+    @Benchmark
+    public Object transfer() throws NotFoundException {
+        long source = randomAccount();
+        long receiver = randomAccount();
+        if (receiver == source)
+            receiver = source == BenchmarkContext.FIRST_ACCOUNT ? source + 1 : source - 1;
+
+        var dto = new TransferDTO(source, receiver, 1);
+        return attempt(() -> transactionService.transfer(dto));
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Object transferHotAccounts() throws NotFoundException {
+        // Duas contas disputadas por todas as threads, nos dois sentidos
+        var forward = ThreadLocalRandom.current().nextBoolean();
+        var dto = new TransferDTO(
+                BenchmarkContext.FIRST_ACCOUNT + (forward ? 0 : 1),
+                BenchmarkContext.FIRST_ACCOUNT + (forward ? 1 : 0), 1);
+        return attempt(() -> transactionService.transfer(dto));
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Object depositHotAccount() throws NotFoundException {
+        return attempt(() -> transactionService.deposit(new DepositDTO(BenchmarkContext.FIRST_ACCOUNT, 1)));
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Object transferSpread() throws NotFoundException {
+        return transfer();
+    }
+
+    private static long randomAccount() {
+        return BenchmarkContext.FIRST_ACCOUNT + ThreadLocalRandom.current().nextInt(ACCOUNTS);
+    }
+
+    /**
+     * No modo OPTIMISTIC as tentativas podem se esgotar sob contenção; a
+     * falha é contabilizada como operação concluída (devolvida ao cliente)
+     */
+    private static Object attempt(Operation operation) throws NotFoundException {
+        try {
+            return operation.run();
+        } catch (ConcurrentUpdateException ex) {
+            return ex;
+        }
+    }
+
+    @FunctionalInterface
+    private interface Operation {
+        Object run() throws NotFoundException;
+    }
+}
@@ -0,0 +1,59 @@
+-- Tabelas acessadas apenas por JDBC (sem entidade JPA), criadas depois do Hibernate no H2 dos benchmarks.
+-- Equivalentes às de schema-postgresql.sql da aplicação.
+
+CREATE TABLE IF NOT EXISTS tb_interest_accrual_chunk (
+    accrual_date DATE NOT NULL,
+    first_id BIGINT NOT NULL,
+    last_id BIGINT NOT NULL,
+    accounts INTEGER NOT NULL,
+    interest_cents BIGINT NOT NULL,
+    PRIMARY KEY (accrual_date, first_id)
+);
+
+CREATE TABLE IF NOT EXISTS tb_outbox_event (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    account_number BIGINT NOT NULL,
+    payload CLOB NOT NULL,
+    created_at TIMESTAMP NOT NULL
+);
+
+ALTER TABLE tb_account ADD COLUMN IF NOT EXISTS projected_seq BIGINT NOT NULL DEFAULT 0;
+CREATE TABLE IF NOT EXISTS tb_account_entry (
+    account_id BIGINT NOT NULL,
+    seq BIGINT NOT NULL,
+    transaction_id BIGINT NOT NULL,
+    amount_cents BIGINT NOT NULL,
+    PRIMARY KEY (account_id, seq)
+);
+CREATE TABLE IF NOT EXISTS tb_account_snapshot (
+    account_id BIGINT PRIMARY KEY,
+    seq BIGINT NOT NULL,
+    balance_cents BIGINT NOT NULL
+);
+CREATE TABLE IF NOT EXISTS tb_projection_queue (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    account_id BIGINT NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS tb_account_shard (
+    account_id BIGINT NOT NULL,
+    shard INTEGER NOT NULL,
+    balance_cents BIGINT NOT NULL,
+    PRIMARY KEY (account_id, shard)
+);
+
+CREATE TABLE IF NOT EXISTS tb_ledger_checkpoint (
+    id INTEGER PRIMARY KEY,
+    journal_position BIGINT NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS tb_ledger_dead_letter (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    journal_position BIGINT NOT NULL,
+    type VARCHAR(16) NOT NULL,
+    source_account_id BIGINT,
+    receiver_account_id BIGINT,
+    amount_cents BIGINT NOT NULL,
+    date_time TIMESTAMP NOT NULL,
+    error VARCHAR(1000)
+);
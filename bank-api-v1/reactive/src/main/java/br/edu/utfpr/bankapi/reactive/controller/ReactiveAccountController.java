@@ -0,0 +1,70 @@
+package br.edu.utfpr.bankapi.reactive.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import br.edu.utfpr.bankapi.dto.AccountDTO;
+import br.edu.utfpr.bankapi.exception.NotFoundException;
+import br.edu.utfpr.bankapi.reactive.model.AccountRecord;
+import br.edu.utfpr.bankapi.reactive.service.ReactiveAccountService;
+import jakarta.validation.Valid;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/account")
+public class ReactiveAccountController {
+
+    @Autowired
+    private ReactiveAccountService accountService;
+
+    @PostMapping
+    public Mono<ResponseEntity<Object>> create(@RequestBody @Valid AccountDTO dto) {
+        return accountService.save(dto)
+                .<ResponseEntity<Object>>map(res -> ResponseEntity.status(HttpStatus.CREATED).body(res))
+                .onErrorResume(ex -> Mono.just(ResponseEntity.badRequest().body(ex.getMessage())));
+    }
+
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<Object>> update(@PathVariable("id") long id, @RequestBody @Valid AccountDTO dto) {
+        return accountService.update(id, dto)
+                .<ResponseEntity<Object>>map(ResponseEntity::ok)
+                .onErrorResume(NotFoundException.class,
+                        ex -> Mono.just(ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage())))
+                .onErrorResume(ex -> Mono.just(ResponseEntity.badRequest().body(ex.getMessage())));
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<Object>> getAll(@RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "size", defaultValue = "100") int size) {
+        return accountService.getPage(cursor, size)
+                .<ResponseEntity<Object>>map(ResponseEntity::ok)
+                .onErrorResume(IllegalArgumentException.class,
+                        ex -> Mono.just(ResponseEntity.badRequest().body(ex.getMessage())));
+    }
+
+    /**
+     * Exporta todas as contas em NDJSON (uma conta JSON por linha), conforme o
+     * cliente consome a resposta
+     */
+    @GetMapping(value = "/stream", produces = "application/x-ndjson")
+    public Flux<AccountRecord> stream() {
+        return accountService.streamAll();
+    }
+
+    @GetMapping("/{number}")
+    public Mono<ResponseEntity<Object>> getByNumber(@PathVariable("number") long number) {
+        return accountService.getByNumber(number)
+                .<ResponseEntity<Object>>map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+}
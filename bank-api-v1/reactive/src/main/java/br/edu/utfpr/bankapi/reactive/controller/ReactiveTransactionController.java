@@ -0,0 +1,44 @@
+package br.edu.utfpr.bankapi.reactive.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import br.edu.utfpr.bankapi.dto.DepositDTO;
+import br.edu.utfpr.bankapi.dto.TransferDTO;
+import br.edu.utfpr.bankapi.dto.WithdrawDTO;
+import br.edu.utfpr.bankapi.reactive.service.ReactiveTransactionService;
+import jakarta.validation.Valid;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/transaction")
+public class ReactiveTransactionController {
+
+    @Autowired
+    private ReactiveTransactionService transactionService;
+
+    @PostMapping("/transfer")
+    public Mono<ResponseEntity<Object>> transfer(@RequestBody @Valid TransferDTO dto) {
+        return created(transactionService.transfer(dto));
+    }
+
+    @PostMapping("/deposit")
+    public Mono<ResponseEntity<Object>> deposit(@RequestBody @Valid DepositDTO dto) {
+        return created(transactionService.deposit(dto));
+    }
+
+    @PostMapping("/withdraw")
+    public Mono<ResponseEntity<Object>> withdraw(@RequestBody @Valid WithdrawDTO dto) {
+        return created(transactionService.withdraw(dto));
+    }
+
+    private static Mono<ResponseEntity<Object>> created(Mono<?> result) {
+        return result.<ResponseEntity<Object>>map(res -> ResponseEntity.status(HttpStatus.CREATED).body(res))
+                .onErrorResume(ex -> Mono.just(ResponseEntity.badRequest().body(ex.getMessage())));
+    }
+}
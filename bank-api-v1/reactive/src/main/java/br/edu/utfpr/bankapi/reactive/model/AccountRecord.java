@@ -0,0 +1,24 @@
+package br.edu.utfpr.bankapi.reactive.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import br.edu.utfpr.bankapi.dto.MoneyFormat;
+
+/**
+ * Conta (tabela tb_account, a mesma da entidade JPA Account). Valores em
+ * centavos.
+ */
+@Table("tb_account")
+public record AccountRecord(@Id Long id, String name, long number,
+        @MoneyFormat @Column("balance_cents") long balance,
+        @MoneyFormat @Column("special_limit_cents") long specialLimit,
+        @Version Long version) {
+
+    @MoneyFormat
+    public long getBalanceWithLimit() {
+        return balance + specialLimit;
+    }
+}
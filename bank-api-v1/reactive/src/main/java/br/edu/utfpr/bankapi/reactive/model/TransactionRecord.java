@@ -0,0 +1,18 @@
+package br.edu.utfpr.bankapi.reactive.model;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import br.edu.utfpr.bankapi.model.TransactionType;
+
+/**
+ * Transação (tabela tb_transaction, a mesma da entidade JPA Transaction). As
+ * contas são referenciadas apenas pelo id.
+ */
+@Table("tb_transaction")
+public record TransactionRecord(@Id Long id, Long sourceAccountId, Long receiverAccountId,
+        @Column("amount_cents") long amount, TransactionType type, LocalDateTime dateTime) {
+}
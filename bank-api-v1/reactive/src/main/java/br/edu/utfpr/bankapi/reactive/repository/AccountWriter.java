@@ -0,0 +1,30 @@
+package br.edu.utfpr.bankapi.reactive.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.stereotype.Component;
+
+import br.edu.utfpr.bankapi.reactive.model.AccountRecord;
+import reactor.core.publisher.Mono;
+
+/**
+ * Grava contas com o id obtido da sequência tb_account_seq, compartilhada com
+ * a API bloqueante, como o {@link TransactionWriter} faz com as transações.
+ */
+@Component
+public class AccountWriter {
+
+    @Autowired
+    private R2dbcEntityTemplate template;
+
+    @Value("${bankapi.reactive.next-account-id}")
+    private String nextIdSql;
+
+    public Mono<AccountRecord> insert(String name, long number, long balance, long specialLimit) {
+        return template.getDatabaseClient().sql(nextIdSql)
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .flatMap(id -> template.insert(new AccountRecord(id, name, number, balance, specialLimit, null)));
+    }
+}
@@ -0,0 +1,41 @@
+package br.edu.utfpr.bankapi.reactive.repository;
+
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+
+import br.edu.utfpr.bankapi.reactive.model.AccountRecord;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveAccountRepository extends ReactiveCrudRepository<AccountRecord, Long> {
+
+    public Mono<AccountRecord> findByNumber(long number);
+
+    /**
+     * Página de contas após o id informado (paginação keyset), em ordem de id
+     */
+    @Query("SELECT * FROM tb_account WHERE id > :id ORDER BY id LIMIT :limit")
+    public Flux<AccountRecord> findPage(long id, int limit);
+
+    /**
+     * Todas as contas em ordem de id, lidas conforme a demanda do assinante
+     */
+    @Query("SELECT * FROM tb_account ORDER BY id")
+    public Flux<AccountRecord> streamAll();
+
+    /**
+     * Debita o valor da conta somente se o saldo somado ao limite especial for
+     * suficiente, conferindo e alterando o saldo em uma única instrução
+     * 
+     * @return quantidade de registros alterados (0 se a conta não possuir
+     *         saldo)
+     */
+    @Modifying
+    @Query("UPDATE tb_account SET balance_cents = balance_cents - :amount, version = version + 1 WHERE number = :number AND balance_cents + special_limit_cents >= :amount")
+    public Mono<Integer> debit(long number, long amount);
+
+    @Modifying
+    @Query("UPDATE tb_account SET balance_cents = balance_cents + :amount, version = version + 1 WHERE number = :number")
+    public Mono<Integer> credit(long number, long amount);
+}
@@ -0,0 +1,39 @@
+package br.edu.utfpr.bankapi.reactive.repository;
+
+import java.time.LocalDateTime;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.stereotype.Component;
+
+import br.edu.utfpr.bankapi.model.TransactionType;
+import br.edu.utfpr.bankapi.reactive.model.TransactionRecord;
+import reactor.core.publisher.Mono;
+
+/**
+ * Grava transações com o id obtido da sequência tb_transaction_seq,
+ * compartilhada com a API bloqueante.
+ *
+ * A API bloqueante usa cada valor da sequência como início de um bloco de ids
+ * (pooled-lo); aqui cada valor é usado como um único id, o que não conflita
+ * com os blocos reservados por ela.
+ */
+@Component
+public class TransactionWriter {
+
+    @Autowired
+    private R2dbcEntityTemplate template;
+
+    @Value("${bankapi.reactive.next-transaction-id}")
+    private String nextIdSql;
+
+    public Mono<TransactionRecord> insert(TransactionType type, long amount, Long sourceAccountId,
+            Long receiverAccountId) {
+        return template.getDatabaseClient().sql(nextIdSql)
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .flatMap(id -> template.insert(new TransactionRecord(id, sourceAccountId, receiverAccountId,
+                        amount, type, LocalDateTime.now())));
+    }
+}
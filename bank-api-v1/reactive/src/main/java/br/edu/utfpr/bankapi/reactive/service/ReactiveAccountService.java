@@ -0,0 +1,74 @@
+package br.edu.utfpr.bankapi.reactive.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import br.edu.utfpr.bankapi.dto.AccountDTO;
+import br.edu.utfpr.bankapi.dto.PageDTO;
+import br.edu.utfpr.bankapi.exception.NotFoundException;
+import br.edu.utfpr.bankapi.reactive.model.AccountRecord;
+import br.edu.utfpr.bankapi.reactive.repository.AccountWriter;
+import br.edu.utfpr.bankapi.reactive.repository.ReactiveAccountRepository;
+import br.edu.utfpr.bankapi.service.Cursors;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Service
+public class ReactiveAccountService {
+
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    @Autowired
+    private ReactiveAccountRepository accountRepository;
+
+    @Autowired
+    private AccountWriter accountWriter;
+
+    public Mono<AccountRecord> getByNumber(long number) {
+        return accountRepository.findByNumber(number);
+    }
+
+    /**
+     * Página de contas em ordem de id, a partir do cursor da página anterior
+     */
+    public Mono<PageDTO<AccountRecord>> getPage(String cursor, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE)
+            return Mono.error(new IllegalArgumentException("Tamanho da página deve estar entre 1 e " + MAX_PAGE_SIZE));
+
+        long after;
+        try {
+            after = cursor != null ? Long.parseLong(Cursors.decode(cursor, 1)[0]) : 0;
+        } catch (IllegalArgumentException ex) {
+            return Mono.error(ex);
+        }
+
+        return accountRepository.findPage(after, size)
+                .collectList()
+                .map(accounts -> new PageDTO<>(accounts,
+                        accounts.size() < size ? null : Cursors.encode(accounts.get(accounts.size() - 1).id())));
+    }
+
+    /**
+     * Todas as contas, emitidas conforme a demanda do cliente
+     */
+    public Flux<AccountRecord> streamAll() {
+        return accountRepository.streamAll();
+    }
+
+    /**
+     * Cadastra a conta com id da sequência compartilhada com a API bloqueante.
+     * A conta não entra no filtro de números de conta da API bloqueante, que
+     * só deve ser habilitado quando apenas uma instância dela cadastra contas.
+     */
+    public Mono<AccountRecord> save(AccountDTO dto) {
+        // Inicializar a conta com saldo 0
+        return accountWriter.insert(dto.name(), dto.number(), 0, dto.specialLimit());
+    }
+
+    public Mono<AccountRecord> update(long id, AccountDTO dto) {
+        return accountRepository.findById(id)
+                .switchIfEmpty(Mono.error(NotFoundException::new))
+                .flatMap(account -> accountRepository.save(new AccountRecord(account.id(), dto.name(), dto.number(),
+                        account.balance(), dto.specialLimit(), account.version())));
+    }
+}
@@ -0,0 +1,82 @@
+package br.edu.utfpr.bankapi.reactive.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.edu.utfpr.bankapi.dto.DepositDTO;
+import br.edu.utfpr.bankapi.dto.TransactionResponseDTO;
+import br.edu.utfpr.bankapi.dto.TransferDTO;
+import br.edu.utfpr.bankapi.dto.WithdrawDTO;
+import br.edu.utfpr.bankapi.exception.NotFoundException;
+import br.edu.utfpr.bankapi.exception.WithoutBalanceException;
+import br.edu.utfpr.bankapi.model.TransactionType;
+import br.edu.utfpr.bankapi.reactive.model.TransactionRecord;
+import br.edu.utfpr.bankapi.reactive.repository.ReactiveAccountRepository;
+import br.edu.utfpr.bankapi.reactive.repository.TransactionWriter;
+import br.edu.utfpr.bankapi.reactive.validations.ReactiveAccountValidation;
+import reactor.core.publisher.Mono;
+
+/**
+ * Transferência, depósito e saque sem bloqueio de threads.
+ *
+ * Mesmas regras da API bloqueante: as contas são validadas primeiro
+ * (NotFoundException) e o saldo somado ao limite especial deve cobrir o valor
+ * (WithoutBalanceException). A conferência do saldo e o débito são feitos em
+ * uma única instrução UPDATE, como no modo ATOMIC.
+ */
+@Service
+public class ReactiveTransactionService {
+
+    @Autowired
+    private ReactiveAccountRepository accountRepository;
+
+    @Autowired
+    private ReactiveAccountValidation accountValidation;
+
+    @Autowired
+    private TransactionWriter transactionWriter;
+
+    @Transactional(rollbackFor = NotFoundException.class)
+    public Mono<TransactionResponseDTO> transfer(TransferDTO dto) {
+        // Valida a conta de ORIGEM e a conta de DESTINO da transferência
+        return accountValidation.validate(dto.sourceAccountNumber())
+                .zipWith(accountValidation.validate(dto.receiverAccountNumber()))
+                .flatMap(accounts -> debit(dto.sourceAccountNumber(), dto.amount())
+                        .then(accountRepository.credit(dto.receiverAccountNumber(), dto.amount()))
+                        .then(transactionWriter.insert(TransactionType.TRANSFER, dto.amount(),
+                                accounts.getT1().id(), accounts.getT2().id())))
+                .map(record -> response(record, dto.sourceAccountNumber(), dto.receiverAccountNumber()));
+    }
+
+    @Transactional(rollbackFor = NotFoundException.class)
+    public Mono<TransactionResponseDTO> deposit(DepositDTO dto) {
+        return accountValidation.validate(dto.receiverAccountNumber())
+                .flatMap(receiver -> accountRepository.credit(dto.receiverAccountNumber(), dto.amount())
+                        .then(transactionWriter.insert(TransactionType.DEPOSIT, dto.amount(), null, receiver.id())))
+                .map(record -> response(record, null, dto.receiverAccountNumber()));
+    }
+
+    @Transactional(rollbackFor = NotFoundException.class)
+    public Mono<TransactionResponseDTO> withdraw(WithdrawDTO dto) {
+        return accountValidation.validate(dto.sourceAccountNumber())
+                .flatMap(source -> debit(dto.sourceAccountNumber(), dto.amount())
+                        .then(transactionWriter.insert(TransactionType.WITHDRAW, dto.amount(), source.id(), null)))
+                .map(record -> response(record, dto.sourceAccountNumber(), null));
+    }
+
+    /**
+     * Debita a conta se houver saldo; caso contrário sinaliza
+     * WithoutBalanceException
+     */
+    private Mono<Void> debit(long number, long amount) {
+        return accountRepository.debit(number, amount)
+                .flatMap(updated -> updated == 1 ? Mono.<Void>empty() : Mono.error(new WithoutBalanceException()));
+    }
+
+    private static TransactionResponseDTO response(TransactionRecord record, Long sourceAccountNumber,
+            Long receiverAccountNumber) {
+        return new TransactionResponseDTO(record.id(), record.type(), record.amount(), record.dateTime(),
+                sourceAccountNumber, receiverAccountNumber);
+    }
+}
@@ -0,0 +1,25 @@
+package br.edu.utfpr.bankapi.reactive.validations;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import br.edu.utfpr.bankapi.exception.NotFoundException;
+import br.edu.utfpr.bankapi.reactive.model.AccountRecord;
+import br.edu.utfpr.bankapi.reactive.repository.ReactiveAccountRepository;
+import reactor.core.publisher.Mono;
+
+/**
+ * Validar se existe uma conta cadastrada (mesma regra do
+ * AvailableAccountValidation)
+ */
+@Component
+public class ReactiveAccountValidation {
+
+    @Autowired
+    private ReactiveAccountRepository accountRepository;
+
+    public Mono<AccountRecord> validate(long number) {
+        return accountRepository.findByNumber(number)
+                .switchIfEmpty(Mono.error(() -> new NotFoundException("Conta " + number + " inexistente")));
+    }
+}
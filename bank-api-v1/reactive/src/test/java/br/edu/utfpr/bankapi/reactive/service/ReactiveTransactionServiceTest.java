@@ -0,0 +1,93 @@
+package br.edu.utfpr.bankapi.reactive.service;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.BDDMockito;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import br.edu.utfpr.bankapi.dto.TransferDTO;
+import br.edu.utfpr.bankapi.dto.WithdrawDTO;
+import br.edu.utfpr.bankapi.exception.NotFoundException;
+import br.edu.utfpr.bankapi.exception.WithoutBalanceException;
+import br.edu.utfpr.bankapi.model.TransactionType;
+import br.edu.utfpr.bankapi.reactive.model.AccountRecord;
+import br.edu.utfpr.bankapi.reactive.model.TransactionRecord;
+import br.edu.utfpr.bankapi.reactive.repository.ReactiveAccountRepository;
+import br.edu.utfpr.bankapi.reactive.repository.TransactionWriter;
+import br.edu.utfpr.bankapi.reactive.validations.ReactiveAccountValidation;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveTransactionServiceTest {
+
+    @Mock
+    ReactiveAccountRepository accountRepository;
+
+    @Mock
+    ReactiveAccountValidation accountValidation;
+
+    @Mock
+    TransactionWriter transactionWriter;
+
+    @InjectMocks
+    ReactiveTransactionService transactionService;
+
+    AccountRecord sourceAccount = new AccountRecord(1L, "Power Guido", 54321, 1000, 0, 0L);
+
+    AccountRecord receiverAccount = new AccountRecord(2L, "John Smith", 88888, 1500, 0, 0L);
+
+    @Test
+    void deveriaTransferir() {
+        // ### ARRANGE ###
+        BDDMockito.given(accountValidation.validate(54321)).willReturn(Mono.just(sourceAccount));
+        BDDMockito.given(accountValidation.validate(88888)).willReturn(Mono.just(receiverAccount));
+        BDDMockito.given(accountRepository.debit(54321, 500)).willReturn(Mono.just(1));
+        BDDMockito.given(accountRepository.credit(88888, 500)).willReturn(Mono.just(1));
+        BDDMockito.given(transactionWriter.insert(TransactionType.TRANSFER, 500, 1L, 2L))
+                .willReturn(Mono.just(new TransactionRecord(10L, 1L, 2L, 500, TransactionType.TRANSFER,
+                        LocalDateTime.now())));
+
+        // ### ACT & ASSERT ###
+        StepVerifier.create(transactionService.transfer(new TransferDTO(54321, 88888, 500)))
+                .assertNext(response -> {
+                    Assertions.assertEquals(10L, response.id());
+                    Assertions.assertEquals(54321L, response.sourceAccountNumber());
+                    Assertions.assertEquals(88888L, response.receiverAccountNumber());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void deveriaLancarWithoutBalanceExceptionSemCreditarODestino() {
+        // ### ARRANGE ###
+        BDDMockito.given(accountValidation.validate(54321)).willReturn(Mono.just(sourceAccount));
+        BDDMockito.given(accountValidation.validate(88888)).willReturn(Mono.just(receiverAccount));
+        BDDMockito.given(accountRepository.debit(54321, 5000)).willReturn(Mono.just(0));
+        BDDMockito.given(accountRepository.credit(88888, 5000)).willReturn(Mono.just(1));
+        BDDMockito.given(transactionWriter.insert(TransactionType.TRANSFER, 5000, 1L, 2L)).willReturn(Mono.empty());
+
+        // ### ACT & ASSERT ###
+        StepVerifier.create(transactionService.transfer(new TransferDTO(54321, 88888, 5000)))
+                .expectError(WithoutBalanceException.class)
+                .verify();
+    }
+
+    @Test
+    void deveriaLancarNotFoundExceptionParaContaInexistente() {
+        // ### ARRANGE ###
+        BDDMockito.given(accountValidation.validate(99999))
+                .willReturn(Mono.error(new NotFoundException("Conta 99999 inexistente")));
+
+        // ### ACT & ASSERT ###
+        StepVerifier.create(transactionService.withdraw(new WithdrawDTO(99999, 100)))
+                .expectErrorMessage("Conta 99999 inexistente")
+                .verify();
+        BDDMockito.then(accountRepository).shouldHaveNoInteractions();
+    }
+}
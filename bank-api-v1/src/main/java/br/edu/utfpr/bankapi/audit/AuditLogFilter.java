@@ -0,0 +1,60 @@
+package br.edu.utfpr.bankapi.audit;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Log de auditoria por amostragem das requisições de lançamento
+ * (/transaction/**), no logger "bankapi.audit".
+ *
+ * Apenas a fração {@code bankapi.audit.sample-rate} das requisições é
+ * registrada (0 desabilita). As requisições amostradas recebem um
+ * identificador no MDC (requestId), incluído nos demais logs da requisição.
+ */
+@Component
+public class AuditLogFilter extends OncePerRequestFilter {
+
+    private static final Logger audit = LoggerFactory.getLogger("bankapi.audit");
+
+    @Value("${bankapi.audit.sample-rate:0}")
+    private double sampleRate;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return sampleRate <= 0 || !audit.isInfoEnabled() || !request.getRequestURI().startsWith("/transaction/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        var requestId = UUID.randomUUID().toString();
+        var start = System.nanoTime();
+        MDC.put("requestId", requestId);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            audit.info("method={} path={} status={} durationMs={} remote={}", request.getMethod(),
+                    request.getRequestURI(), response.getStatus(), (System.nanoTime() - start) / 1_000_000,
+                    request.getRemoteAddr());
+            MDC.remove("requestId");
+        }
+    }
+}
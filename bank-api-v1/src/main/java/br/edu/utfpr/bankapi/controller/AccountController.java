@@ -1,8 +1,11 @@
 package br.edu.utfpr.bankapi.controller;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -11,12 +14,16 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import br.edu.utfpr.bankapi.dto.AccountDTO;
 import br.edu.utfpr.bankapi.exception.NotFoundException;
-import br.edu.utfpr.bankapi.model.Account;
 import br.edu.utfpr.bankapi.service.AccountService;
+import br.edu.utfpr.bankapi.service.StatementService;
 import jakarta.validation.Valid;
 
 @RestController
@@ -26,6 +33,12 @@ public class AccountController {
     @Autowired
     private AccountService accountService;
 
+    @Autowired
+    private StatementService statementService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @PostMapping
     public ResponseEntity<Object> create(@RequestBody @Valid AccountDTO dto) {
         try {
@@ -49,8 +62,31 @@ public class AccountController {
     }
 
     @GetMapping
-    public List<Account> getAll() {
-        return accountService.getAll();
+    public ResponseEntity<Object> getAll(@RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "size", defaultValue = "100") int size) {
+        try {
+            return ResponseEntity.ok(accountService.getPage(cursor, size));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(ex.getMessage());
+        }
+    }
+
+    /**
+     * Exporta todas as contas em NDJSON (uma conta JSON por linha), escrevendo
+     * à medida que as contas são lidas do banco
+     */
+    @GetMapping(value = "/stream", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> stream() {
+        StreamingResponseBody body = out -> accountService.streamAll(account -> {
+            try {
+                out.write(objectMapper.writeValueAsBytes(account));
+                out.write('\n');
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+
+        return ResponseEntity.ok(body);
     }
 
     @GetMapping("/{number}")
@@ -62,4 +98,19 @@ public class AccountController {
                 : ResponseEntity.notFound().build();
     }
 
+    @GetMapping("/{number}/statement")
+    public ResponseEntity<Object> getStatement(@PathVariable("number") long number,
+            @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "size", defaultValue = "50") int size) {
+        try {
+            return ResponseEntity.ok(statementService.getStatement(number, from, to, cursor, size));
+        } catch (NotFoundException ex) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
+        } catch (IllegalArgumentException | java.time.format.DateTimeParseException ex) {
+            return ResponseEntity.badRequest().body(ex.getMessage());
+        }
+    }
+
 }
@@ -5,12 +5,20 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import br.edu.utfpr.bankapi.dto.BatchDTO;
 import br.edu.utfpr.bankapi.dto.DepositDTO;
 import br.edu.utfpr.bankapi.dto.TransferDTO;
 import br.edu.utfpr.bankapi.dto.WithdrawDTO;
+import br.edu.utfpr.bankapi.exception.BatchRejectedException;
+import br.edu.utfpr.bankapi.exception.IdempotencyConflictException;
+import br.edu.utfpr.bankapi.model.TransactionType;
+import br.edu.utfpr.bankapi.service.BatchTransactionService;
+import br.edu.utfpr.bankapi.service.DepositGroupCommitter;
+import br.edu.utfpr.bankapi.service.IdempotencyService;
 import br.edu.utfpr.bankapi.service.TransactionService;
 import jakarta.validation.Valid;
 
@@ -18,36 +26,95 @@ import jakarta.validation.Valid;
 @RequestMapping("/transaction")
 public class TransactionController {
 
+    public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
+    // Indica na resposta que a operação não foi executada novamente
+    public static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+
     @Autowired
     private TransactionService transactionService;
 
+    @Autowired
+    private BatchTransactionService batchTransactionService;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    // Presente apenas com a gravação agrupada de depósitos ativada
+    @Autowired(required = false)
+    private DepositGroupCommitter depositGroupCommitter;
+
     @PostMapping("/transfer")
-    public ResponseEntity<Object> transfer(@RequestBody @Valid TransferDTO dto) {
+    public ResponseEntity<Object> transfer(@RequestBody @Valid TransferDTO dto,
+            @RequestHeader(name = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
         try {
+            if (idempotencyKey != null)
+                return created(idempotencyService.execute(idempotencyKey, TransactionType.TRANSFER,
+                        dto.sourceAccountNumber(), dto.receiverAccountNumber(), dto.amount(),
+                        key -> transactionService.transfer(dto, key)));
+
             var res = transactionService.transfer(dto);
             return ResponseEntity.status(HttpStatus.CREATED).body(res);
+        } catch (IdempotencyConflictException exception) {
+            return ResponseEntity.unprocessableEntity().body(exception.getMessage());
         } catch (Exception exception) {
             return ResponseEntity.badRequest().body(exception.getMessage());
         }
     }
 
     @PostMapping("/deposit")
-    public ResponseEntity<Object> deposit(@RequestBody @Valid DepositDTO dto) {
+    public ResponseEntity<Object> deposit(@RequestBody @Valid DepositDTO dto,
+            @RequestHeader(name = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
         try {
-            var res = transactionService.deposit(dto);
+            if (idempotencyKey != null)
+                return created(idempotencyService.execute(idempotencyKey, TransactionType.DEPOSIT,
+                        null, dto.receiverAccountNumber(), dto.amount(),
+                        key -> transactionService.deposit(dto, key)));
+
+            var res = depositGroupCommitter != null
+                    ? depositGroupCommitter.deposit(dto)
+                    : transactionService.deposit(dto);
             return ResponseEntity.status(HttpStatus.CREATED).body(res);
+        } catch (IdempotencyConflictException exception) {
+            return ResponseEntity.unprocessableEntity().body(exception.getMessage());
         } catch (Exception exception) {
             return ResponseEntity.badRequest().body(exception.getMessage());
         }
     }
 
     @PostMapping("/withdraw")
-    public ResponseEntity<Object> withdraw(@RequestBody @Valid WithdrawDTO dto) {
+    public ResponseEntity<Object> withdraw(@RequestBody @Valid WithdrawDTO dto,
+            @RequestHeader(name = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
         try {
+            if (idempotencyKey != null)
+                return created(idempotencyService.execute(idempotencyKey, TransactionType.WITHDRAW,
+                        dto.sourceAccountNumber(), null, dto.amount(),
+                        key -> transactionService.withdraw(dto, key)));
+
             var res = transactionService.withdraw(dto);
             return ResponseEntity.status(HttpStatus.CREATED).body(res);
+        } catch (IdempotencyConflictException exception) {
+            return ResponseEntity.unprocessableEntity().body(exception.getMessage());
         } catch (Exception exception) {
             return ResponseEntity.badRequest().body(exception.getMessage());
         }
     }
+
+    @PostMapping("/batch")
+    public ResponseEntity<Object> batch(@RequestBody @Valid BatchDTO dto) {
+        try {
+            var res = batchTransactionService.execute(dto);
+            return ResponseEntity.status(HttpStatus.CREATED).body(res);
+        } catch (BatchRejectedException exception) {
+            return ResponseEntity.badRequest().body(exception.getResult());
+        } catch (Exception exception) {
+            return ResponseEntity.badRequest().body(exception.getMessage());
+        }
+    }
+
+    private static ResponseEntity<Object> created(IdempotencyService.Result result) {
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .header(IDEMPOTENT_REPLAYED, String.valueOf(result.replayed()))
+                .body(result.response());
+    }
 }
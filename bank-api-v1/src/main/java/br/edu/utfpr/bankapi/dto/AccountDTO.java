@@ -4,5 +4,6 @@ import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 
-public record AccountDTO(@NotBlank String name, @NotNull Long number, double balance, @Min(0) double specialLimit) {
+public record AccountDTO(@NotBlank String name, @NotNull Long number, @MoneyFormat long balance,
+        @MoneyFormat @Min(0) long specialLimit) {
 }
@@ -0,0 +1,18 @@
+package br.edu.utfpr.bankapi.dto;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+public record BatchDTO(@NotNull BatchMode mode,
+        @NotEmpty @Size(max = BatchDTO.MAX_ITEMS) List<@Valid BatchItemDTO> items) {
+
+    /**
+     * Itens por lote. Com até duas contas por item, a consulta das contas do
+     * lote fica bem abaixo do limite de parâmetros dos drivers JDBC.
+     */
+    public static final int MAX_ITEMS = 1000;
+}
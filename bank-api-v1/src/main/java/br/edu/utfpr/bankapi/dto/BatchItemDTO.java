@@ -0,0 +1,13 @@
+package br.edu.utfpr.bankapi.dto;
+
+import br.edu.utfpr.bankapi.model.TransactionType;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Item de um lote de transações. As contas exigidas dependem do tipo:
+ * TRANSFER usa origem e destino, DEPOSIT apenas destino e WITHDRAW apenas
+ * origem.
+ */
+public record BatchItemDTO(@NotNull TransactionType type, Long sourceAccountNumber, Long receiverAccountNumber,
+        @MoneyFormat long amount) {
+}
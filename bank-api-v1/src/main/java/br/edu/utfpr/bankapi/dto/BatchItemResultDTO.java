@@ -0,0 +1,23 @@
+package br.edu.utfpr.bankapi.dto;
+
+public record BatchItemResultDTO(int index, boolean success, Long transactionId, String error) {
+
+    /**
+     * Item aplicado; sem id (0) enquanto a transação não foi gravada
+     * (livro-razão em memória)
+     */
+    public static BatchItemResultDTO success(int index, long transactionId) {
+        return new BatchItemResultDTO(index, true, transactionId == 0 ? null : transactionId, null);
+    }
+
+    public static BatchItemResultDTO failure(int index, String error) {
+        return new BatchItemResultDTO(index, false, null, error);
+    }
+
+    /**
+     * Item válido que não foi aplicado porque o lote foi rejeitado
+     */
+    public static BatchItemResultDTO notApplied(int index) {
+        return new BatchItemResultDTO(index, false, null, "Não aplicado: lote rejeitado");
+    }
+}
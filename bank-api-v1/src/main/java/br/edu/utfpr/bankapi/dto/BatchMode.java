@@ -0,0 +1,15 @@
+package br.edu.utfpr.bankapi.dto;
+
+/**
+ * Comportamento do lote quando algum item falha
+ */
+public enum BatchMode {
+    /**
+     * Qualquer falha desfaz todo o lote
+     */
+    ALL_OR_NOTHING,
+    /**
+     * Os itens com falha são ignorados e os demais são gravados
+     */
+    BEST_EFFORT;
+}
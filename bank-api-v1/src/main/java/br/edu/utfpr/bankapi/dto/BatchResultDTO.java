@@ -0,0 +1,12 @@
+package br.edu.utfpr.bankapi.dto;
+
+import java.util.List;
+
+/**
+ * Resultado de um lote de transações
+ * 
+ * @param committed indica se o lote foi gravado
+ * @param items     resultado de cada item, na ordem do lote
+ */
+public record BatchResultDTO(boolean committed, List<BatchItemResultDTO> items) {
+}
@@ -1,4 +1,4 @@
 package br.edu.utfpr.bankapi.dto;
 
-public record DepositDTO(long receiverAccountNumber, double amount) {
+public record DepositDTO(long receiverAccountNumber, @MoneyFormat long amount) {
 }
@@ -0,0 +1,16 @@
+package br.edu.utfpr.bankapi.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Resultado de uma execução do crédito de juros
+ * 
+ * @param date          data de referência dos juros
+ * @param chunks        blocos processados nesta execução
+ * @param skippedChunks blocos já processados anteriormente para a mesma data
+ * @param accounts      contas que receberam juros nesta execução
+ * @param interest      total de juros creditado nesta execução
+ */
+public record InterestAccrualResultDTO(LocalDate date, int chunks, int skippedChunks, long accounts,
+        @MoneyFormat long interest) {
+}
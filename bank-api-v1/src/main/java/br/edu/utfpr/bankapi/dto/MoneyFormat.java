@@ -0,0 +1,56 @@
+package br.edu.utfpr.bankapi.dto;
+
+import java.io.IOException;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import com.fasterxml.jackson.annotation.JacksonAnnotationsInside;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import br.edu.utfpr.bankapi.model.Money;
+
+/**
+ * Valor monetário em centavos ({@link Money}) representado no JSON como número
+ * decimal com duas casas, por exemplo {@code 1000.50}. Valores com mais de duas
+ * casas decimais são rejeitados.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.FIELD, ElementType.METHOD, ElementType.PARAMETER })
+@JacksonAnnotationsInside
+@JsonSerialize(using = MoneyFormat.Serializer.class)
+@JsonDeserialize(using = MoneyFormat.Deserializer.class)
+public @interface MoneyFormat {
+
+    class Serializer extends JsonSerializer<Long> {
+        @Override
+        public void serialize(Long cents, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+            gen.writeNumber(Money.toBigDecimal(cents));
+        }
+    }
+
+    class Deserializer extends JsonDeserializer<Long> {
+        @Override
+        public Long deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            var token = p.currentToken();
+            if (token != JsonToken.VALUE_NUMBER_INT && token != JsonToken.VALUE_NUMBER_FLOAT)
+                return (Long) ctxt.handleUnexpectedToken(Long.class, p);
+
+            try {
+                return Money.of(p.getDecimalValue());
+            } catch (ArithmeticException ex) {
+                return (Long) ctxt.handleWeirdNumberValue(Long.class, p.getNumberValue(),
+                        "valor monetário deve ter no máximo duas casas decimais");
+            }
+        }
+    }
+}
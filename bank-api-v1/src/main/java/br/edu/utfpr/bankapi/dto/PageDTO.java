@@ -0,0 +1,12 @@
+package br.edu.utfpr.bankapi.dto;
+
+import java.util.List;
+
+/**
+ * Página de uma listagem paginada por cursor (keyset)
+ * 
+ * @param items      itens da página
+ * @param nextCursor cursor da próxima página, ou null na última página
+ */
+public record PageDTO<T>(List<T> items, String nextCursor) {
+}
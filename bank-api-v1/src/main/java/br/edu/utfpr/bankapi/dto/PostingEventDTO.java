@@ -0,0 +1,18 @@
+package br.edu.utfpr.bankapi.dto;
+
+import java.time.LocalDateTime;
+
+import br.edu.utfpr.bankapi.model.TransactionType;
+
+/**
+ * Evento de lançamento publicado para os sistemas externos: um evento por
+ * conta afetada pela transação (uma transferência gera dois)
+ * 
+ * @param amount                   valor em centavos: negativo para débitos e
+ *                                 positivo para créditos
+ * @param counterpartAccountNumber outra conta da transferência, ou null em
+ *                                 depósitos e saques
+ */
+public record PostingEventDTO(long transactionId, TransactionType type, long accountNumber,
+        @MoneyFormat long amount, Long counterpartAccountNumber, LocalDateTime dateTime) {
+}
@@ -0,0 +1,12 @@
+package br.edu.utfpr.bankapi.dto;
+
+/**
+ * Resultado de uma reconstrução da projeção de saldos
+ * 
+ * @param chunks   blocos de contas processados
+ * @param accounts contas com lançamentos, projetadas a partir do snapshot
+ * @param updated  contas cujo saldo projetado foi corrigido ou avançado
+ * @param millis   duração da reconstrução
+ */
+public record ProjectionRebuildResultDTO(int chunks, long accounts, long updated, long millis) {
+}
@@ -0,0 +1,18 @@
+package br.edu.utfpr.bankapi.dto;
+
+import java.time.LocalDateTime;
+
+import br.edu.utfpr.bankapi.model.TransactionType;
+
+/**
+ * Lançamento do extrato de uma conta
+ * 
+ * @param amount                   valor do lançamento em centavos: negativo
+ *                                 para débitos e positivo para créditos
+ * @param counterpartAccountNumber conta de origem (créditos) ou de destino
+ *                                 (débitos) da transferência, ou null em
+ *                                 depósitos e saques
+ */
+public record StatementEntryDTO(long transactionId, LocalDateTime dateTime, TransactionType type,
+        @MoneyFormat long amount, Long counterpartAccountNumber) {
+}
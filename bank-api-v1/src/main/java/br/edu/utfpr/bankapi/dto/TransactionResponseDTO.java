@@ -0,0 +1,38 @@
+package br.edu.utfpr.bankapi.dto;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import br.edu.utfpr.bankapi.model.Transaction;
+import br.edu.utfpr.bankapi.model.TransactionType;
+
+/**
+ * Resposta das operações de transferência, depósito e saque. As contas são
+ * identificadas apenas pelo número, sem dados cadastrais ou saldo. O id é
+ * omitido enquanto a transação não foi gravada (livro-razão em memória, que
+ * grava de forma assíncrona).
+ */
+public record TransactionResponseDTO(@JsonInclude(JsonInclude.Include.NON_DEFAULT) long id, TransactionType type, @MoneyFormat long amount,
+        LocalDateTime dateTime, Long sourceAccountNumber, Long receiverAccountNumber) {
+
+    /**
+     * Monta a resposta a partir de uma transação cujas contas já estão
+     * carregadas
+     */
+    public static TransactionResponseDTO of(Transaction transaction) {
+        return of(transaction,
+                transaction.getSourceAccount() != null ? transaction.getSourceAccount().getNumber() : null,
+                transaction.getReceiverAccount() != null ? transaction.getReceiverAccount().getNumber() : null);
+    }
+
+    /**
+     * Monta a resposta com os números de conta informados, sem acessar as
+     * contas da transação (que podem ser referências não carregadas)
+     */
+    public static TransactionResponseDTO of(Transaction transaction, Long sourceAccountNumber,
+            Long receiverAccountNumber) {
+        return new TransactionResponseDTO(transaction.getId(), transaction.getType(), transaction.getAmount(),
+                transaction.getDateTime(), sourceAccountNumber, receiverAccountNumber);
+    }
+}
@@ -1,4 +1,4 @@
 package br.edu.utfpr.bankapi.dto;
 
-public record TransferDTO(long sourceAccountNumber, long receiverAccountNumber, double amount) {
+public record TransferDTO(long sourceAccountNumber, long receiverAccountNumber, @MoneyFormat long amount) {
 }
@@ -1,3 +1,3 @@
 package br.edu.utfpr.bankapi.dto;
 
-public record WithdrawDTO(long sourceAccountNumber, double amount) {}
+public record WithdrawDTO(long sourceAccountNumber, @MoneyFormat long amount) {}
@@ -0,0 +1,20 @@
+package br.edu.utfpr.bankapi.exception;
+
+import br.edu.utfpr.bankapi.dto.BatchResultDTO;
+
+/**
+ * Lote ALL_OR_NOTHING com algum item inválido. A exceção desfaz a transação do
+ * lote e carrega o resultado de cada item.
+ */
+public class BatchRejectedException extends RuntimeException {
+    private final BatchResultDTO result;
+
+    public BatchRejectedException(BatchResultDTO result) {
+        super("Lote rejeitado");
+        this.result = result;
+    }
+
+    public BatchResultDTO getResult() {
+        return result;
+    }
+}
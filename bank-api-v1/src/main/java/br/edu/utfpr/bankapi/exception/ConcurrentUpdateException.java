@@ -0,0 +1,7 @@
+package br.edu.utfpr.bankapi.exception;
+
+public class ConcurrentUpdateException extends RuntimeException {
+    public ConcurrentUpdateException(long number) {
+        super("Conta " + number + " alterada concorrentemente, tente novamente");
+    }
+}
@@ -0,0 +1,7 @@
+package br.edu.utfpr.bankapi.exception;
+
+public class IdempotencyConflictException extends RuntimeException {
+    public IdempotencyConflictException(String key) {
+        super("Idempotency-Key " + key + " já utilizada em outra requisição");
+    }
+}
@@ -0,0 +1,13 @@
+package br.edu.utfpr.bankapi.exception;
+
+import br.edu.utfpr.bankapi.dto.BatchMode;
+
+/**
+ * Modo de lote que o motor de lançamentos ativo não consegue garantir. O lote
+ * é recusado antes de qualquer item ser aplicado.
+ */
+public class UnsupportedBatchModeException extends RuntimeException {
+    public UnsupportedBatchModeException(BatchMode mode) {
+        super("Lotes " + mode + " não são suportados pelo livro-razão em memória");
+    }
+}
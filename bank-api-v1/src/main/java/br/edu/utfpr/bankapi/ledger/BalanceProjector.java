@@ -0,0 +1,122 @@
+package br.edu.utfpr.bankapi.ledger;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Projeção incremental dos lançamentos do {@link EventSourcedLedger} no saldo
+ * de tb_account.
+ *
+ * Cada lançamento inclui a conta em tb_projection_queue. A cada ciclo as contas
+ * da fila são lidas em lotes (SELECT ... FOR UPDATE) e cada conta recebe, em
+ * um único UPDATE, a soma dos lançamentos posteriores à sua última posição
+ * projetada (projected_seq). Várias entradas da mesma conta no lote geram uma
+ * única atualização. As entradas processadas são removidas na mesma transação.
+ *
+ * O UPDATE exige que a posição projetada não tenha mudado desde a leitura;
+ * caso contrário (reconstrução concorrente) a conta já está atualizada.
+ */
+@Component
+@Profile("event-sourcing")
+public class BalanceProjector implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(BalanceProjector.class);
+
+    private static final String SELECT_DELTAS = "SELECT a.id, a.projected_seq, COALESCE(MAX(e.seq), a.projected_seq), COALESCE(SUM(e.amount_cents), 0) "
+            + "FROM tb_account a LEFT JOIN tb_account_entry e ON e.account_id = a.id AND e.seq > a.projected_seq "
+            + "WHERE a.id IN (%s) GROUP BY a.id, a.projected_seq";
+
+    private static final String UPDATE_BALANCE = "UPDATE tb_account SET balance_cents = balance_cents + ?, projected_seq = ?, version = version + 1 "
+            + "WHERE id = ? AND projected_seq = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${bankapi.event-sourcing.projection-batch-size:500}")
+    private int batchSize = 500;
+
+    private Counter projected;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("bankapi.projection.pending", this, BalanceProjector::pending)
+                .description("Lançamentos ainda não projetados no saldo das contas")
+                .register(registry);
+        projected = Counter.builder("bankapi.projection.accounts")
+                .description("Atualizações de saldo feitas pela projeção")
+                .register(registry);
+    }
+
+    /**
+     * Entradas na fila de projeção
+     */
+    public long pending() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tb_projection_queue", Long.class);
+    }
+
+    @Scheduled(fixedDelayString = "${bankapi.event-sourcing.projection-interval:1s}")
+    public void project() {
+        try {
+            // Projeta enquanto houver lotes completos
+            int count;
+            do {
+                count = projectBatch();
+            } while (count == batchSize);
+        } catch (RuntimeException ex) {
+            log.warn("Falha ao projetar saldos, nova tentativa no próximo ciclo", ex);
+        }
+    }
+
+    /**
+     * @return quantidade de entradas da fila processadas
+     */
+    int projectBatch() {
+        return transactionTemplate.execute(status -> {
+            var ids = new ArrayList<Long>(batchSize);
+            var accounts = new LinkedHashSet<Long>();
+            jdbcTemplate.query("SELECT id, account_id FROM tb_projection_queue ORDER BY id LIMIT ? FOR UPDATE", rs -> {
+                ids.add(rs.getLong(1));
+                accounts.add(rs.getLong(2));
+            }, batchSize);
+
+            if (ids.isEmpty())
+                return 0;
+
+            var sql = SELECT_DELTAS.formatted(String.join(",", Collections.nCopies(accounts.size(), "?")));
+            var updates = new ArrayList<Object[]>(accounts.size());
+            jdbcTemplate.query(sql, rs -> {
+                long projectedSeq = rs.getLong(2);
+                long seq = rs.getLong(3);
+                if (seq > projectedSeq)
+                    updates.add(new Object[] { rs.getLong(4), seq, rs.getLong(1), projectedSeq });
+            }, accounts.toArray());
+
+            jdbcTemplate.batchUpdate(UPDATE_BALANCE, updates);
+            jdbcTemplate.batchUpdate("DELETE FROM tb_projection_queue WHERE id = ?",
+                    ids.stream().map(id -> new Object[] { id }).toList());
+
+            if (projected != null)
+                projected.increment(updates.size());
+            return ids.size();
+        });
+    }
+}
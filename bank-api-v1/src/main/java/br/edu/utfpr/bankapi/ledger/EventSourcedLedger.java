@@ -0,0 +1,284 @@
+package br.edu.utfpr.bankapi.ledger;
+
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import br.edu.utfpr.bankapi.dto.DepositDTO;
+import br.edu.utfpr.bankapi.dto.TransactionResponseDTO;
+import br.edu.utfpr.bankapi.dto.TransferDTO;
+import br.edu.utfpr.bankapi.dto.WithdrawDTO;
+import br.edu.utfpr.bankapi.exception.ConcurrentUpdateException;
+import br.edu.utfpr.bankapi.exception.NotFoundException;
+import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.model.Money;
+import br.edu.utfpr.bankapi.model.Transaction;
+import br.edu.utfpr.bankapi.model.TransactionType;
+import br.edu.utfpr.bankapi.outbox.OutboxWriter;
+import br.edu.utfpr.bankapi.repository.AccountRepository;
+import br.edu.utfpr.bankapi.repository.TransactionRepository;
+import br.edu.utfpr.bankapi.service.AccountCache;
+import br.edu.utfpr.bankapi.validations.AvailableAccountValidation;
+import br.edu.utfpr.bankapi.validations.AvailableBalanceValidation;
+import jakarta.transaction.Transactional;
+
+/**
+ * Livro-razão com origem em eventos (perfil "event-sourcing").
+ *
+ * Cada transação gera um lançamento por conta afetada em tb_account_entry, só
+ * de inclusão, numerado por conta (seq). Os lançamentos são a fonte da
+ * verdade: o saldo de uma conta é o do seu último snapshot
+ * (tb_account_snapshot) somado aos lançamentos posteriores a ele. O snapshot é
+ * regravado a cada {@code bankapi.event-sourcing.snapshot-interval}
+ * lançamentos da conta, o que limita a leitura a esse número de lançamentos.
+ *
+ * O saldo de tb_account passa a ser uma projeção, atualizada de forma
+ * assíncrona pelo {@link BalanceProjector} e reconstruída a partir dos
+ * lançamentos pelo {@link ProjectionRebuilder}. Os lançamentos de uma conta
+ * são serializados pelo bloqueio (SELECT ... FOR UPDATE) do seu snapshot, sem
+ * regravar nenhuma linha a cada lançamento.
+ *
+ * O snapshot inicial de uma conta é criado no seu primeiro lançamento, com o
+ * saldo de tb_account. Por isso, antes de voltar a este perfil depois de usar
+ * os demais, tb_account_snapshot e tb_account_entry devem ser esvaziadas.
+ */
+@Component
+@Profile("event-sourcing")
+public class EventSourcedLedger implements LedgerEngine {
+
+    private static final String SELECT_SNAPSHOT = "SELECT seq, balance_cents FROM tb_account_snapshot WHERE account_id = ?";
+
+    private static final String LOCK_SNAPSHOT = "SELECT seq, balance_cents FROM tb_account_snapshot WHERE account_id = ? FOR UPDATE";
+
+    private static final String SEED_SNAPSHOT = "INSERT INTO tb_account_snapshot (account_id, seq, balance_cents) SELECT id, 0, balance_cents FROM tb_account WHERE id = ?";
+
+    private static final String SELECT_TAIL = "SELECT COALESCE(MAX(seq), 0), COALESCE(SUM(amount_cents), 0) FROM tb_account_entry WHERE account_id = ? AND seq > ?";
+
+    private static final String INSERT_ENTRY = "INSERT INTO tb_account_entry (account_id, seq, transaction_id, amount_cents) VALUES (?, ?, ?, ?)";
+
+    private static final String INSERT_QUEUE = "INSERT INTO tb_projection_queue (account_id) VALUES (?)";
+
+    private static final String UPDATE_SNAPSHOT = "UPDATE tb_account_snapshot SET seq = ?, balance_cents = ? WHERE account_id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private AvailableAccountValidation availableAccountValidation;
+
+    @Autowired
+    private AvailableBalanceValidation availableBalanceValidation;
+
+    @Autowired
+    private OutboxWriter outboxWriter;
+
+    // Lançamentos de uma conta entre dois snapshots
+    @Value("${bankapi.event-sourcing.snapshot-interval:100}")
+    private int snapshotInterval = 100;
+
+    @Override
+    @Transactional(rollbackOn = NotFoundException.class)
+    public Transaction transfer(TransferDTO dto) throws NotFoundException {
+        return transfer(dto, null);
+    }
+
+    @Override
+    @Transactional(rollbackOn = NotFoundException.class)
+    public Transaction transfer(TransferDTO dto, String idempotencyKey) throws NotFoundException {
+        var source = availableAccountValidation.resolve(dto.sourceAccountNumber());
+        var receiver = availableAccountValidation.resolve(dto.receiverAccountNumber());
+
+        // Bloqueia os snapshots sempre na mesma ordem para evitar deadlock
+        Head sourceHead;
+        Head receiverHead;
+        if (source.id() <= receiver.id()) {
+            sourceHead = lock(source);
+            receiverHead = source.id() == receiver.id() ? null : lock(receiver);
+        } else {
+            receiverHead = lock(receiver);
+            sourceHead = lock(source);
+        }
+
+        var transaction = new Transaction(sourceHead.account(), receiverHead == null ? sourceHead.account()
+                : receiverHead.account(), dto.amount(), TransactionType.TRANSFER);
+        transaction.setIdempotencyKey(idempotencyKey);
+
+        // Verifica se a conta de origem possui saldo
+        availableBalanceValidation.validate(transaction);
+
+        var id = save(transaction);
+        sourceHead = append(sourceHead, id, -dto.amount());
+        receiverHead = append(receiverHead == null ? sourceHead : receiverHead, id, dto.amount());
+
+        return posted(transaction, id, sourceHead.account(), receiverHead.account());
+    }
+
+    @Override
+    @Transactional(rollbackOn = NotFoundException.class)
+    public Transaction deposit(DepositDTO dto) throws NotFoundException {
+        return deposit(dto, null);
+    }
+
+    @Override
+    @Transactional(rollbackOn = NotFoundException.class)
+    public Transaction deposit(DepositDTO dto, String idempotencyKey) throws NotFoundException {
+        var receiverHead = lock(availableAccountValidation.resolve(dto.receiverAccountNumber()));
+
+        var transaction = new Transaction(null, receiverHead.account(), dto.amount(), TransactionType.DEPOSIT);
+        transaction.setIdempotencyKey(idempotencyKey);
+        var id = save(transaction);
+        receiverHead = append(receiverHead, id, dto.amount());
+
+        return posted(transaction, id, null, receiverHead.account());
+    }
+
+    @Override
+    @Transactional(rollbackOn = NotFoundException.class)
+    public Transaction withdraw(WithdrawDTO dto) throws NotFoundException {
+        return withdraw(dto, null);
+    }
+
+    @Override
+    @Transactional(rollbackOn = NotFoundException.class)
+    public Transaction withdraw(WithdrawDTO dto, String idempotencyKey) throws NotFoundException {
+        var sourceHead = lock(availableAccountValidation.resolve(dto.sourceAccountNumber()));
+
+        var transaction = new Transaction(sourceHead.account(), null, dto.amount(), TransactionType.WITHDRAW);
+        transaction.setIdempotencyKey(idempotencyKey);
+
+        // Verifica se a conta de origem possui saldo
+        availableBalanceValidation.validate(transaction);
+
+        var id = save(transaction);
+        sourceHead = append(sourceHead, id, -dto.amount());
+
+        return posted(transaction, id, sourceHead.account(), null);
+    }
+
+    @Override
+    public boolean transactional() {
+        return true;
+    }
+
+    /**
+     * Saldo atual calculado pelos lançamentos, sem bloquear o snapshot: a
+     * projeção em tb_account é atualizada de forma assíncrona
+     */
+    @Override
+    public Optional<Account> find(long number) {
+        AccountCache.CachedAccount account;
+        try {
+            account = availableAccountValidation.resolve(number);
+        } catch (NotFoundException ex) {
+            return Optional.empty();
+        }
+
+        var snapshot = jdbcTemplate.query(SELECT_SNAPSHOT,
+                rs -> rs.next() ? new long[] { rs.getLong(1), rs.getLong(2) } : null, account.id());
+        if (snapshot == null)
+            // Sem lançamentos neste perfil: o saldo de tb_account está atualizado
+            return Optional.empty();
+
+        var tail = jdbcTemplate.query(SELECT_TAIL,
+                rs -> rs.next() ? new long[] { rs.getLong(1), rs.getLong(2) } : null, account.id(), snapshot[0]);
+
+        return Optional.of(new Head(account, Math.max(snapshot[0], tail[0]), Money.add(snapshot[1], tail[1]))
+                .account());
+    }
+
+    /**
+     * Bloqueia o snapshot da conta e calcula o seu saldo atual: snapshot mais
+     * os lançamentos posteriores
+     */
+    private Head lock(AccountCache.CachedAccount account) {
+        var snapshot = jdbcTemplate.query(LOCK_SNAPSHOT,
+                rs -> rs.next() ? new long[] { rs.getLong(1), rs.getLong(2) } : null, account.id());
+
+        if (snapshot == null) {
+            // Primeiro lançamento da conta neste perfil
+            try {
+                jdbcTemplate.update(SEED_SNAPSHOT, account.id());
+            } catch (DuplicateKeyException ex) {
+                throw new ConcurrentUpdateException(account.number());
+            }
+            snapshot = jdbcTemplate.query(LOCK_SNAPSHOT,
+                    rs -> rs.next() ? new long[] { rs.getLong(1), rs.getLong(2) } : null, account.id());
+        }
+
+        var tail = jdbcTemplate.query(SELECT_TAIL,
+                rs -> rs.next() ? new long[] { rs.getLong(1), rs.getLong(2) } : null, account.id(), snapshot[0]);
+
+        var seq = Math.max(snapshot[0], tail[0]);
+        return new Head(account, seq, Money.add(snapshot[1], tail[1]));
+    }
+
+    /**
+     * Grava o lançamento seguinte da conta e, quando for o caso, o novo snapshot
+     *
+     * @return posição da conta após o lançamento
+     */
+    private Head append(Head head, long transactionId, long amount) {
+        var next = new Head(head.cached(), head.seq() + 1, Money.add(head.balance(), amount));
+
+        jdbcTemplate.update(INSERT_ENTRY, head.cached().id(), next.seq(), transactionId, amount);
+        jdbcTemplate.update(INSERT_QUEUE, head.cached().id());
+
+        if (next.seq() % snapshotInterval == 0)
+            jdbcTemplate.update(UPDATE_SNAPSHOT, next.seq(), next.balance(), head.cached().id());
+
+        return next;
+    }
+
+    /**
+     * Grava a transação com referências às contas, sem carregá-las nem
+     * alterá-las
+     */
+    private long save(Transaction posting) {
+        var transaction = new Transaction(
+                posting.getSourceAccount() == null ? null
+                        : accountRepository.getReferenceById(posting.getSourceAccount().getId()),
+                posting.getReceiverAccount() == null ? null
+                        : accountRepository.getReferenceById(posting.getReceiverAccount().getId()),
+                posting.getAmount(), posting.getType());
+        transaction.setDateTime(posting.getDateTime());
+        // Chave única: uma repetição falha aqui e desfaz o lançamento
+        transaction.setIdempotencyKey(posting.getIdempotencyKey());
+
+        transactionRepository.save(transaction);
+        return transaction.getId();
+    }
+
+    /**
+     * Transação devolvida ao chamador, com as contas desanexadas e os saldos
+     * após o lançamento, e o seu evento na tabela de saída
+     */
+    private Transaction posted(Transaction transaction, long id, Account source, Account receiver) {
+        transaction.setId(id);
+        transaction.setSourceAccount(source);
+        transaction.setReceiverAccount(receiver);
+
+        outboxWriter.append(TransactionResponseDTO.of(transaction));
+        return transaction;
+    }
+
+    /**
+     * Posição de uma conta no livro-razão: último lançamento e saldo
+     */
+    private record Head(AccountCache.CachedAccount cached, long seq, long balance) {
+
+        Account account() {
+            return new Account(cached.id(), cached.name(), cached.number(), balance, cached.specialLimit());
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package br.edu.utfpr.bankapi.ledger;
+
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import br.edu.utfpr.bankapi.dto.DepositDTO;
+import br.edu.utfpr.bankapi.dto.TransferDTO;
+import br.edu.utfpr.bankapi.dto.WithdrawDTO;
+import br.edu.utfpr.bankapi.exception.NotFoundException;
+import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.model.Transaction;
+import br.edu.utfpr.bankapi.model.TransactionType;
+import br.edu.utfpr.bankapi.validations.AvailableAccountValidation;
+import br.edu.utfpr.bankapi.validations.AvailableBalanceValidation;
+
+/**
+ * Livro-razão em memória (perfil "ledger").
+ *
+ * Os saldos ficam em memória, indexados pelo número da conta em um mapa de
+ * chaves long primitivas ({@link LongKeyedMap}), e são alterados sob locks
+ * particionados (striped locks). A gravação no banco de dados é feita de forma
+ * assíncrona pelo {@link LedgerPersister}; a transação devolvida
+ * ainda não tem id (0), atribuído só na gravação. Com o journal ativo o
+ * lançamento é acrescentado a ele com a conta bloqueada, antes de alterar o
+ * saldo, e confirmado depois do fsync.
+ *
+ * As contas são carregadas do banco no primeiro acesso. A partir daí todos os
+ * lançamentos da conta passam por aqui, por isso o perfil só deve ser usado
+ * quando esta for a única instância gravando saldos.
+ */
+@Component
+@Profile("ledger")
+public class InMemoryLedger implements LedgerEngine {
+
+    private static final int STRIPES = 256;
+
+    @Autowired
+    private AvailableAccountValidation availableAccountValidation;
+
+    @Autowired
+    private AvailableBalanceValidation availableBalanceValidation;
+
+    @Autowired
+    private LedgerPersister ledgerPersister;
+
+    private final LongKeyedMap<LedgerAccount> accounts = new LongKeyedMap<>();
+
+    private final ReentrantLock[] locks = new ReentrantLock[STRIPES];
+
+    public InMemoryLedger() {
+        for (int i = 0; i < STRIPES; i++)
+            locks[i] = new ReentrantLock();
+    }
+
+    @Override
+    public Transaction transfer(TransferDTO dto) throws NotFoundException {
+        var source = account(dto.sourceAccountNumber());
+        var receiver = account(dto.receiverAccountNumber());
+
+        // Adquire os locks sempre na mesma ordem para evitar deadlock
+        var first = stripe(source.getId());
+        var second = stripe(receiver.getId());
+        if (first > second) {
+            var tmp = first;
+            first = second;
+            second = tmp;
+        }
+
+        Transaction transaction;
+        long position;
+        locks[first].lock();
+        if (second != first)
+            locks[second].lock();
+        try {
+            transaction = new Transaction(source.snapshot(), receiver.snapshot(), dto.amount(),
+                    TransactionType.TRANSFER);
+
+            // Verifica se a conta de origem possui saldo
+            availableBalanceValidation.validate(transaction);
+
+            position = ledgerPersister.journal(transaction);
+            source.apply(-dto.amount());
+            receiver.apply(dto.amount());
+
+            transaction.setSourceAccount(source.snapshot());
+            transaction.setReceiverAccount(receiver.snapshot());
+        } finally {
+            if (second != first)
+                locks[second].unlock();
+            locks[first].unlock();
+        }
+
+        return posted(transaction, position);
+    }
+
+    @Override
+    public Transaction deposit(DepositDTO dto) throws NotFoundException {
+        var receiver = account(dto.receiverAccountNumber());
+
+        Transaction transaction;
+        long position;
+        var lock = locks[stripe(receiver.getId())];
+        lock.lock();
+        try {
+            transaction = new Transaction(null, receiver.snapshot(), dto.amount(), TransactionType.DEPOSIT);
+            position = ledgerPersister.journal(transaction);
+
+            receiver.apply(dto.amount());
+            transaction.setReceiverAccount(receiver.snapshot());
+        } finally {
+            lock.unlock();
+        }
+
+        return posted(transaction, position);
+    }
+
+    @Override
+    public Transaction withdraw(WithdrawDTO dto) throws NotFoundException {
+        var source = account(dto.sourceAccountNumber());
+
+        Transaction transaction;
+        long position;
+        var lock = locks[stripe(source.getId())];
+        lock.lock();
+        try {
+            transaction = new Transaction(source.snapshot(), null, dto.amount(), TransactionType.WITHDRAW);
+
+            // Verifica se a conta de origem possui saldo
+            availableBalanceValidation.validate(transaction);
+
+            position = ledgerPersister.journal(transaction);
+            source.apply(-dto.amount());
+            transaction.setSourceAccount(source.snapshot());
+        } finally {
+            lock.unlock();
+        }
+
+        return posted(transaction, position);
+    }
+
+    @Override
+    public void accountUpdated(long previousNumber, Account account) {
+        var cached = accounts.get(previousNumber);
+        if (cached == null)
+            return;
+
+        var lock = locks[stripe(cached.getId())];
+        lock.lock();
+        try {
+            cached.update(account);
+        } finally {
+            lock.unlock();
+        }
+
+        if (previousNumber != account.getNumber()) {
+            accounts.remove(previousNumber, cached);
+            accounts.put(account.getNumber(), cached);
+        }
+    }
+
+    @Override
+    public Optional<Account> find(long number) {
+        var account = accounts.get(number);
+        if (account == null)
+            return Optional.empty();
+
+        var lock = locks[stripe(account.getId())];
+        lock.lock();
+        try {
+            return Optional.of(account.snapshot());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void preload(Account account) {
+        accounts.putIfAbsent(account.getNumber(), new LedgerAccount(account));
+    }
+
+    /**
+     * Obtém a conta em memória, carregando do banco no primeiro acesso
+     */
+    private LedgerAccount account(long number) throws NotFoundException {
+        var account = accounts.get(number);
+        if (account != null)
+            return account;
+
+        var loaded = new LedgerAccount(availableAccountValidation.validate(number));
+        account = accounts.putIfAbsent(number, loaded);
+        return account != null ? account : loaded;
+    }
+
+    /**
+     * Encaminha o lançamento aplicado para gravação e o confirma depois de
+     * gravado no journal
+     */
+    private Transaction posted(Transaction transaction, long position) {
+        ledgerPersister.enqueue(transaction, position);
+        ledgerPersister.awaitDurable(position);
+        return transaction;
+    }
+
+    private static int stripe(long accountId) {
+        return (Long.hashCode(accountId) & 0x7fffffff) % STRIPES;
+    }
+}
@@ -0,0 +1,44 @@
+package br.edu.utfpr.bankapi.ledger;
+
+import br.edu.utfpr.bankapi.model.Account;
+import lombok.Getter;
+
+/**
+ * Saldo de uma conta mantido em memória pelo livro-razão.
+ * 
+ * O saldo só pode ser lido ou alterado com o lock da conta adquirido ou, no
+ * perfil "partitioned", pela thread da partição dona da conta.
+ */
+@Getter
+public class LedgerAccount {
+    private final long id;
+    private volatile String name;
+    private volatile long number;
+    private volatile long specialLimit;
+    private long balance;
+
+    public LedgerAccount(Account account) {
+        id = account.getId();
+        name = account.getName();
+        number = account.getNumber();
+        specialLimit = account.getSpecialLimit();
+        balance = account.getBalance();
+    }
+
+    void apply(long delta) {
+        balance += delta;
+    }
+
+    void update(Account account) {
+        name = account.getName();
+        number = account.getNumber();
+        specialLimit = account.getSpecialLimit();
+    }
+
+    /**
+     * Cópia desanexada da conta com o saldo atual
+     */
+    Account snapshot() {
+        return new Account(id, name, number, balance, specialLimit);
+    }
+}
@@ -0,0 +1,84 @@
+package br.edu.utfpr.bankapi.ledger;
+
+import java.util.Optional;
+
+import br.edu.utfpr.bankapi.dto.DepositDTO;
+import br.edu.utfpr.bankapi.dto.TransferDTO;
+import br.edu.utfpr.bankapi.dto.WithdrawDTO;
+import br.edu.utfpr.bankapi.exception.NotFoundException;
+import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.model.Transaction;
+
+/**
+ * Motor de lançamentos alternativo ao caminho JPA do TransactionService.
+ * No máximo uma implementação fica ativa, selecionada por perfil do Spring.
+ */
+public interface LedgerEngine {
+
+    Transaction transfer(TransferDTO dto) throws NotFoundException;
+
+    Transaction deposit(DepositDTO dto) throws NotFoundException;
+
+    Transaction withdraw(WithdrawDTO dto) throws NotFoundException;
+
+    /**
+     * Transferência com a chave de idempotência da requisição. Por padrão a
+     * chave é ignorada: motores que gravam a transação de forma assíncrona não
+     * a gravam (ver IdempotencyService).
+     */
+    default Transaction transfer(TransferDTO dto, String idempotencyKey) throws NotFoundException {
+        return transfer(dto);
+    }
+
+    /**
+     * Depósito com a chave de idempotência da requisição
+     * 
+     * @see #transfer(TransferDTO, String)
+     */
+    default Transaction deposit(DepositDTO dto, String idempotencyKey) throws NotFoundException {
+        return deposit(dto);
+    }
+
+    /**
+     * Saque com a chave de idempotência da requisição
+     * 
+     * @see #transfer(TransferDTO, String)
+     */
+    default Transaction withdraw(WithdrawDTO dto, String idempotencyKey) throws NotFoundException {
+        return withdraw(dto);
+    }
+
+    /**
+     * Indica se os lançamentos participam da transação do banco em andamento,
+     * sendo desfeitos junto com ela. Nos motores em memória o lançamento vale
+     * assim que o método retorna.
+     */
+    default boolean transactional() {
+        return false;
+    }
+
+    /**
+     * Notifica o motor de que os dados cadastrais de uma conta foram alterados
+     * 
+     * @param previousNumber número da conta antes da alteração
+     * @param account        conta já salva
+     */
+    default void accountUpdated(long previousNumber, Account account) {
+    }
+
+    /**
+     * Conta com o saldo atual do motor. Vazio se o motor não mantém saldos
+     * próprios ou a conta ainda não recebeu lançamentos por ele; nesses casos o
+     * saldo do banco está atualizado.
+     */
+    default Optional<Account> find(long number) {
+        return Optional.empty();
+    }
+
+    /**
+     * Carrega antecipadamente a conta lida do banco, se o motor mantiver as
+     * contas em memória. Uma conta já carregada não é alterada.
+     */
+    default void preload(Account account) {
+    }
+}
@@ -0,0 +1,338 @@
+package br.edu.utfpr.bankapi.ledger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import br.edu.utfpr.bankapi.model.Transaction;
+import br.edu.utfpr.bankapi.model.TransactionType;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Journal dos lançamentos do livro-razão em memória, ativado por
+ * {@code bankapi.ledger.journal.enabled} nos perfis "ledger" e "partitioned".
+ *
+ * Cada lançamento é acrescentado, com codificação binária de tamanho fixo
+ * ({@link #RECORD_SIZE} bytes), a segmentos de {@code segment-size} mapeados
+ * em memória no diretório {@code directory}; ao encher, o segmento é gravado
+ * em disco e um novo é criado. A posição de um lançamento é o deslocamento
+ * global do fim do seu registro, contando os segmentos anteriores.
+ *
+ * O acréscimo não grava em disco: uma thread força os segmentos a cada
+ * {@code fsync-interval}, e quem lança espera a gravação do seu registro
+ * ({@link #awaitSync(long)}) antes de confirmar o lançamento. Um único fsync
+ * confirma todos os lançamentos acrescentados no intervalo (group commit), e
+ * nenhum lançamento confirmado se perde na queda do sistema operacional.
+ *
+ * Na inicialização o fim do journal é encontrado pelo primeiro registro
+ * inválido do último segmento (vazio ou com checksum incorreto, no caso de
+ * uma gravação interrompida); a partir dele os registros são sobrescritos.
+ * O {@link LedgerPersister} reaplica os lançamentos posteriores ao último
+ * gravado no banco e descarta os segmentos já gravados
+ * ({@link #release(long)}).
+ */
+@Component
+@Profile({ "ledger", "partitioned" })
+@ConditionalOnProperty(name = "bankapi.ledger.journal.enabled", havingValue = "true")
+public class LedgerJournal implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(LedgerJournal.class);
+
+    /**
+     * Tipo (1), conta de origem (8), conta de destino (8), valor (8), data (8)
+     * e checksum CRC32C (4)
+     */
+    static final int RECORD_SIZE = 37;
+
+    private static final int CHECKSUM_OFFSET = RECORD_SIZE - 4;
+
+    @Value("${bankapi.ledger.journal.directory:journal}")
+    private Path directory = Path.of("journal");
+
+    @Value("${bankapi.ledger.journal.segment-size:64MB}")
+    private DataSize segmentSize = DataSize.ofMegabytes(64);
+
+    @Value("${bankapi.ledger.journal.fsync-interval:2ms}")
+    private Duration fsyncInterval = Duration.ofMillis(2);
+
+    /**
+     * Lançamento lido do journal; as contas são identificadas pelo id (0 quando
+     * ausente)
+     */
+    public record Entry(long position, TransactionType type, long sourceAccountId, long receiverAccountId,
+            long amount, LocalDateTime dateTime) {
+    }
+
+    // Bytes usados de cada segmento: múltiplo do tamanho do registro
+    private long segmentBytes;
+
+    private long firstSegment;
+
+    private long segment;
+
+    private MappedByteBuffer buffer;
+
+    private long position;
+
+    private volatile long synced;
+
+    // Aguardado por quem espera a gravação em disco
+    private final Object syncMonitor = new Object();
+
+    private volatile boolean running = true;
+
+    private Thread syncer;
+
+    @PostConstruct
+    void open() throws IOException {
+        segmentBytes = segmentSize.toBytes() / RECORD_SIZE * RECORD_SIZE;
+        Files.createDirectories(directory);
+
+        try (var files = Files.list(directory)) {
+            var segments = files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.endsWith(".journal"))
+                    .mapToLong(name -> Long.parseLong(name.substring(0, name.length() - ".journal".length())))
+                    .sorted()
+                    .toArray();
+
+            if (segments.length > 0) {
+                firstSegment = segments[0];
+                segment = segments[segments.length - 1];
+            }
+        }
+
+        buffer = map(segment);
+        var offset = 0;
+        while (offset < segmentBytes && decode(buffer, offset, 0) != null)
+            offset += RECORD_SIZE;
+
+        position = segment * segmentBytes + offset;
+        synced = position;
+        log.info("Journal do livro-razão aberto em {} (segmentos {} a {}, posição {})", directory, firstSegment,
+                segment, position);
+
+        syncer = Thread.ofPlatform().name("ledger-journal-sync").daemon().start(this::sync);
+    }
+
+    @PreDestroy
+    void close() throws InterruptedException {
+        running = false;
+        syncer.join();
+        synchronized (this) {
+            buffer.force();
+            synced(position);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("bankapi.ledger.journal.unsynced", this, journal -> (journal.position() - journal.synced) / RECORD_SIZE)
+                .description("Lançamentos acrescentados ao journal e ainda não gravados em disco")
+                .register(registry);
+        Gauge.builder("bankapi.ledger.journal.segments", this, LedgerJournal::segments)
+                .description("Segmentos do journal ainda não descartados")
+                .register(registry);
+    }
+
+    /**
+     * Acrescenta o lançamento ao journal
+     *
+     * @return posição do fim do registro
+     */
+    public synchronized long append(Transaction posting) {
+        var offset = (int) (position - segment * segmentBytes);
+        if (offset == segmentBytes) {
+            roll();
+            offset = 0;
+        }
+
+        buffer.put(offset, (byte) (posting.getType().ordinal() + 1));
+        buffer.putLong(offset + 1, posting.getSourceAccount() != null ? posting.getSourceAccount().getId() : 0);
+        buffer.putLong(offset + 9, posting.getReceiverAccount() != null ? posting.getReceiverAccount().getId() : 0);
+        buffer.putLong(offset + 17, posting.getAmount());
+        buffer.putLong(offset + 25, epochNanos(posting.getDateTime()));
+        buffer.putInt(offset + CHECKSUM_OFFSET, checksum(buffer, offset));
+
+        position += RECORD_SIZE;
+        return position;
+    }
+
+    /**
+     * Espera o registro que termina na posição ser gravado em disco. A espera
+     * não é interrompida: o lançamento já foi aplicado.
+     */
+    public void awaitSync(long target) {
+        if (synced >= target)
+            return;
+
+        var interrupted = false;
+        synchronized (syncMonitor) {
+            while (synced < target) {
+                try {
+                    syncMonitor.wait();
+                } catch (InterruptedException ex) {
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted)
+            Thread.currentThread().interrupt();
+    }
+
+    /**
+     * Posição do fim do último registro acrescentado
+     */
+    public synchronized long position() {
+        return position;
+    }
+
+    /**
+     * Lê em ordem os lançamentos posteriores à posição {@code from}
+     */
+    public void read(long from, Consumer<Entry> consumer) throws IOException {
+        long end;
+        synchronized (this) {
+            end = position;
+        }
+
+        var current = from;
+        while (current < end) {
+            var index = current / segmentBytes;
+            var mapped = map(index);
+            var offset = (int) (current - index * segmentBytes);
+            var limit = Math.min(segmentBytes, end - index * segmentBytes);
+
+            for (; offset < limit; offset += RECORD_SIZE) {
+                var entry = decode(mapped, offset, index * segmentBytes + offset + RECORD_SIZE);
+                if (entry == null)
+                    throw new IllegalStateException("Registro inválido no journal na posição " + current);
+                consumer.accept(entry);
+                current = entry.position();
+            }
+            current = (index + 1) * segmentBytes;
+        }
+    }
+
+    /**
+     * Descarta os segmentos que terminam até a posição, já gravada no banco
+     */
+    public synchronized void release(long checkpoint) {
+        while (firstSegment < segment && (firstSegment + 1) * segmentBytes <= checkpoint) {
+            try {
+                Files.deleteIfExists(file(firstSegment));
+            } catch (IOException ex) {
+                log.warn("Falha ao descartar o segmento {} do journal", firstSegment, ex);
+                return;
+            }
+            firstSegment++;
+        }
+    }
+
+    private synchronized long segments() {
+        return segment - firstSegment + 1;
+    }
+
+    /**
+     * Grava o segmento atual em disco e passa a escrever em um novo
+     */
+    private void roll() {
+        buffer.force();
+        synced(position);
+        segment++;
+        try {
+            buffer = map(segment);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private void sync() {
+        while (running) {
+            LockSupport.parkNanos(fsyncInterval.toNanos());
+
+            long target;
+            MappedByteBuffer current;
+            synchronized (this) {
+                target = position;
+                current = buffer;
+            }
+
+            if (target > synced) {
+                // Um único fsync para todos os lançamentos do intervalo
+                current.force();
+                synced(target);
+            }
+        }
+    }
+
+    /**
+     * Avança a posição gravada em disco (nunca recua: a troca de segmento pode
+     * gravar além do alvo da thread de fsync) e libera quem a aguarda
+     */
+    private void synced(long target) {
+        synchronized (syncMonitor) {
+            if (target > synced)
+                synced = target;
+            syncMonitor.notifyAll();
+        }
+    }
+
+    private MappedByteBuffer map(long index) throws IOException {
+        // O mapeamento continua válido depois de fechar o canal; o arquivo é
+        // estendido com zeros até o tamanho do segmento
+        try (var channel = FileChannel.open(file(index), StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+        }
+    }
+
+    private Path file(long index) {
+        return directory.resolve("%020d.journal".formatted(index));
+    }
+
+    private static Entry decode(MappedByteBuffer buffer, int offset, long position) {
+        var type = buffer.get(offset);
+        if (type <= 0 || type > TransactionType.values().length)
+            return null;
+        if (buffer.getInt(offset + CHECKSUM_OFFSET) != checksum(buffer, offset))
+            return null;
+
+        var nanos = buffer.getLong(offset + 25);
+        return new Entry(position, TransactionType.values()[type - 1], buffer.getLong(offset + 1),
+                buffer.getLong(offset + 9), buffer.getLong(offset + 17),
+                LocalDateTime.ofEpochSecond(Math.floorDiv(nanos, 1_000_000_000L),
+                        (int) Math.floorMod(nanos, 1_000_000_000L), ZoneOffset.UTC));
+    }
+
+    private static int checksum(MappedByteBuffer buffer, int offset) {
+        var crc = new CRC32C();
+        crc.update(buffer.slice(offset, CHECKSUM_OFFSET));
+        return (int) crc.getValue();
+    }
+
+    private static long epochNanos(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + dateTime.getNano();
+    }
+}
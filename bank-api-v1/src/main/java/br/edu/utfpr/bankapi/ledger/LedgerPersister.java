@@ -0,0 +1,420 @@
+package br.edu.utfpr.bankapi.ledger;
+
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.edu.utfpr.bankapi.dto.TransactionResponseDTO;
+import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.model.Transaction;
+import br.edu.utfpr.bankapi.outbox.OutboxWriter;
+import br.edu.utfpr.bankapi.repository.AccountRepository;
+import br.edu.utfpr.bankapi.repository.TransactionRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Grava de forma assíncrona no banco de dados os lançamentos já aplicados no
+ * livro-razão em memória.
+ *
+ * Os lançamentos são gravados na ordem em que foram aplicados, em lotes de até
+ * {@code bankapi.ledger.persist-batch-size} por transação. Os saldos são
+ * atualizados por diferença, de modo que o banco converge para o saldo em
+ * memória. A fila é limitada a {@code bankapi.ledger.queue-capacity}
+ * lançamentos: com a fila cheia quem lança espera a gravação avançar.
+ *
+ * Com o {@link LedgerJournal} ativo, cada lançamento é acrescentado ao journal
+ * antes de ser aplicado em memória, com a conta bloqueada ({@link #journal}),
+ * de modo que a ordem do journal é a ordem em que os saldos foram alterados;
+ * o lançamento só é confirmado depois de gravado em disco
+ * ({@link #awaitDurable}). A posição do último lançamento gravado no banco é
+ * mantida em tb_ledger_checkpoint na mesma transação do lote. Na inicialização, antes
+ * de os saldos serem carregados pelo livro-razão, os lançamentos do journal
+ * posteriores a essa posição (aplicados em memória e não gravados antes da
+ * parada) são gravados no banco. O acréscimo ao journal não bloqueia a fila:
+ * lançamentos de threads diferentes podem chegar fora da ordem do journal e
+ * são reordenados antes da gravação; por isso todo lançamento acrescentado ao
+ * journal deve ser encaminhado.
+ *
+ * O checkpoint nunca passa de um lançamento não gravado. Um lançamento recusado
+ * pelo banco (ex.: conta removida) é registrado em tb_ledger_dead_letter, na
+ * mesma transação que avança o checkpoint, para conciliação; com o banco
+ * indisponível a gravação para no lançamento que falhou e é repetida a cada
+ * {@code bankapi.ledger.retry-interval}.
+ */
+@Component
+@Profile({ "ledger", "partitioned" })
+public class LedgerPersister implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(LedgerPersister.class);
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private OutboxWriter outboxWriter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Presente apenas com bankapi.ledger.journal.enabled
+    @Autowired(required = false)
+    private LedgerJournal ledgerJournal;
+
+    @Value("${bankapi.ledger.persist-batch-size:500}")
+    private int batchSize = 500;
+
+    @Value("${bankapi.ledger.retry-interval:1s}")
+    private Duration retryInterval = Duration.ofSeconds(1);
+
+    @Value("${bankapi.ledger.queue-capacity:100000}")
+    private int queueCapacity = 100000;
+
+    private BlockingQueue<Posting> queue;
+
+    // Com journal: lançamentos que chegaram antes de algum anterior no journal
+    private final PriorityQueue<Posting> reordered = new PriorityQueue<>(Comparator.comparingLong(Posting::position));
+
+    // Com journal: posição do último lançamento encaminhado para gravação
+    private long sequenced;
+
+    // Lançamentos retirados da fila e ainda não gravados
+    private volatile int buffered;
+
+    // Com threads virtuais a gravação também roda em uma thread virtual,
+    // liberando a thread da plataforma enquanto espera pelo banco
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private volatile boolean running = true;
+
+    private Thread worker;
+
+    // Posição do journal já gravada no banco
+    private long checkpointed;
+
+    /**
+     * Lançamento pendente e a posição do seu registro no journal (0 sem journal)
+     */
+    private record Posting(Transaction transaction, long position) {
+    }
+
+    @PostConstruct
+    void start() throws IOException {
+        queue = new LinkedBlockingQueue<>(queueCapacity);
+
+        if (ledgerJournal != null) {
+            recover();
+            sequenced = ledgerJournal.position();
+        }
+
+        var builder = virtualThreads ? Thread.ofVirtual() : Thread.ofPlatform();
+        worker = builder.name("ledger-persister").start(this::run);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        worker.join();
+    }
+
+    /**
+     * Acrescenta ao journal, quando ativo, o lançamento validado e ainda não
+     * aplicado em memória; deve ser chamado com as contas bloqueadas
+     *
+     * @return posição do registro no journal (0 sem journal)
+     */
+    public long journal(Transaction posting) {
+        return ledgerJournal == null ? 0 : ledgerJournal.append(posting);
+    }
+
+    /**
+     * Espera o registro do lançamento ser gravado em disco, antes de
+     * confirmá-lo; sem journal retorna imediatamente
+     */
+    public void awaitDurable(long position) {
+        if (ledgerJournal != null)
+            ledgerJournal.awaitSync(position);
+    }
+
+    /**
+     * Encaminha para gravação o lançamento já aplicado em memória, esperando
+     * se a fila estiver cheia
+     *
+     * @param position posição devolvida por {@link #journal(Transaction)}
+     */
+    public void enqueue(Transaction posting, long position) {
+        var pending = new Posting(posting, position);
+
+        // O lançamento já foi aplicado e está no journal: a espera não é interrompida
+        var interrupted = false;
+        while (true) {
+            try {
+                queue.put(pending);
+                break;
+            } catch (InterruptedException ex) {
+                interrupted = true;
+            }
+        }
+        if (interrupted)
+            Thread.currentThread().interrupt();
+    }
+
+    /**
+     * Quantidade de lançamentos aplicados em memória e ainda não gravados
+     */
+    public int pending() {
+        return queue.size() + buffered;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("bankapi.ledger.pending", this, LedgerPersister::pending)
+                .description("Lançamentos aplicados em memória e ainda não gravados no banco")
+                .register(registry);
+    }
+
+    private void run() {
+        var batch = new ArrayList<Posting>(batchSize);
+        while (running || !queue.isEmpty() || !batch.isEmpty()) {
+            try {
+                if (batch.isEmpty() && !fill(batch))
+                    continue;
+
+                batch.subList(0, persist(batch)).clear();
+                buffered = batch.size() + reordered.size();
+                if (batch.isEmpty())
+                    continue;
+
+                if (!running) {
+                    log.error("{} lançamentos não gravados no banco na parada", pending());
+                    return;
+                }
+                // Banco indisponível: repete a partir do lançamento que falhou
+                Thread.sleep(retryInterval.toMillis());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Monta o próximo lote, na ordem do journal quando ativo
+     *
+     * @return se há lançamentos a gravar
+     */
+    private boolean fill(List<Posting> batch) throws InterruptedException {
+        var first = queue.poll(100, TimeUnit.MILLISECONDS);
+        if (first == null)
+            return false;
+
+        if (ledgerJournal == null) {
+            batch.add(first);
+            queue.drainTo(batch, batchSize - 1);
+        } else {
+            reordered.add(first);
+            queue.drainTo(reordered, batchSize - 1);
+            // Só segue o lançamento imediatamente posterior ao último encaminhado
+            while (batch.size() < batchSize && !reordered.isEmpty()
+                    && reordered.peek().position() == sequenced + LedgerJournal.RECORD_SIZE) {
+                sequenced = reordered.peek().position();
+                batch.add(reordered.poll());
+            }
+        }
+
+        buffered = batch.size() + reordered.size();
+        return !batch.isEmpty();
+    }
+
+    /**
+     * Grava no banco os lançamentos do journal posteriores ao checkpoint
+     */
+    private void recover() throws IOException {
+        var checkpoints = jdbcTemplate.queryForList(
+                "SELECT journal_position FROM tb_ledger_checkpoint WHERE id = 1", Long.class);
+        long checkpoint;
+        if (checkpoints.isEmpty()) {
+            jdbcTemplate.update("INSERT INTO tb_ledger_checkpoint (id, journal_position) VALUES (1, 0)");
+            checkpoint = 0;
+        } else {
+            checkpoint = checkpoints.get(0);
+        }
+        checkpointed = checkpoint;
+
+        if (checkpoint > ledgerJournal.position()) {
+            // Journal removido ou substituído: recomeça da posição atual
+            log.warn("Checkpoint {} além do fim do journal ({}), reiniciando", checkpoint, ledgerJournal.position());
+            checkpoint = ledgerJournal.position();
+            jdbcTemplate.update("UPDATE tb_ledger_checkpoint SET journal_position = ? WHERE id = 1", checkpoint);
+            checkpointed = checkpoint;
+            return;
+        }
+
+        var batch = new ArrayList<Posting>(batchSize);
+        var recovered = new long[1];
+        ledgerJournal.read(checkpoint, entry -> {
+            var transaction = new Transaction();
+            transaction.setType(entry.type());
+            transaction.setAmount(entry.amount());
+            transaction.setDateTime(entry.dateTime());
+            if (entry.sourceAccountId() != 0)
+                transaction.setSourceAccount(new Account(entry.sourceAccountId(), null, 0, 0, 0));
+            if (entry.receiverAccountId() != 0)
+                transaction.setReceiverAccount(new Account(entry.receiverAccountId(), null, 0, 0, 0));
+
+            batch.add(new Posting(transaction, entry.position()));
+            recovered[0]++;
+            if (batch.size() == batchSize) {
+                recover(batch);
+                batch.clear();
+            }
+        });
+        if (!batch.isEmpty())
+            recover(batch);
+
+        if (recovered[0] > 0)
+            log.info("{} lançamentos do journal gravados no banco a partir da posição {}", recovered[0], checkpoint);
+    }
+
+    private void recover(List<Posting> batch) {
+        if (persist(batch) < batch.size())
+            throw new IllegalStateException("Banco indisponível ao reaplicar o journal do livro-razão");
+    }
+
+    /**
+     * Grava os lançamentos em ordem, parando no primeiro que não puder ser
+     * gravado nem registrado em tb_ledger_dead_letter
+     *
+     * @return quantidade de lançamentos do início do lote já resolvidos
+     */
+    private int persist(List<Posting> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                batch.forEach(posting -> write(posting.transaction()));
+                checkpoint(batch.getLast());
+            });
+            checkpointed = batch.getLast().position();
+            release();
+            return batch.size();
+        } catch (RuntimeException ex) {
+            // Isola o lançamento com problema para não perder o restante do lote
+            log.warn("Falha ao gravar lote de {} lançamentos, gravando individualmente", batch.size(), ex);
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            var posting = batch.get(i);
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    write(posting.transaction());
+                    checkpoint(posting);
+                });
+            } catch (RuntimeException failure) {
+                if (!deadLetter(posting, failure)) {
+                    release();
+                    return i;
+                }
+            }
+            checkpointed = posting.position();
+        }
+
+        release();
+        return batch.size();
+    }
+
+    /**
+     * Registra o lançamento recusado pelo banco em tb_ledger_dead_letter,
+     * avançando o checkpoint na mesma transação
+     *
+     * @return false se a falha for transitória ou o registro falhar: o
+     *         lançamento deve ser gravado novamente
+     */
+    private boolean deadLetter(Posting posting, RuntimeException failure) {
+        if (failure instanceof TransientDataAccessException || failure instanceof RecoverableDataAccessException
+                || failure instanceof CannotCreateTransactionException) {
+            log.warn("Falha transitória ao gravar lançamento, nova tentativa em {}", retryInterval, failure);
+            return false;
+        }
+
+        var transaction = posting.transaction();
+        var error = String.valueOf(failure);
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.update("INSERT INTO tb_ledger_dead_letter (journal_position, type, source_account_id, "
+                        + "receiver_account_id, amount_cents, date_time, error) VALUES (?, ?, ?, ?, ?, ?, ?)",
+                        posting.position(), transaction.getType().name(),
+                        transaction.getSourceAccount() == null ? null : transaction.getSourceAccount().getId(),
+                        transaction.getReceiverAccount() == null ? null : transaction.getReceiverAccount().getId(),
+                        transaction.getAmount(), Timestamp.valueOf(transaction.getDateTime()),
+                        error.length() > 1000 ? error.substring(0, 1000) : error);
+                checkpoint(posting);
+            });
+        } catch (RuntimeException unavailable) {
+            log.warn("Falha ao registrar lançamento não gravado, nova tentativa em {}", retryInterval, unavailable);
+            return false;
+        }
+
+        log.error("Lançamento não gravado, registrado em tb_ledger_dead_letter: {}", transaction, failure);
+        return true;
+    }
+
+    private void release() {
+        if (ledgerJournal != null)
+            ledgerJournal.release(checkpointed);
+    }
+
+    private void checkpoint(Posting posting) {
+        if (ledgerJournal != null)
+            jdbcTemplate.update("UPDATE tb_ledger_checkpoint SET journal_position = ? WHERE id = 1", posting.position());
+    }
+
+    private void write(Transaction posting) {
+        var transaction = new Transaction();
+        transaction.setType(posting.getType());
+        transaction.setAmount(posting.getAmount());
+        transaction.setDateTime(posting.getDateTime());
+
+        if (posting.getSourceAccount() != null)
+            transaction.setSourceAccount(apply(posting.getSourceAccount(), -posting.getAmount()));
+
+        if (posting.getReceiverAccount() != null)
+            transaction.setReceiverAccount(apply(posting.getReceiverAccount(), posting.getAmount()));
+
+        transactionRepository.save(transaction);
+        outboxWriter.append(TransactionResponseDTO.of(transaction));
+    }
+
+    private Account apply(Account snapshot, long delta) {
+        var account = accountRepository.findById(snapshot.getId()).orElseThrow();
+        account.setBalance(account.getBalance() + delta);
+        return account;
+    }
+}
@@ -0,0 +1,158 @@
+package br.edu.utfpr.bankapi.ledger;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Mapa de chaves long primitivas (sem objetos Long por consulta), com
+ * endereçamento aberto e sondagem linear.
+ *
+ * As leituras não usam lock: a chave de uma posição é escrita antes do valor
+ * (leitura e escrita voláteis) e nunca muda depois disso. As escritas são
+ * serializadas por um lock e, na remoção, deixam uma marca que só é reutilizada
+ * pela mesma chave; as marcas são descartadas quando a tabela é redimensionada.
+ * Uma leitura simultânea a um redimensionamento pode não ver a escrita mais
+ * recente, como em uma leitura que a precede.
+ */
+final class LongKeyedMap<V> {
+
+    private static final Object REMOVED = new Object();
+
+    private static final class Table {
+        final long[] keys;
+        final AtomicReferenceArray<Object> values;
+        final int mask;
+
+        Table(int capacity) {
+            keys = new long[capacity];
+            values = new AtomicReferenceArray<>(capacity);
+            mask = capacity - 1;
+        }
+    }
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private volatile Table table = new Table(16);
+
+    // Posições ocupadas, inclusive as removidas; alterado apenas com o lock
+    private int used;
+
+    V get(long key) {
+        var current = table;
+        for (int i = index(key, current.mask);; i = (i + 1) & current.mask) {
+            var value = current.values.get(i);
+            if (value == null)
+                return null;
+            if (current.keys[i] == key)
+                return value == REMOVED ? null : cast(value);
+        }
+    }
+
+    /**
+     * @return valor já associado à chave, ou null se o valor informado foi
+     *         incluído
+     */
+    V putIfAbsent(long key, V value) {
+        writeLock.lock();
+        try {
+            return store(key, value, false);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    void put(long key, V value) {
+        writeLock.lock();
+        try {
+            store(key, value, true);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Remove a chave somente se estiver associada ao valor informado
+     */
+    void remove(long key, V value) {
+        writeLock.lock();
+        try {
+            var current = table;
+            for (int i = index(key, current.mask);; i = (i + 1) & current.mask) {
+                var stored = current.values.get(i);
+                if (stored == null)
+                    return;
+                if (current.keys[i] == key) {
+                    if (stored.equals(value))
+                        current.values.set(i, REMOVED);
+                    return;
+                }
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private V store(long key, V value, boolean replace) {
+        var current = table;
+        for (int i = index(key, current.mask);; i = (i + 1) & current.mask) {
+            var stored = current.values.get(i);
+            if (stored == null) {
+                current.keys[i] = key;
+                current.values.set(i, value);
+                if (++used * 2 > current.keys.length)
+                    resize();
+                return null;
+            }
+            if (current.keys[i] == key) {
+                if (stored != REMOVED && !replace)
+                    return cast(stored);
+
+                current.values.set(i, value);
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Copia as chaves presentes para uma nova tabela, com ocupação de até 1/4
+     */
+    private void resize() {
+        var current = table;
+        var live = 0;
+        for (int i = 0; i < current.keys.length; i++) {
+            var value = current.values.get(i);
+            if (value != null && value != REMOVED)
+                live++;
+        }
+
+        var capacity = 16;
+        while (capacity < live * 4)
+            capacity <<= 1;
+
+        var resized = new Table(capacity);
+        for (int i = 0; i < current.keys.length; i++) {
+            var value = current.values.get(i);
+            if (value == null || value == REMOVED)
+                continue;
+
+            var j = index(current.keys[i], resized.mask);
+            while (resized.values.get(j) != null)
+                j = (j + 1) & resized.mask;
+            resized.keys[j] = current.keys[i];
+            resized.values.set(j, value);
+        }
+
+        used = live;
+        table = resized;
+    }
+
+    private static int index(long key, int mask) {
+        // Espalha os números de conta sequenciais pela tabela
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> V cast(Object value) {
+        return (V) value;
+    }
+}
@@ -0,0 +1,456 @@
+package br.edu.utfpr.bankapi.ledger;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import br.edu.utfpr.bankapi.dto.DepositDTO;
+import br.edu.utfpr.bankapi.dto.TransferDTO;
+import br.edu.utfpr.bankapi.dto.WithdrawDTO;
+import br.edu.utfpr.bankapi.exception.NotFoundException;
+import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.model.Transaction;
+import br.edu.utfpr.bankapi.model.TransactionType;
+import br.edu.utfpr.bankapi.validations.AvailableAccountValidation;
+import br.edu.utfpr.bankapi.validations.AvailableBalanceValidation;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Livro-razão em memória particionado (perfil "partitioned").
+ *
+ * As contas são distribuídas pelo número entre {@code partitions} partições.
+ * Cada partição tem uma única thread, dona exclusiva dos saldos das suas
+ * contas, que executa em ordem as operações da sua fila: os saldos são
+ * alterados sem locks, e as requisições aguardam o resultado da operação.
+ *
+ * Uma transferência entre contas de partições diferentes é feita em duas
+ * fases: a partição de origem confere o saldo e debita, e repassa o crédito à
+ * partição de destino. Se o crédito falhar (conta de destino inexistente) o
+ * débito é estornado pela partição de origem. O saldo debitado fica
+ * indisponível entre as duas fases.
+ *
+ * As operações enviadas pelas requisições são limitadas a
+ * {@code queue-capacity} por partição (a requisição espera com a fila cheia);
+ * os repasses entre partições não são limitados, de modo que duas partições
+ * nunca esperam uma pela outra.
+ *
+ * Como no perfil "ledger", as contas são carregadas do banco no primeiro
+ * acesso e os lançamentos são gravados de forma assíncrona pelo
+ * {@link LedgerPersister}. Com o journal ativo, a thread da partição acrescenta
+ * o lançamento a ele antes de alterar o saldo, e a requisição espera o fsync
+ * na sua própria thread. A leitura é feita pela thread da requisição, antes
+ * de enfileirar a operação: a thread da partição não espera pelo banco para
+ * carregar contas, o que atrasaria as operações de todas as contas da
+ * partição. Ela ainda espera quando a fila do {@link LedgerPersister}
+ * ({@code bankapi.ledger.queue-capacity}) está cheia, ou seja, quando a
+ * gravação no banco não acompanha os lançamentos.
+ *
+ * Métricas por partição (tag partition): {@code bankapi.partition.queue}
+ * (operações na fila), {@code bankapi.partition.busy} (tempo ocupado) e
+ * {@code bankapi.partition.utilization} (fração do tempo ocupada desde a
+ * leitura anterior).
+ */
+@Component
+@Profile("partitioned")
+public class PartitionedLedger implements LedgerEngine, MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(PartitionedLedger.class);
+
+    @Autowired
+    private AvailableAccountValidation availableAccountValidation;
+
+    @Autowired
+    private AvailableBalanceValidation availableBalanceValidation;
+
+    @Autowired
+    private LedgerPersister ledgerPersister;
+
+    @Value("${bankapi.partitioned.partitions:4}")
+    private int partitionCount = 4;
+
+    @Value("${bankapi.partitioned.queue-capacity:10000}")
+    private int queueCapacity = 10000;
+
+    private List<Partition> partitions;
+
+    private volatile boolean running = true;
+
+    @PostConstruct
+    void start() {
+        partitions = new ArrayList<>(partitionCount);
+        for (int i = 0; i < partitionCount; i++)
+            partitions.add(new Partition(i));
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        for (var partition : partitions)
+            partition.thread.join();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (var partition : partitions) {
+            var tag = String.valueOf(partition.index);
+            Gauge.builder("bankapi.partition.queue", partition.tasks, LinkedBlockingQueue::size)
+                    .description("Operações aguardando na fila da partição")
+                    .tag("partition", tag)
+                    .register(registry);
+            FunctionCounter.builder("bankapi.partition.busy", partition.busyNanos, busy -> busy.get() / 1e9)
+                    .description("Tempo em que a partição esteve executando operações")
+                    .baseUnit("seconds")
+                    .tag("partition", tag)
+                    .register(registry);
+            Gauge.builder("bankapi.partition.utilization", partition, Partition::utilization)
+                    .description("Fração do tempo ocupada desde a leitura anterior")
+                    .tag("partition", tag)
+                    .register(registry);
+        }
+    }
+
+    @Override
+    public Transaction transfer(TransferDTO dto) throws NotFoundException {
+        var source = partition(dto.sourceAccountNumber());
+        var receiver = partition(dto.receiverAccountNumber());
+
+        // Conta de destino inexistente é recusada antes de debitar a origem
+        var loadedReceiver = load(receiver, dto.receiverAccountNumber());
+        var loadedSource = load(source, dto.sourceAccountNumber());
+
+        var result = new CompletableFuture<Posted>();
+
+        if (source == receiver) {
+            source.submit(result, () -> {
+                var from = source.account(dto.sourceAccountNumber(), loadedSource);
+                var to = source.account(dto.receiverAccountNumber(), loadedReceiver);
+                var transaction = new Transaction(from.snapshot(), to.snapshot(), dto.amount(),
+                        TransactionType.TRANSFER);
+
+                // Verifica se a conta de origem possui saldo
+                availableBalanceValidation.validate(transaction);
+
+                var position = ledgerPersister.journal(transaction);
+                from.apply(-dto.amount());
+                to.apply(dto.amount());
+
+                transaction.setSourceAccount(from.snapshot());
+                transaction.setReceiverAccount(to.snapshot());
+                post(result, transaction, position);
+            });
+            return await(result);
+        }
+
+        // Fase 1: confere o saldo e debita na partição de origem
+        source.submit(result, () -> {
+            var from = source.account(dto.sourceAccountNumber(), loadedSource);
+            var transaction = new Transaction(from.snapshot(), null, dto.amount(), TransactionType.TRANSFER);
+
+            // Verifica se a conta de origem possui saldo
+            availableBalanceValidation.validate(transaction);
+
+            from.apply(-dto.amount());
+            transaction.setSourceAccount(from.snapshot());
+
+            // Fase 2: credita na partição de destino. O lançamento só vai para o
+            // journal aqui, antes do crédito: o débito estornado não é registrado
+            receiver.handoff(() -> {
+                long position;
+                try {
+                    var to = receiver.account(dto.receiverAccountNumber(), loadedReceiver);
+                    transaction.setReceiverAccount(to.snapshot());
+                    position = ledgerPersister.journal(transaction);
+
+                    to.apply(dto.amount());
+                    transaction.setReceiverAccount(to.snapshot());
+                } catch (NotFoundException | RuntimeException ex) {
+                    // Estorna o débito na partição de origem
+                    source.handoff(() -> from.apply(dto.amount()));
+                    result.completeExceptionally(ex);
+                    return;
+                }
+
+                post(result, transaction, position);
+            });
+        });
+        return await(result);
+    }
+
+    @Override
+    public Transaction deposit(DepositDTO dto) throws NotFoundException {
+        var partition = partition(dto.receiverAccountNumber());
+        var loaded = load(partition, dto.receiverAccountNumber());
+        var result = new CompletableFuture<Posted>();
+
+        partition.submit(result, () -> {
+            var receiver = partition.account(dto.receiverAccountNumber(), loaded);
+            var transaction = new Transaction(null, receiver.snapshot(), dto.amount(), TransactionType.DEPOSIT);
+            var position = ledgerPersister.journal(transaction);
+
+            receiver.apply(dto.amount());
+            transaction.setReceiverAccount(receiver.snapshot());
+            post(result, transaction, position);
+        });
+        return await(result);
+    }
+
+    @Override
+    public Transaction withdraw(WithdrawDTO dto) throws NotFoundException {
+        var partition = partition(dto.sourceAccountNumber());
+        var loaded = load(partition, dto.sourceAccountNumber());
+        var result = new CompletableFuture<Posted>();
+
+        partition.submit(result, () -> {
+            var source = partition.account(dto.sourceAccountNumber(), loaded);
+            var transaction = new Transaction(source.snapshot(), null, dto.amount(), TransactionType.WITHDRAW);
+
+            // Verifica se a conta de origem possui saldo
+            availableBalanceValidation.validate(transaction);
+
+            var position = ledgerPersister.journal(transaction);
+            source.apply(-dto.amount());
+            transaction.setSourceAccount(source.snapshot());
+            post(result, transaction, position);
+        });
+        return await(result);
+    }
+
+    /**
+     * Atualiza a conta na sua partição e, se o novo número pertencer a outra
+     * partição, entrega a conta (com o saldo em memória) à nova partição
+     */
+    @Override
+    public void accountUpdated(long previousNumber, Account account) {
+        var from = partition(previousNumber);
+        var to = partition(account.getNumber());
+        var renumbered = previousNumber != account.getNumber();
+
+        var moved = new CompletableFuture<LedgerAccount>();
+        from.handoff(() -> {
+            var cached = from.accounts.get(previousNumber);
+            if (cached != null) {
+                cached.update(account);
+                if (renumbered) {
+                    from.remove(previousNumber);
+                    if (from == to)
+                        from.put(account.getNumber(), cached);
+                }
+            }
+            moved.complete(cached);
+        });
+
+        var cached = moved.join();
+        if (cached == null || !renumbered || from == to)
+            return;
+
+        var adopted = new CompletableFuture<Void>();
+        to.handoff(() -> {
+            to.put(account.getNumber(), cached);
+            adopted.complete(null);
+        });
+        adopted.join();
+    }
+
+    /**
+     * Lê o saldo na thread da partição, dona da conta
+     */
+    @Override
+    public Optional<Account> find(long number) {
+        var partition = partition(number);
+        var found = new CompletableFuture<Optional<Account>>();
+        partition.handoff(() -> found.complete(
+                Optional.ofNullable(partition.accounts.get(number)).map(LedgerAccount::snapshot)));
+        return found.join();
+    }
+
+    @Override
+    public void preload(Account account) {
+        var partition = partition(account.getNumber());
+        partition.handoff(() -> {
+            if (!partition.accounts.containsKey(account.getNumber()))
+                partition.put(account.getNumber(), new LedgerAccount(account));
+        });
+    }
+
+    /**
+     * Lê a conta do banco na thread da requisição, se ainda não estiver na
+     * partição
+     *
+     * @return null se a conta já está na partição
+     */
+    private Account load(Partition partition, long number) throws NotFoundException {
+        if (partition.loaded.contains(number))
+            return null;
+
+        return availableAccountValidation.validate(number);
+    }
+
+    private Partition partition(long number) {
+        return partitions.get(Math.floorMod(Long.hashCode(number), partitionCount));
+    }
+
+    /**
+     * Encaminha o lançamento aplicado para gravação e entrega o resultado à
+     * requisição, na thread da partição
+     */
+    private void post(CompletableFuture<Posted> result, Transaction transaction, long position) {
+        ledgerPersister.enqueue(transaction, position);
+        result.complete(new Posted(transaction, position));
+    }
+
+    /**
+     * Aguarda a operação e, fora da thread da partição, a gravação do
+     * lançamento no journal
+     */
+    private Transaction await(CompletableFuture<Posted> result) throws NotFoundException {
+        try {
+            var posted = result.get();
+            ledgerPersister.awaitDurable(posted.position());
+            return posted.transaction();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Operação interrompida", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof NotFoundException cause)
+                throw cause;
+            if (ex.getCause() instanceof RuntimeException cause)
+                throw cause;
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+
+    /**
+     * Lançamento aplicado e a posição do seu registro no journal
+     */
+    private record Posted(Transaction transaction, long position) {
+    }
+
+    @FunctionalInterface
+    private interface Operation {
+        void run() throws NotFoundException;
+    }
+
+    /**
+     * Fila e thread de uma partição, com as contas que pertencem a ela. As
+     * contas só são acessadas pela thread da partição.
+     */
+    private final class Partition {
+        final int index;
+        final LinkedBlockingQueue<Runnable> tasks = new LinkedBlockingQueue<>();
+        final Semaphore capacity = new Semaphore(queueCapacity);
+        final HashMap<Long, LedgerAccount> accounts = new HashMap<>();
+        // Números das contas da partição, consultados pelas requisições
+        final Set<Long> loaded = ConcurrentHashMap.newKeySet();
+        final AtomicLong busyNanos = new AtomicLong();
+        final Thread thread;
+
+        long sampledAt = System.nanoTime();
+        long sampledBusy;
+
+        Partition(int index) {
+            this.index = index;
+            thread = Thread.ofPlatform().name("ledger-partition-" + index).start(this::run);
+        }
+
+        /**
+         * Enfileira uma operação de requisição, esperando se a fila estiver
+         * cheia. Uma falha da operação é entregue em {@code result}.
+         */
+        void submit(CompletableFuture<?> result, Operation operation) {
+            capacity.acquireUninterruptibly();
+            tasks.add(() -> {
+                capacity.release();
+                try {
+                    operation.run();
+                } catch (NotFoundException | RuntimeException ex) {
+                    result.completeExceptionally(ex);
+                }
+            });
+        }
+
+        /**
+         * Enfileira uma operação repassada por outra partição, sem limite
+         */
+        void handoff(Runnable task) {
+            tasks.add(task);
+        }
+
+        /**
+         * Obtém a conta da partição; no primeiro acesso usa a conta lida pela
+         * requisição
+         */
+        LedgerAccount account(long number, Account loaded) throws NotFoundException {
+            var account = accounts.get(number);
+            if (account == null) {
+                // Conta renumerada depois da leitura pela requisição
+                if (loaded == null)
+                    throw new NotFoundException("Conta " + number + " inexistente");
+
+                account = new LedgerAccount(loaded);
+                put(number, account);
+            }
+            return account;
+        }
+
+        void put(long number, LedgerAccount account) {
+            accounts.put(number, account);
+            loaded.add(number);
+        }
+
+        void remove(long number) {
+            accounts.remove(number);
+            loaded.remove(number);
+        }
+
+        synchronized double utilization() {
+            var now = System.nanoTime();
+            var busy = busyNanos.get();
+            var value = now == sampledAt ? 0 : (double) (busy - sampledBusy) / (now - sampledAt);
+            sampledAt = now;
+            sampledBusy = busy;
+            return Math.min(value, 1);
+        }
+
+        private void run() {
+            while (running || !tasks.isEmpty()) {
+                try {
+                    var task = tasks.poll(100, TimeUnit.MILLISECONDS);
+                    if (task == null)
+                        continue;
+
+                    var start = System.nanoTime();
+                    try {
+                        task.run();
+                    } catch (RuntimeException ex) {
+                        log.error("Falha na partição {}", index, ex);
+                    }
+                    busyNanos.addAndGet(System.nanoTime() - start);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+}
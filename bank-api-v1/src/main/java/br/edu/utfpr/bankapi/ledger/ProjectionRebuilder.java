@@ -0,0 +1,177 @@
+package br.edu.utfpr.bankapi.ledger;
+
+import java.util.ArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.edu.utfpr.bankapi.dto.ProjectionRebuildResultDTO;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Reconstrução do saldo projetado de todas as contas a partir dos snapshots e
+ * lançamentos do {@link EventSourcedLedger}.
+ *
+ * As contas são divididas em blocos fixos de ids ({@code chunk-size}),
+ * processados em paralelo ({@code parallelism} threads), cada bloco em uma
+ * transação própria com uma consulta (snapshot mais lançamentos posteriores)
+ * e UPDATEs em lote JDBC. Cada conta lê no máximo
+ * {@code snapshot-interval} lançamentos, então a duração depende do número de
+ * contas e não do histórico.
+ *
+ * A reconstrução pode rodar com lançamentos em andamento: uma conta só é
+ * atualizada se a posição reconstruída não for anterior à já projetada.
+ *
+ * Progresso: {@code bankapi.projection.rebuild.chunks} (total de blocos da
+ * execução), {@code bankapi.projection.rebuild.completed} e
+ * {@code bankapi.projection.rebuild.accounts}.
+ */
+@Component
+@Profile("event-sourcing")
+public class ProjectionRebuilder implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(ProjectionRebuilder.class);
+
+    private static final String SELECT_CHUNK = "SELECT s.account_id, s.balance_cents + COALESCE(SUM(e.amount_cents), 0), COALESCE(MAX(e.seq), s.seq) "
+            + "FROM tb_account_snapshot s LEFT JOIN tb_account_entry e ON e.account_id = s.account_id AND e.seq > s.seq "
+            + "WHERE s.account_id >= ? AND s.account_id <= ? GROUP BY s.account_id, s.balance_cents, s.seq";
+
+    private static final String UPDATE_BALANCE = "UPDATE tb_account SET balance_cents = ?, projected_seq = ?, version = version + 1 "
+            + "WHERE id = ? AND projected_seq <= ? AND (projected_seq < ? OR balance_cents <> ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${bankapi.event-sourcing.rebuild.chunk-size:10000}")
+    private int chunkSize = 10000;
+
+    @Value("${bankapi.event-sourcing.rebuild.parallelism:4}")
+    private int parallelism = 4;
+
+    @Value("${bankapi.event-sourcing.rebuild.on-startup:false}")
+    private boolean onStartup;
+
+    private final AtomicInteger totalChunks = new AtomicInteger();
+
+    private final AtomicInteger completedChunks = new AtomicInteger();
+
+    private final AtomicLong rebuiltAccounts = new AtomicLong();
+
+    // Uma reconstrução por vez, sem prender a thread portadora (threads virtuais)
+    // durante as consultas, como faria um método synchronized
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("bankapi.projection.rebuild.chunks", totalChunks, AtomicInteger::get)
+                .description("Blocos de contas da reconstrução em andamento ou da última")
+                .register(registry);
+        Gauge.builder("bankapi.projection.rebuild.completed", completedChunks, AtomicInteger::get)
+                .description("Blocos de contas já reconstruídos")
+                .register(registry);
+        Gauge.builder("bankapi.projection.rebuild.accounts", rebuiltAccounts, AtomicLong::get)
+                .description("Contas já reconstruídas")
+                .register(registry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (onStartup)
+            rebuild();
+    }
+
+    /**
+     * Recalcula o saldo projetado de todas as contas com lançamentos
+     */
+    public ProjectionRebuildResultDTO rebuild() {
+        rebuildLock.lock();
+        try {
+            var start = System.nanoTime();
+            var maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(account_id), 0) FROM tb_account_snapshot",
+                    Long.class);
+
+            totalChunks.set((int) (maxId / chunkSize + 1));
+            completedChunks.set(0);
+            rebuiltAccounts.set(0);
+
+            var results = new ArrayList<Future<long[]>>();
+            try (var executor = Executors.newFixedThreadPool(parallelism)) {
+                for (long firstId = 0; firstId <= maxId; firstId += chunkSize) {
+                    var first = firstId;
+                    var last = firstId + chunkSize - 1;
+                    results.add(executor.submit(() -> rebuildChunk(first, last)));
+                }
+            }
+
+            var accounts = 0L;
+            var updated = 0L;
+            for (var future : results) {
+                var result = join(future);
+                accounts += result[0];
+                updated += result[1];
+            }
+
+            var millis = (System.nanoTime() - start) / 1_000_000;
+            log.info("Projeção reconstruída: {} contas, {} atualizadas, {} blocos em {} ms", accounts, updated,
+                    results.size(), millis);
+
+            return new ProjectionRebuildResultDTO(results.size(), accounts, updated, millis);
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    /**
+     * @return contas lidas e contas atualizadas no bloco
+     */
+    private long[] rebuildChunk(long firstId, long lastId) {
+        return transactionTemplate.execute(status -> {
+            var rows = new ArrayList<Object[]>();
+            jdbcTemplate.query(SELECT_CHUNK, rs -> {
+                long balance = rs.getLong(2);
+                long seq = rs.getLong(3);
+                rows.add(new Object[] { balance, seq, rs.getLong(1), seq, seq, balance });
+            }, firstId, lastId);
+
+            var updated = 0L;
+            for (var count : jdbcTemplate.batchUpdate(UPDATE_BALANCE, rows))
+                updated += Math.max(count, 0);
+
+            completedChunks.incrementAndGet();
+            rebuiltAccounts.addAndGet(rows.size());
+            return new long[] { rows.size(), updated };
+        });
+    }
+
+    private static long[] join(Future<long[]> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Reconstrução da projeção interrompida", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause)
+                throw cause;
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package br.edu.utfpr.bankapi.metrics;
+
+/**
+ * Acumula, por thread, o tempo gasto em instruções JDBC durante uma operação
+ * medida pelo {@link TransactionMetricsAspect}
+ */
+final class DbTime {
+
+    // null fora de uma operação medida
+    private static final ThreadLocal<long[]> elapsed = new ThreadLocal<>();
+
+    private DbTime() {
+    }
+
+    /**
+     * Inicia a contagem na thread atual
+     * 
+     * @return false se já houver uma contagem em andamento (operação aninhada)
+     */
+    static boolean start() {
+        if (elapsed.get() != null)
+            return false;
+
+        elapsed.set(new long[1]);
+        return true;
+    }
+
+    /**
+     * Encerra a contagem na thread atual
+     * 
+     * @return tempo acumulado em nanossegundos
+     */
+    static long stop() {
+        var nanos = elapsed.get();
+        elapsed.remove();
+        return nanos != null ? nanos[0] : 0;
+    }
+
+    static void add(long nanos) {
+        var current = elapsed.get();
+        if (current != null)
+            current[0] += nanos;
+    }
+}
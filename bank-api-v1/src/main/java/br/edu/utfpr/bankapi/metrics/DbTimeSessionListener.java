@@ -0,0 +1,35 @@
+package br.edu.utfpr.bankapi.metrics;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Mede a execução das instruções JDBC de cada sessão do Hibernate, incluindo
+ * as gravadas no flush do commit. Registrado em
+ * {@code hibernate.session.events.auto}; uma instância por sessão.
+ */
+public class DbTimeSessionListener implements SessionEventListener {
+
+    private long statementStart;
+
+    private long batchStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        statementStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        DbTime.add(System.nanoTime() - statementStart);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batchStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        DbTime.add(System.nanoTime() - batchStart);
+    }
+}
@@ -0,0 +1,102 @@
+package br.edu.utfpr.bankapi.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import br.edu.utfpr.bankapi.exception.BatchRejectedException;
+import br.edu.utfpr.bankapi.exception.ConcurrentUpdateException;
+import br.edu.utfpr.bankapi.exception.NotFoundException;
+import br.edu.utfpr.bankapi.exception.WithoutBalanceException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Métricas das operações de lançamento (TransactionService e
+ * BatchTransactionService).
+ *
+ * <ul>
+ * <li>{@code bankapi.transaction}: duração total por operação e resultado,
+ * com histograma e percentis;</li>
+ * <li>{@code bankapi.transaction.db}: tempo em instruções JDBC dentro da
+ * operação (inclusive o flush no commit);</li>
+ * <li>{@code bankapi.transaction.app}: duração total menos o tempo de
+ * banco.</li>
+ * </ul>
+ *
+ * Executa antes da transação (maior precedência), de modo que o commit entra
+ * na duração medida.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class TransactionMetricsAspect {
+
+    private final MeterRegistry registry;
+
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public TransactionMetricsAspect(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Around("execution(public * br.edu.utfpr.bankapi.service.TransactionService.*(..))"
+            + " || execution(public * br.edu.utfpr.bankapi.service.BatchTransactionService.execute(..))")
+    public Object measure(ProceedingJoinPoint joinPoint) throws Throwable {
+        var operation = joinPoint.getSignature().getName();
+        if ("execute".equals(operation))
+            operation = "batch";
+
+        var outermost = DbTime.start();
+        var start = System.nanoTime();
+        var outcome = "success";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable ex) {
+            outcome = outcome(ex);
+            throw ex;
+        } finally {
+            var total = System.nanoTime() - start;
+            timer("bankapi.transaction", operation, outcome).record(total, TimeUnit.NANOSECONDS);
+
+            if (outermost) {
+                var db = DbTime.stop();
+                timer("bankapi.transaction.db", operation, null).record(db, TimeUnit.NANOSECONDS);
+                timer("bankapi.transaction.app", operation, null).record(Math.max(0, total - db),
+                        TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    static String outcome(Throwable ex) {
+        if (ex instanceof WithoutBalanceException)
+            return "insufficient_balance";
+        if (ex instanceof NotFoundException)
+            return "not_found";
+        if (ex instanceof ConcurrentUpdateException)
+            return "conflict";
+        if (ex instanceof BatchRejectedException)
+            return "rejected";
+        return "error";
+    }
+
+    private Timer timer(String name, String operation, String outcome) {
+        return timers.computeIfAbsent(name + '|' + operation + '|' + outcome, key -> {
+            var builder = Timer.builder(name)
+                    .tag("operation", operation)
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .publishPercentileHistogram();
+            if (outcome != null)
+                builder.tag("outcome", outcome);
+
+            return builder.register(registry);
+        });
+    }
+}
@@ -1,24 +1,26 @@
 package br.edu.utfpr.bankapi.model;
 
 import br.edu.utfpr.bankapi.dto.AccountDTO;
+import br.edu.utfpr.bankapi.dto.MoneyFormat;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
-import lombok.AllArgsConstructor;
+import jakarta.persistence.Version;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Data
 @NoArgsConstructor
-@AllArgsConstructor
 @Entity
 @Table(name = "tb_account")
 public class Account {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "account_seq")
+    @SequenceGenerator(name = "account_seq", sequenceName = "tb_account_seq", allocationSize = 50)
     private long id;
 
     @Column(nullable = false)
@@ -28,17 +30,30 @@ public class Account {
     private long number;
     // private int checkDigit;
 
-    @Column(nullable = false)
-    private double balance;
+    // Valores em centavos (Money), em decimal no JSON
+    @MoneyFormat
+    @Column(name = "balance_cents", nullable = false)
+    private long balance;
+
+    @MoneyFormat
+    @Column(name = "special_limit_cents", nullable = false)
+    private long specialLimit;
 
+    @Version
     @Column(nullable = false)
-    private double specialLimit;
+    private long version;
 
-    public double getBalanceWithLimit() {
+    @MoneyFormat
+    public long getBalanceWithLimit() {
         return balance + specialLimit;
     }
 
-    public Account(String name, long number, double balance, double specialLimit) {
+    public Account(long id, String name, long number, long balance, long specialLimit) {
+        this(name, number, balance, specialLimit);
+        this.id = id;
+    }
+
+    public Account(String name, long number, long balance, long specialLimit) {
         this.name = name;
         this.number = number;
         this.balance = balance;
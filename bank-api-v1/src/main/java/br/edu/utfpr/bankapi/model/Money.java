@@ -0,0 +1,75 @@
+package br.edu.utfpr.bankapi.model;
+
+import java.math.BigDecimal;
+
+/**
+ * Valores monetários em ponto fixo: quantidade inteira de centavos em um
+ * {@code long}.
+ *
+ * As operações de saldo (débito, crédito, conferência do limite) são somas de
+ * inteiros, exatas e sem alocação. A conversão de e para decimal só acontece
+ * nas bordas (JSON e relatórios).
+ */
+public final class Money {
+
+    /**
+     * Casas decimais da moeda (centavos)
+     */
+    public static final int SCALE = 2;
+
+    private static final long CENTS_PER_UNIT = 100;
+
+    private Money() {
+    }
+
+    /**
+     * Valor inteiro em reais convertido para centavos
+     */
+    public static long ofUnits(long units) {
+        return Math.multiplyExact(units, CENTS_PER_UNIT);
+    }
+
+    /**
+     * Converte um valor decimal para centavos
+     *
+     * @throws ArithmeticException se o valor tiver mais de duas casas decimais
+     *                             ou não couber em um long
+     */
+    public static long of(BigDecimal value) {
+        return value.setScale(SCALE).unscaledValue().longValueExact();
+    }
+
+    /**
+     * Converte um valor em ponto flutuante para o centavo mais próximo. Usado
+     * apenas na conversão de valores legados.
+     */
+    public static long ofDouble(double value) {
+        return Math.round(value * CENTS_PER_UNIT);
+    }
+
+    public static BigDecimal toBigDecimal(long cents) {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+
+    public static double toDouble(long cents) {
+        return (double) cents / CENTS_PER_UNIT;
+    }
+
+    /**
+     * @throws ArithmeticException em caso de estouro
+     */
+    public static long add(long a, long b) {
+        return Math.addExact(a, b);
+    }
+
+    /**
+     * @throws ArithmeticException em caso de estouro
+     */
+    public static long subtract(long a, long b) {
+        return Math.subtractExact(a, b);
+    }
+
+    public static String format(long cents) {
+        return toBigDecimal(cents).toPlainString();
+    }
+}
@@ -2,45 +2,68 @@ package br.edu.utfpr.bankapi.model;
 
 import java.time.LocalDateTime;
 
+import br.edu.utfpr.bankapi.dto.MoneyFormat;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 
 @Data
 @Entity
-@Table(name = "tb_transaction")
+@Table(name = "tb_transaction", indexes = {
+        // Extrato: transações de uma conta em ordem de data (paginação keyset)
+        @Index(name = "idx_transaction_source_date", columnList = "source_account_id, date_time, id"),
+        @Index(name = "idx_transaction_receiver_date", columnList = "receiver_account_id, date_time, id") })
 public class Transaction {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transaction_seq")
+    @SequenceGenerator(name = "transaction_seq", sequenceName = "tb_transaction_seq", allocationSize = 50)
     private long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "source_account_id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Account sourceAccount;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "receiver_account_id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Account receiverAccount;
 
-    private double amount;
+    // Valor em centavos (Money), em decimal no JSON
+    @MoneyFormat
+    @Column(name = "amount_cents", nullable = false)
+    private long amount;
 
     @Enumerated(EnumType.STRING)
     private TransactionType type;
 
     private LocalDateTime dateTime;
 
+    // Chave de idempotência da requisição que originou a transação (Idempotency-Key)
+    @Column(name = "idempotency_key", unique = true, length = 64)
+    private String idempotencyKey;
+
     public Transaction() {
         dateTime = LocalDateTime.now();
     }
 
-    public Transaction(Account sourceAccount, Account receiverAccount, double amount, TransactionType type) {
+    public Transaction(Account sourceAccount, Account receiverAccount, long amount, TransactionType type) {
+        this();
         this.sourceAccount = sourceAccount;
         this.receiverAccount = receiverAccount;
         this.amount = amount;
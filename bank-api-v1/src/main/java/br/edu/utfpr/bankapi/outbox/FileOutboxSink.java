@@ -0,0 +1,116 @@
+package br.edu.utfpr.bankapi.outbox;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Publica os eventos em um arquivo NDJSON (um evento JSON por linha),
+ * sincronizado com o disco a cada lote. Substituto local de um broker de
+ * mensagens, ativado por {@code bankapi.outbox.sink=file}; o arquivo
+ * ({@code bankapi.outbox.file.path}) não tem valor padrão.
+ *
+ * Quando o arquivo atinge {@code bankapi.outbox.file.max-size} ele é renomeado
+ * com o id do primeiro evento do arquivo seguinte
+ * ({@code postings.ndjson.0000000000000001234}), e um novo arquivo é aberto.
+ * Os arquivos renomeados contêm apenas eventos de id menor que o do nome e,
+ * em ordem de nome, precedem o arquivo atual. Um consumidor acompanha a sua
+ * posição pelo id do último evento lido (que também descarta as repetições).
+ * São mantidos os {@code bankapi.outbox.file.max-files} arquivos renomeados
+ * mais recentes; os mais antigos são removidos.
+ */
+@Component
+@ConditionalOnProperty(name = "bankapi.outbox.sink", havingValue = "file")
+public class FileOutboxSink implements OutboxSink {
+
+    private static final Logger log = LoggerFactory.getLogger(FileOutboxSink.class);
+
+    private final Path file;
+
+    private final long maxSize;
+
+    private final int maxFiles;
+
+    private FileChannel channel;
+
+    public FileOutboxSink(@Value("${bankapi.outbox.file.path}") Path file,
+            @Value("${bankapi.outbox.file.max-size:100MB}") DataSize maxSize,
+            @Value("${bankapi.outbox.file.max-files:10}") int maxFiles) throws IOException {
+        this.file = file.toAbsolutePath();
+        this.maxSize = maxSize.toBytes();
+        this.maxFiles = maxFiles;
+
+        Files.createDirectories(this.file.getParent());
+        channel = open();
+    }
+
+    @Override
+    public synchronized void publish(List<OutboxEvent> events) throws IOException {
+        if (events.isEmpty())
+            return;
+
+        if (channel.size() >= maxSize)
+            rotate(events.get(0).id());
+
+        var lines = new StringBuilder();
+        for (var event : events)
+            lines.append(event.payload()).append('\n');
+
+        var buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining())
+            channel.write(buffer);
+
+        channel.force(false);
+    }
+
+    /**
+     * Renomeia o arquivo atual com o id do próximo evento e abre um novo
+     */
+    private void rotate(long nextId) throws IOException {
+        channel.close();
+
+        var rotated = file.resolveSibling(file.getFileName() + "." + String.format("%019d", nextId));
+        try {
+            Files.move(file, rotated);
+        } finally {
+            channel = open();
+        }
+        log.info("Arquivo de eventos rotacionado: {}", rotated);
+
+        // Remove os arquivos renomeados mais antigos além do limite
+        var prefix = file.getFileName() + ".";
+        try (var siblings = Files.list(file.getParent())) {
+            var old = siblings.filter(path -> path.getFileName().toString().startsWith(prefix))
+                    .sorted()
+                    .toList();
+            for (int i = 0; i < old.size() - maxFiles; i++)
+                Files.deleteIfExists(old.get(i));
+        } catch (IOException ex) {
+            // Não impede a publicação: a remoção é tentada na próxima rotação
+            log.warn("Falha ao remover arquivos de eventos antigos", ex);
+        }
+    }
+
+    private FileChannel open() throws IOException {
+        return FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    @PreDestroy
+    synchronized void close() throws IOException {
+        channel.close();
+    }
+}
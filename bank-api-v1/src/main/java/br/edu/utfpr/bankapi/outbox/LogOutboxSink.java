@@ -0,0 +1,25 @@
+package br.edu.utfpr.bankapi.outbox;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publica os eventos no log "bankapi.outbox". Destino padrão: nada é gravado
+ * em arquivos locais sem configuração explícita.
+ */
+@Component
+@ConditionalOnProperty(name = "bankapi.outbox.sink", havingValue = "log", matchIfMissing = true)
+public class LogOutboxSink implements OutboxSink {
+
+    private static final Logger log = LoggerFactory.getLogger("bankapi.outbox");
+
+    @Override
+    public void publish(List<OutboxEvent> events) {
+        for (var event : events)
+            log.info("{}", event.payload());
+    }
+}
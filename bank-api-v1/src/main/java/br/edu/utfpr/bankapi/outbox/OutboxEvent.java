@@ -0,0 +1,11 @@
+package br.edu.utfpr.bankapi.outbox;
+
+import java.time.LocalDateTime;
+
+/**
+ * Evento gravado na tabela de saída (tb_outbox_event)
+ * 
+ * @param payload JSON de um {@link br.edu.utfpr.bankapi.dto.PostingEventDTO}
+ */
+public record OutboxEvent(long id, long accountNumber, String payload, LocalDateTime createdAt) {
+}
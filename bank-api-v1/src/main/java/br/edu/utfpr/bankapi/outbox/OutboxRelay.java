@@ -0,0 +1,135 @@
+package br.edu.utfpr.bankapi.outbox;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Publica os eventos da tabela de saída no {@link OutboxSink} configurado.
+ *
+ * A cada ciclo ({@code bankapi.outbox.poll-interval}) os eventos são lidos em
+ * ordem de id, em lotes de {@code bankapi.outbox.batch-size}, bloqueados
+ * (SELECT ... FOR UPDATE), publicados e removidos na mesma transação. Se a
+ * publicação ou a remoção falhar a transação é desfeita e o lote é publicado
+ * novamente no próximo ciclo (entrega pelo menos uma vez). Com mais de uma
+ * instância os lotes são publicados um de cada vez, o que preserva a ordem dos
+ * eventos de cada conta.
+ *
+ * Métricas: {@code bankapi.outbox.lag} (idade do evento mais antigo ainda não
+ * publicado, no último ciclo), {@code bankapi.outbox.published} e
+ * {@code bankapi.outbox.delivery} (tempo entre a gravação e a publicação).
+ */
+@Component
+@ConditionalOnProperty(name = "bankapi.outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private OutboxSink sink;
+
+    @Value("${bankapi.outbox.batch-size:500}")
+    private int batchSize = 500;
+
+    private final AtomicLong lagMillis = new AtomicLong();
+
+    private Counter published;
+
+    private Timer delivery;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("bankapi.outbox.lag", lagMillis, lag -> lag.get() / 1000.0)
+                .description("Idade do evento mais antigo ainda não publicado")
+                .baseUnit("seconds")
+                .register(registry);
+        published = Counter.builder("bankapi.outbox.published")
+                .description("Eventos publicados")
+                .register(registry);
+        delivery = Timer.builder("bankapi.outbox.delivery")
+                .description("Tempo entre a gravação do evento e a sua publicação")
+                .publishPercentiles(0.5, 0.99)
+                .register(registry);
+    }
+
+    @Scheduled(fixedDelayString = "${bankapi.outbox.poll-interval:1s}")
+    public void relay() {
+        try {
+            // Publica enquanto houver lotes completos
+            int count;
+            do {
+                count = relayBatch();
+            } while (count == batchSize);
+        } catch (RuntimeException ex) {
+            log.warn("Falha ao publicar eventos da tabela de saída, nova tentativa no próximo ciclo", ex);
+        }
+    }
+
+    /**
+     * @return quantidade de eventos publicados
+     */
+    int relayBatch() {
+        return transactionTemplate.execute(status -> {
+            var events = jdbcTemplate.query(
+                    "SELECT id, account_number, payload, created_at FROM tb_outbox_event ORDER BY id LIMIT ? FOR UPDATE",
+                    (rs, i) -> new OutboxEvent(rs.getLong(1), rs.getLong(2), rs.getString(3),
+                            rs.getTimestamp(4).toLocalDateTime()),
+                    batchSize);
+
+            if (events.isEmpty()) {
+                lagMillis.set(0);
+                return 0;
+            }
+
+            var now = LocalDateTime.now();
+            lagMillis.set(Duration.between(events.get(0).createdAt(), now).toMillis());
+
+            try {
+                sink.publish(events);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+
+            jdbcTemplate.batchUpdate("DELETE FROM tb_outbox_event WHERE id = ?",
+                    events.stream().map(event -> new Object[] { event.id() }).toList());
+
+            record(events, now);
+            return events.size();
+        });
+    }
+
+    private void record(List<OutboxEvent> events, LocalDateTime now) {
+        if (published == null)
+            return;
+
+        published.increment(events.size());
+        for (var event : events)
+            delivery.record(Duration.between(event.createdAt(), now).toMillis(), TimeUnit.MILLISECONDS);
+    }
+}
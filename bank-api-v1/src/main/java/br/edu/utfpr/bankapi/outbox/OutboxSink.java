@@ -0,0 +1,22 @@
+package br.edu.utfpr.bankapi.outbox;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Destino dos eventos da tabela de saída. O destino é escolhido pela
+ * propriedade {@code bankapi.outbox.sink}.
+ *
+ * A entrega é "pelo menos uma vez": um lote cuja publicação falhar, ou cuja
+ * remoção da tabela não for confirmada, é publicado novamente. Os consumidores
+ * devem descartar eventos repetidos pelo id.
+ */
+public interface OutboxSink {
+
+    /**
+     * Publica os eventos na ordem recebida (ordem de gravação; ver os limites
+     * da ordem por conta em {@link OutboxWriter}). Retorna somente após a
+     * publicação estar confirmada.
+     */
+    void publish(List<OutboxEvent> events) throws IOException;
+}
@@ -0,0 +1,84 @@
+package br.edu.utfpr.bankapi.outbox;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.edu.utfpr.bankapi.dto.PostingEventDTO;
+import br.edu.utfpr.bankapi.dto.TransactionResponseDTO;
+import jakarta.transaction.Transactional;
+
+/**
+ * Grava os eventos de lançamento na tabela de saída (tb_outbox_event), na
+ * transação do próprio lançamento: o evento existe se e somente se a
+ * transação foi confirmada. A publicação é feita depois pelo
+ * {@link OutboxRelay}.
+ *
+ * O id do evento é gerado pelo banco no INSERT (identity). Como o evento é
+ * gravado depois que a conta foi bloqueada pela alteração do saldo, os eventos
+ * de uma mesma conta têm ids crescentes na ordem de confirmação.
+ *
+ * A ordem por conta não é garantida:
+ * <ul>
+ * <li>no modo {@link br.edu.utfpr.bankapi.service.LockingMode#NONE}: a conta
+ * não é bloqueada antes do evento, e o saldo só é gravado no commit;</li>
+ * <li>nos créditos das contas com saldo dividido
+ * ({@link br.edu.utfpr.bankapi.service.HotAccountShards}), que não bloqueiam a
+ * linha da conta.</li>
+ * </ul>
+ * Nesses casos os consumidores não devem supor que os eventos de uma conta
+ * chegam na ordem em que os lançamentos foram aplicados.
+ */
+@Component
+public class OutboxWriter {
+
+    private static final String INSERT = "INSERT INTO tb_outbox_event (account_number, payload, created_at) VALUES (?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void append(TransactionResponseDTO posting) {
+        append(List.of(posting));
+    }
+
+    /**
+     * Grava os eventos das transações em um único lote JDBC
+     */
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void append(List<TransactionResponseDTO> postings) {
+        var createdAt = Timestamp.valueOf(LocalDateTime.now());
+        var rows = new ArrayList<Object[]>(postings.size() * 2);
+
+        for (var posting : postings) {
+            if (posting.sourceAccountNumber() != null)
+                rows.add(row(new PostingEventDTO(posting.id(), posting.type(), posting.sourceAccountNumber(),
+                        -posting.amount(), posting.receiverAccountNumber(), posting.dateTime()), createdAt));
+
+            if (posting.receiverAccountNumber() != null)
+                rows.add(row(new PostingEventDTO(posting.id(), posting.type(), posting.receiverAccountNumber(),
+                        posting.amount(), posting.sourceAccountNumber(), posting.dateTime()), createdAt));
+        }
+
+        jdbcTemplate.batchUpdate(INSERT, rows);
+    }
+
+    private Object[] row(PostingEventDTO event, Timestamp createdAt) {
+        try {
+            return new Object[] { event.accountNumber(), objectMapper.writeValueAsString(event), createdAt };
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
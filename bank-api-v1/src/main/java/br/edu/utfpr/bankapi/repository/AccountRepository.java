@@ -1,11 +1,85 @@
 package br.edu.utfpr.bankapi.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import br.edu.utfpr.bankapi.model.Account;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 
 public interface AccountRepository extends JpaRepository<Account, Long> {
     public Optional<Account> getByNumber(long number);
+
+    public boolean existsByNumber(long number);
+
+    /**
+     * Página de contas após o id informado (paginação keyset), em ordem de id
+     */
+    public List<Account> findByIdGreaterThanOrderByIdAsc(long id, Pageable pageable);
+
+    /**
+     * Percorre todas as contas com um cursor no banco, sem carregar a tabela
+     * em memória. Deve ser consumido dentro de uma transação.
+     */
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.fetchSize", value = "500"),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true") })
+    @Query("select a from Account a order by a.id")
+    public Stream<Account> streamAll();
+
+    /**
+     * Percorre os números de todas as contas com um cursor no banco. Deve ser
+     * consumido dentro de uma transação.
+     */
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "5000"))
+    @Query("select a.number from Account a")
+    public Stream<Long> streamNumbers();
+
+    /**
+     * Busca e bloqueia (SELECT ... FOR UPDATE) as contas informadas. Os
+     * registros são bloqueados na ordem do número da conta, de modo que
+     * transferências concorrentes não entrem em deadlock.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select a from Account a where a.number in :numbers order by a.number")
+    public List<Account> findByNumberInForUpdate(@Param("numbers") Collection<Long> numbers);
+
+    /**
+     * Grava o saldo somente se a conta ainda estiver na versão informada.
+     * 
+     * @return quantidade de registros alterados (0 em caso de conflito)
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("update Account a set a.balance = :balance, a.version = a.version + 1 where a.id = :id and a.version = :version")
+    public int updateBalance(@Param("id") long id, @Param("version") long version, @Param("balance") long balance);
+
+    /**
+     * Debita o valor da conta somente se o saldo somado ao limite especial for
+     * suficiente, conferindo e alterando o saldo em uma única instrução.
+     * 
+     * @return quantidade de registros alterados (0 se a conta não existir ou
+     *         não possuir saldo)
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("update Account a set a.balance = a.balance - :amount, a.version = a.version + 1 where a.number = :number and a.balance + a.specialLimit >= :amount")
+    public int debit(@Param("number") long number, @Param("amount") long amount);
+
+    /**
+     * Credita o valor na conta em uma única instrução
+     * 
+     * @return quantidade de registros alterados (0 se a conta não existir)
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("update Account a set a.balance = a.balance + :amount, a.version = a.version + 1 where a.number = :number")
+    public int credit(@Param("number") long number, @Param("amount") long amount);
 }
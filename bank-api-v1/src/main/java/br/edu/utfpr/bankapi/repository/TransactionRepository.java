@@ -1,9 +1,52 @@
 package br.edu.utfpr.bankapi.repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import br.edu.utfpr.bankapi.dto.StatementEntryDTO;
+import br.edu.utfpr.bankapi.dto.TransactionResponseDTO;
 import br.edu.utfpr.bankapi.model.Transaction;
 
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
 
+    /**
+     * Débitos da conta anteriores a (beforeDate, beforeId), do mais recente ao
+     * mais antigo. Usa o índice (source_account_id, date_time, id).
+     */
+    @Query("""
+            select new br.edu.utfpr.bankapi.dto.StatementEntryDTO(t.id, t.dateTime, t.type, -t.amount, r.number)
+            from Transaction t left join t.receiverAccount r
+            where t.sourceAccount.id = :accountId and t.dateTime >= :from
+              and (t.dateTime < :beforeDate or (t.dateTime = :beforeDate and t.id < :beforeId))
+            order by t.dateTime desc, t.id desc""")
+    public List<StatementEntryDTO> findDebits(@Param("accountId") long accountId, @Param("from") LocalDateTime from,
+            @Param("beforeDate") LocalDateTime beforeDate, @Param("beforeId") long beforeId, Pageable pageable);
+
+    /**
+     * Créditos da conta anteriores a (beforeDate, beforeId), do mais recente ao
+     * mais antigo. Usa o índice (receiver_account_id, date_time, id).
+     */
+    @Query("""
+            select new br.edu.utfpr.bankapi.dto.StatementEntryDTO(t.id, t.dateTime, t.type, t.amount, s.number)
+            from Transaction t left join t.sourceAccount s
+            where t.receiverAccount.id = :accountId and t.dateTime >= :from
+              and (t.dateTime < :beforeDate or (t.dateTime = :beforeDate and t.id < :beforeId))
+            order by t.dateTime desc, t.id desc""")
+    public List<StatementEntryDTO> findCredits(@Param("accountId") long accountId, @Param("from") LocalDateTime from,
+            @Param("beforeDate") LocalDateTime beforeDate, @Param("beforeId") long beforeId, Pageable pageable);
+
+    /**
+     * Resposta da transação gravada com a chave de idempotência informada
+     */
+    @Query("""
+            select new br.edu.utfpr.bankapi.dto.TransactionResponseDTO(t.id, t.type, t.amount, t.dateTime, s.number, r.number)
+            from Transaction t left join t.sourceAccount s left join t.receiverAccount r
+            where t.idempotencyKey = :key""")
+    public Optional<TransactionResponseDTO> findResponseByIdempotencyKey(@Param("key") String key);
 }
@@ -0,0 +1,101 @@
+package br.edu.utfpr.bankapi.service;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.repository.AccountRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Cache local dos dados cadastrais das contas, indexado pelo número.
+ *
+ * O saldo não é mantido no cache: ele muda a cada lançamento e continua sendo
+ * lido (ou alterado) diretamente no banco. Por isso as alterações de saldo não
+ * invalidam o cache; apenas {@link AccountService#update} o faz. Entre
+ * instâncias a coerência é limitada pelo tempo de expiração.
+ *
+ * Contas inexistentes não são armazenadas, de modo que uma conta recém-criada
+ * é encontrada na próxima consulta.
+ */
+@Component
+public class AccountCache implements MeterBinder {
+
+    /**
+     * Dados cadastrais da conta, sem o saldo
+     */
+    public record CachedAccount(long id, String name, long number, long specialLimit) {
+
+        static CachedAccount of(Account account) {
+            return new CachedAccount(account.getId(), account.getName(), account.getNumber(),
+                    account.getSpecialLimit());
+        }
+    }
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    private final Cache<Long, CachedAccount> cache;
+
+    public AccountCache(@Value("${bankapi.cache.account.maximum-size:100000}") long maximumSize,
+            @Value("${bankapi.cache.account.expire-after-write:10m}") Duration expireAfterWrite) {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Obtém os dados da conta, consultando o banco apenas na primeira vez
+     */
+    public Optional<CachedAccount> get(long number) {
+        return Optional.ofNullable(cache.get(number,
+                key -> accountRepository.getByNumber(key).map(CachedAccount::of).orElse(null)));
+    }
+
+    /**
+     * Armazena os dados de uma conta já lida do banco (carga na inicialização)
+     */
+    public void put(Account account) {
+        cache.put(account.getNumber(), CachedAccount.of(account));
+    }
+
+    public void invalidate(long number) {
+        cache.invalidate(number);
+    }
+
+    /**
+     * Acertos, faltas e remoções acumulados desde a inicialização
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    /**
+     * Quantidade máxima de contas mantidas no cache
+     */
+    public long maximumSize() {
+        return cache.policy().eviction().map(eviction -> eviction.getMaximum()).orElse(Long.MAX_VALUE);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        // cache.gets (hit/miss), cache.size, cache.evictions...
+        CaffeineCacheMetrics.monitor(registry, cache, "accounts");
+    }
+}
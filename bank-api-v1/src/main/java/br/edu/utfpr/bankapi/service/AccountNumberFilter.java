@@ -0,0 +1,215 @@
+package br.edu.utfpr.bankapi.service;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.edu.utfpr.bankapi.repository.AccountRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Filtro de Bloom dos números de conta existentes.
+ *
+ * Usado para rejeitar números de conta inexistentes sem consultar o banco: se
+ * {@link #isAbsent(long)} retornar true a conta certamente não existe; caso
+ * contrário a consulta segue normalmente (pode ser um falso positivo).
+ *
+ * O filtro é construído na inicialização percorrendo os números das contas e
+ * reconstruído periodicamente ({@code bankapi.account-filter.rebuild-interval}),
+ * o que descarta números antigos de contas alteradas e redimensiona o filtro
+ * conforme a quantidade de contas. Enquanto não estiver construído nenhuma
+ * conta é rejeitada.
+ *
+ * Contas criadas por outras instâncias (ou pela aplicação reativa) só são
+ * conhecidas após a próxima reconstrução, e até lá seriam rejeitadas como
+ * inexistentes. Por isso o filtro vem desabilitado e só deve ser habilitado
+ * ({@code bankapi.account-filter.enabled=true}) quando esta for a única
+ * instância cadastrando contas.
+ */
+@Component
+public class AccountNumberFilter implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(AccountNumberFilter.class);
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${bankapi.account-filter.enabled:false}")
+    private boolean enabled = false;
+
+    @Value("${bankapi.account-filter.expected-accounts:1000000}")
+    private long expectedAccounts = 1_000_000;
+
+    @Value("${bankapi.account-filter.false-positive-rate:0.01}")
+    private double falsePositiveRate = 0.01;
+
+    // null enquanto o filtro não estiver construído
+    private volatile Bits current;
+
+    // Filtro em construção: recebe também os números adicionados durante a
+    // varredura
+    private volatile Bits building;
+
+    private volatile Duration lastRebuild = Duration.ZERO;
+
+    // Uma reconstrução por vez. ReentrantLock e não synchronized: a
+    // reconstrução consulta o banco, e com threads virtuais um bloco
+    // synchronized prenderia a thread portadora durante a consulta
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    /**
+     * @return true se a conta certamente não existe
+     */
+    public boolean isAbsent(long number) {
+        var bits = current;
+        return enabled && bits != null && !bits.mightContain(number);
+    }
+
+    public void add(long number) {
+        var bits = current;
+        if (bits != null)
+            bits.put(number);
+
+        var next = building;
+        if (next != null)
+            next.put(number);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${bankapi.account-filter.rebuild-interval:PT1H}",
+            fixedDelayString = "${bankapi.account-filter.rebuild-interval:PT1H}")
+    public void rebuild() {
+        if (!enabled)
+            return;
+
+        rebuildLock.lock();
+        try {
+            var start = System.nanoTime();
+            var accounts = accountRepository.count();
+            var next = new Bits(Math.max(expectedAccounts, accounts * 2), falsePositiveRate);
+
+            building = next;
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    try (var numbers = accountRepository.streamNumbers()) {
+                        numbers.forEach(next::put);
+                    }
+                });
+                current = next;
+            } finally {
+                building = null;
+            }
+
+            lastRebuild = Duration.ofNanos(System.nanoTime() - start);
+            log.info("Filtro de contas reconstruído: {} contas, {} bits, {} ms", next.count(), next.size(),
+                    lastRebuild.toMillis());
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("bankapi.account.filter.size", this, f -> f.current != null ? f.current.size() : 0)
+                .description("Tamanho do filtro de Bloom de contas")
+                .baseUnit("bits")
+                .register(registry);
+        Gauge.builder("bankapi.account.filter.entries", this, f -> f.current != null ? f.current.count() : 0)
+                .description("Números de conta inseridos no filtro")
+                .register(registry);
+        Gauge.builder("bankapi.account.filter.false.positive.rate", this,
+                f -> f.current != null ? f.current.falsePositiveRate() : 0)
+                .description("Taxa de falsos positivos estimada para a ocupação atual")
+                .register(registry);
+        Gauge.builder("bankapi.account.filter.rebuild.duration", this, f -> f.lastRebuild.toMillis() / 1000.0)
+                .description("Duração da última reconstrução do filtro")
+                .baseUnit("seconds")
+                .register(registry);
+    }
+
+    /**
+     * Conjunto de bits do filtro, seguro para acesso concorrente
+     */
+    static final class Bits {
+
+        private final AtomicLongArray words;
+
+        private final long size;
+
+        private final int hashes;
+
+        private final AtomicLong count = new AtomicLong();
+
+        Bits(long expected, double falsePositiveRate) {
+            // m = -n ln(p) / ln(2)^2 e k = m/n ln(2)
+            var bits = (long) Math.ceil(-expected * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            words = new AtomicLongArray((int) Math.max(1, (bits + 63) / 64));
+            size = words.length() * 64L;
+            hashes = (int) Math.max(1, Math.round((double) size / expected * Math.log(2)));
+        }
+
+        boolean mightContain(long number) {
+            var h1 = mix(number);
+            var h2 = mix(h1) | 1;
+            for (int i = 0; i < hashes; i++) {
+                var bit = Math.floorMod(h1 + i * h2, size);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0)
+                    return false;
+            }
+            return true;
+        }
+
+        void put(long number) {
+            var h1 = mix(number);
+            var h2 = mix(h1) | 1;
+            for (int i = 0; i < hashes; i++) {
+                var bit = Math.floorMod(h1 + i * h2, size);
+                var index = (int) (bit >>> 6);
+                var mask = 1L << bit;
+                long word;
+                do {
+                    word = words.get(index);
+                } while ((word & mask) == 0 && !words.compareAndSet(index, word, word | mask));
+            }
+            count.incrementAndGet();
+        }
+
+        long size() {
+            return size;
+        }
+
+        long count() {
+            return count.get();
+        }
+
+        /**
+         * Taxa de falsos positivos estimada: (1 - e^(-kn/m))^k
+         */
+        double falsePositiveRate() {
+            return Math.pow(1 - Math.exp(-hashes * (double) count.get() / size), hashes);
+        }
+
+        // Finalizador do SplitMix64: espalha números de conta sequenciais
+        private static long mix(long z) {
+            z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+            z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+            return z ^ (z >>> 31);
+        }
+    }
+}
@@ -1,29 +1,115 @@
 package br.edu.utfpr.bankapi.service;
 
-import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import br.edu.utfpr.bankapi.dto.AccountDTO;
+import br.edu.utfpr.bankapi.dto.PageDTO;
 import br.edu.utfpr.bankapi.exception.NotFoundException;
+import br.edu.utfpr.bankapi.ledger.LedgerEngine;
 import br.edu.utfpr.bankapi.model.Account;
 import br.edu.utfpr.bankapi.repository.AccountRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.transaction.Transactional;
 
 @Service
 public class AccountService {
 
+    private static final Logger log = LoggerFactory.getLogger(AccountService.class);
+
+    public static final int MAX_PAGE_SIZE = 1000;
+
     @Autowired
     private AccountRepository accountRepository;
 
+    @Autowired
+    private AccountCache accountCache;
+
+    @Autowired
+    private AccountNumberFilter accountNumberFilter;
+
+    @Autowired
+    private HotAccountShards hotAccountShards;
+
+    // Presente apenas quando um perfil de livro-razão alternativo está ativo
+    @Autowired(required = false)
+    private LedgerEngine ledgerEngine;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     public Optional<Account> getByNumber(long number) {
-        return accountRepository.getByNumber(number);
+        // Conta certamente inexistente: dispensa a consulta
+        if (accountNumberFilter.isAbsent(number))
+            return Optional.empty();
+
+        // Com um livro-razão alternativo o saldo do banco pode estar atrasado
+        if (ledgerEngine != null) {
+            var current = ledgerEngine.find(number);
+            if (current.isPresent())
+                return current;
+        }
+
+        var account = accountRepository.getByNumber(number);
+        account.ifPresent(this::withShards);
+        return account;
+    }
+
+    /**
+     * Conta com saldo dividido: o saldo passa a incluir as parcelas ainda não
+     * incorporadas. A conta é desanexada antes, para o saldo somado nunca ser
+     * gravado.
+     */
+    private Account withShards(Account account) {
+        if (hotAccountShards.isHot(account.getNumber())) {
+            entityManager.detach(account);
+            account.setBalance(hotAccountShards.balance(account));
+        }
+        return account;
     }
 
-    public List<Account> getAll() {
-        return accountRepository.findAll();
+    /**
+     * Página de contas em ordem de id, a partir do cursor da página anterior
+     * 
+     * @param cursor cursor retornado na página anterior, ou null na primeira
+     * @param size   quantidade de contas na página (até {@link #MAX_PAGE_SIZE})
+     */
+    public PageDTO<Account> getPage(String cursor, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE)
+            throw new IllegalArgumentException("Tamanho da página deve estar entre 1 e " + MAX_PAGE_SIZE);
+
+        long after = 0;
+        if (cursor != null)
+            after = Long.parseLong(Cursors.decode(cursor, 1)[0]);
+
+        var accounts = accountRepository.findByIdGreaterThanOrderByIdAsc(after, PageRequest.ofSize(size));
+        accounts.forEach(this::withShards);
+
+        // Página incompleta: não há mais contas
+        var next = accounts.size() < size ? null : Cursors.encode(accounts.get(accounts.size() - 1).getId());
+        return new PageDTO<>(accounts, next);
+    }
+
+    /**
+     * Percorre todas as contas sem mantê-las em memória: cada conta é
+     * desanexada do contexto de persistência após ser consumida.
+     */
+    @Transactional
+    public void streamAll(Consumer<Account> consumer) {
+        try (var accounts = accountRepository.streamAll()) {
+            accounts.forEach(account -> {
+                consumer.accept(withShards(account));
+                entityManager.detach(account);
+            });
+        }
     }
 
     public Account save(AccountDTO dto) {
@@ -32,10 +118,13 @@ public class AccountService {
 
         account.setBalance(0); // Inicializar a conta com saldo 0.
 
-        System.out.println(account);
+        log.debug("Nova conta: {}", account);
 
         // Salva a conta
-        return accountRepository.save(account);
+        var saved = accountRepository.save(account);
+        accountNumberFilter.add(account.getNumber());
+
+        return saved;
     }
 
     /**
@@ -52,13 +141,24 @@ public class AccountService {
             throw new NotFoundException();
 
         var account = res.get();
+        var previousNumber = account.getNumber();
         account.setName(dto.name());
         account.setNumber(dto.number());
         account.setSpecialLimit(dto.specialLimit());
 
-        System.out.println(account);
+        log.debug("Conta alterada: {}", account);
 
         // Salva a conta
-        return accountRepository.save(account);
+        var saved = accountRepository.save(account);
+
+        // O número antigo deixa de existir e o novo passa a apontar para esta conta
+        accountCache.invalidate(previousNumber);
+        accountCache.invalidate(saved.getNumber());
+        accountNumberFilter.add(saved.getNumber());
+
+        if (ledgerEngine != null)
+            ledgerEngine.accountUpdated(previousNumber, saved);
+
+        return saved;
     }
 }
@@ -0,0 +1,147 @@
+package br.edu.utfpr.bankapi.service;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import br.edu.utfpr.bankapi.exception.NotFoundException;
+import br.edu.utfpr.bankapi.exception.WithoutBalanceException;
+import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.repository.AccountRepository;
+import br.edu.utfpr.bankapi.validations.AvailableAccountValidation;
+
+/**
+ * Alteração atômica de saldos: a conferência do saldo e a alteração são feitas
+ * em uma única instrução UPDATE, sem leitura prévia da conta. A quantidade de
+ * registros alterados é a única validação: a conta existe e tem saldo se e
+ * somente se o UPDATE alterou um registro.
+ *
+ * No PostgreSQL ({@code spring.sql.init.platform=postgresql}) o próprio UPDATE
+ * devolve o id da conta ({@code RETURNING id}), usado na referência gravada na
+ * transação; nos demais bancos o id vem do {@link AccountCache}, que só
+ * consulta o banco na primeira vez. Como as instruções JDBC não passam pelo
+ * contexto de persistência, as contas alteradas não devem estar carregadas na
+ * transação.
+ *
+ * Nas contas com saldo dividido ({@link HotAccountShards}) os créditos vão
+ * para uma das parcelas e os débitos incorporam as parcelas quando o saldo
+ * da conta não for suficiente.
+ */
+@Component
+public class BalanceUpdater {
+
+    private static final String DEBIT = "UPDATE tb_account SET balance_cents = balance_cents - ?, version = version + 1 "
+            + "WHERE number = ? AND balance_cents + special_limit_cents >= ? RETURNING id";
+
+    private static final String CREDIT = "UPDATE tb_account SET balance_cents = balance_cents + ?, version = version + 1 "
+            + "WHERE number = ? RETURNING id";
+
+    // Conta alterada cujo id não foi devolvido pelo UPDATE
+    private static final long UNKNOWN_ID = 0;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountNumberFilter accountNumberFilter;
+
+    @Autowired
+    private HotAccountShards hotAccountShards;
+
+    @Autowired
+    private AvailableAccountValidation availableAccountValidation;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${spring.sql.init.platform:}")
+    private String platform = "";
+
+    /**
+     * @return referência à conta debitada (proxy, sem leitura do registro)
+     */
+    public Account debit(long number, long amount) throws NotFoundException {
+        // Conta certamente inexistente: dispensa o UPDATE
+        if (accountNumberFilter.isAbsent(number))
+            throw new NotFoundException("Conta " + number + " inexistente");
+
+        var id = updateDebit(number, amount);
+
+        // Conta com saldo dividido: incorpora as parcelas e tenta novamente
+        if (id == null && hotAccountShards.sweep(number) > 0)
+            id = updateDebit(number, amount);
+
+        if (id != null)
+            return reference(number, id);
+
+        // Nenhum registro alterado: a conta não existe ou não possui saldo
+        if (!accountRepository.existsByNumber(number))
+            throw new NotFoundException("Conta " + number + " inexistente");
+
+        throw new WithoutBalanceException();
+    }
+
+    /**
+     * @return referência à conta creditada (proxy, sem leitura do registro)
+     */
+    public Account credit(long number, long amount) throws NotFoundException {
+        if (accountNumberFilter.isAbsent(number))
+            throw new NotFoundException("Conta " + number + " inexistente");
+
+        // Conta com saldo dividido: o id é conhecido
+        if (hotAccountShards.credit(number, amount))
+            return reference(number, hotAccountShards.accountId(number));
+
+        var id = updateCredit(number, amount);
+        if (id == null)
+            throw new NotFoundException("Conta " + number + " inexistente");
+
+        return reference(number, id);
+    }
+
+    /**
+     * Debita em uma única instrução, se houver saldo
+     *
+     * @return id da conta debitada ({@link #UNKNOWN_ID} se o banco não o
+     *         devolve), ou null se nenhum registro foi alterado
+     */
+    private Long updateDebit(long number, long amount) {
+        if (returnsId())
+            return first(jdbcTemplate.queryForList(DEBIT, Long.class, amount, number, amount));
+
+        return accountRepository.debit(number, amount) == 1 ? UNKNOWN_ID : null;
+    }
+
+    /**
+     * Credita em uma única instrução
+     *
+     * @return id da conta creditada ({@link #UNKNOWN_ID} se o banco não o
+     *         devolve), ou null se nenhum registro foi alterado
+     */
+    private Long updateCredit(long number, long amount) {
+        if (returnsId())
+            return first(jdbcTemplate.queryForList(CREDIT, Long.class, amount, number));
+
+        return accountRepository.credit(number, amount) == 1 ? UNKNOWN_ID : null;
+    }
+
+    // UPDATE ... RETURNING é suportado apenas no PostgreSQL
+    private boolean returnsId() {
+        return "postgresql".equals(platform);
+    }
+
+    private static Long first(List<Long> ids) {
+        return ids.isEmpty() ? null : ids.get(0);
+    }
+
+    /**
+     * Referência à conta já alterada, cuja existência foi confirmada pelo
+     * UPDATE
+     */
+    private Account reference(long number, long id) throws NotFoundException {
+        return id != UNKNOWN_ID ? accountRepository.getReferenceById(id) : availableAccountValidation.reference(number);
+    }
+}
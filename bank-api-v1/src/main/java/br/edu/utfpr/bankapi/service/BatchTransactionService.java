@@ -0,0 +1,278 @@
+package br.edu.utfpr.bankapi.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.edu.utfpr.bankapi.dto.BatchDTO;
+import br.edu.utfpr.bankapi.dto.BatchItemDTO;
+import br.edu.utfpr.bankapi.dto.BatchItemResultDTO;
+import br.edu.utfpr.bankapi.dto.BatchMode;
+import br.edu.utfpr.bankapi.dto.BatchResultDTO;
+import br.edu.utfpr.bankapi.dto.DepositDTO;
+import br.edu.utfpr.bankapi.dto.TransactionResponseDTO;
+import br.edu.utfpr.bankapi.dto.TransferDTO;
+import br.edu.utfpr.bankapi.dto.WithdrawDTO;
+import br.edu.utfpr.bankapi.exception.BatchRejectedException;
+import br.edu.utfpr.bankapi.exception.NotFoundException;
+import br.edu.utfpr.bankapi.exception.UnsupportedBatchModeException;
+import br.edu.utfpr.bankapi.ledger.LedgerEngine;
+import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.model.Transaction;
+import br.edu.utfpr.bankapi.outbox.OutboxWriter;
+import br.edu.utfpr.bankapi.repository.AccountRepository;
+import br.edu.utfpr.bankapi.repository.TransactionRepository;
+import br.edu.utfpr.bankapi.validations.AvailableBalanceValidation;
+import jakarta.transaction.Transactional;
+
+/**
+ * Processamento de lotes de transferências, depósitos e saques em uma única
+ * transação.
+ *
+ * Todas as contas do lote são buscadas e bloqueadas em uma única consulta. Os
+ * itens são aplicados em ordem sobre as contas em memória e as transações são
+ * gravadas no final, em lote (hibernate.jdbc.batch_size); cada conta alterada
+ * gera um único UPDATE.
+ */
+@Service
+public class BatchTransactionService {
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private AvailableBalanceValidation availableBalanceValidation;
+
+    @Autowired
+    private OutboxWriter outboxWriter;
+
+    @Autowired
+    private HotAccountShards hotAccountShards;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Presente apenas quando um perfil de livro-razão alternativo está ativo
+    @Autowired(required = false)
+    private LedgerEngine ledgerEngine;
+
+    @Transactional
+    public BatchResultDTO execute(BatchDTO dto) {
+        if (ledgerEngine != null)
+            return executeOnLedger(dto);
+
+        // Busca e bloqueia todas as contas envolvidas em uma única consulta
+        var numbers = new HashSet<Long>();
+        for (var item : dto.items()) {
+            if (item.sourceAccountNumber() != null)
+                numbers.add(item.sourceAccountNumber());
+            if (item.receiverAccountNumber() != null)
+                numbers.add(item.receiverAccountNumber());
+        }
+
+        // Contas com saldo dividido: incorpora as parcelas antes de ler os saldos
+        for (var number : numbers)
+            hotAccountShards.sweep(number);
+
+        var accounts = new HashMap<Long, Account>();
+        for (var account : accountRepository.findByNumberInForUpdate(numbers))
+            accounts.put(account.getNumber(), account);
+
+        var results = new ArrayList<BatchItemResultDTO>(dto.items().size());
+        var transactions = new ArrayList<Transaction>(dto.items().size());
+        var applied = new ArrayList<Integer>(dto.items().size());
+        var failed = false;
+
+        for (int i = 0; i < dto.items().size(); i++) {
+            try {
+                transactions.add(apply(dto.items().get(i), accounts));
+                applied.add(i);
+                // Substituído pelo resultado com o id quando o lote é gravado
+                results.add(BatchItemResultDTO.notApplied(i));
+            } catch (NotFoundException | RuntimeException ex) {
+                results.add(BatchItemResultDTO.failure(i, ex.getMessage()));
+                failed = true;
+            }
+        }
+
+        if (failed && dto.mode() == BatchMode.ALL_OR_NOTHING)
+            throw new BatchRejectedException(new BatchResultDTO(false, results));
+
+        // Salvando as transações do lote
+        transactionRepository.saveAll(transactions);
+
+        var postings = new ArrayList<TransactionResponseDTO>(transactions.size());
+        for (var transaction : transactions)
+            postings.add(TransactionResponseDTO.of(transaction));
+        outboxWriter.append(postings);
+
+        for (int i = 0; i < applied.size(); i++) {
+            var index = applied.get(i);
+            results.set(index, BatchItemResultDTO.success(index, transactions.get(i).getId()));
+        }
+
+        return new BatchResultDTO(true, results);
+    }
+
+    /**
+     * Aplica o item sobre as contas em memória. A conta só é alterada depois
+     * de todas as validações, de modo que um item com falha não deixa efeito.
+     */
+    private Transaction apply(BatchItemDTO item, Map<Long, Account> accounts) throws NotFoundException {
+        var transaction = new Transaction();
+        transaction.setType(item.type());
+        transaction.setAmount(item.amount());
+
+        switch (item.type()) {
+            case TRANSFER -> {
+                transaction.setSourceAccount(account(accounts, item.sourceAccountNumber()));
+                transaction.setReceiverAccount(account(accounts, item.receiverAccountNumber()));
+            }
+            case DEPOSIT -> transaction.setReceiverAccount(account(accounts, item.receiverAccountNumber()));
+            case WITHDRAW -> transaction.setSourceAccount(account(accounts, item.sourceAccountNumber()));
+        }
+
+        if (transaction.getSourceAccount() != null) {
+            // Verifica se a conta de origem possui saldo
+            availableBalanceValidation.validate(transaction);
+
+            transaction.getSourceAccount()
+                    .setBalance(transaction.getSourceAccount().getBalance() - transaction.getAmount());
+        }
+
+        if (transaction.getReceiverAccount() != null)
+            transaction.getReceiverAccount()
+                    .setBalance(transaction.getReceiverAccount().getBalance() + transaction.getAmount());
+
+        return transaction;
+    }
+
+    private Account account(Map<Long, Account> accounts, Long number) throws NotFoundException {
+        if (number == null)
+            throw new IllegalArgumentException("Número da conta não informado");
+
+        var account = accounts.get(number);
+        if (account == null)
+            throw new NotFoundException("Conta " + number + " inexistente");
+
+        return account;
+    }
+
+    /**
+     * Nos livros-razão alternativos cada item é aplicado pelo motor.
+     *
+     * Com um motor transacional (event-sourcing), no modo ALL_OR_NOTHING os
+     * itens entram na transação do lote, desfeita na primeira falha; no modo
+     * BEST_EFFORT cada item roda em uma transação própria (REQUIRES_NEW), para
+     * que a falha de um item não marque a transação do lote para ser desfeita.
+     * Os motores em memória não desfazem lançamentos: neles um lote
+     * ALL_OR_NOTHING é recusado antes de qualquer item ser aplicado.
+     */
+    private BatchResultDTO executeOnLedger(BatchDTO dto) {
+        if (dto.mode() == BatchMode.ALL_OR_NOTHING) {
+            if (!ledgerEngine.transactional())
+                throw new UnsupportedBatchModeException(dto.mode());
+
+            return executeOnLedgerAllOrNothing(dto);
+        }
+
+        TransactionTemplate perItem = null;
+        if (ledgerEngine.transactional()) {
+            perItem = new TransactionTemplate(transactionManager);
+            perItem.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        }
+
+        var results = new ArrayList<BatchItemResultDTO>(dto.items().size());
+        for (int i = 0; i < dto.items().size(); i++)
+            results.add(perItem == null ? applyOnLedger(i, dto.items().get(i))
+                    : applyOnLedger(i, dto.items().get(i), perItem));
+
+        return new BatchResultDTO(true, results);
+    }
+
+    /**
+     * Todos os itens na transação do lote: a primeira falha rejeita o lote e os
+     * demais itens são informados como não aplicados
+     */
+    private BatchResultDTO executeOnLedgerAllOrNothing(BatchDTO dto) {
+        var results = new ArrayList<BatchItemResultDTO>(dto.items().size());
+        for (int i = 0; i < dto.items().size(); i++) {
+            var result = applyOnLedger(i, dto.items().get(i));
+            if (!result.success()) {
+                var rejected = new ArrayList<BatchItemResultDTO>(dto.items().size());
+                for (int j = 0; j < dto.items().size(); j++)
+                    rejected.add(j == i ? result : BatchItemResultDTO.notApplied(j));
+                throw new BatchRejectedException(new BatchResultDTO(false, rejected));
+            }
+            results.add(result);
+        }
+
+        return new BatchResultDTO(true, results);
+    }
+
+    /**
+     * Aplica o item em uma transação própria, desfeita se o item falhar
+     */
+    private BatchItemResultDTO applyOnLedger(int index, BatchItemDTO item, TransactionTemplate perItem) {
+        try {
+            return perItem.execute(status -> {
+                var result = applyOnLedger(index, item);
+                // A exceção faz o TransactionTemplate desfazer a transação
+                if (!result.success())
+                    throw new ItemFailedException(result);
+                return result;
+            });
+        } catch (ItemFailedException ex) {
+            return ex.result;
+        } catch (RuntimeException ex) {
+            // Falha ao gravar a transação do item (ex.: chave duplicada)
+            return BatchItemResultDTO.failure(index, ex.getMessage());
+        }
+    }
+
+    private BatchItemResultDTO applyOnLedger(int index, BatchItemDTO item) {
+        try {
+            var transaction = switch (item.type()) {
+                case TRANSFER -> ledgerEngine.transfer(new TransferDTO(
+                        required(item.sourceAccountNumber()), required(item.receiverAccountNumber()), item.amount()));
+                case DEPOSIT -> ledgerEngine.deposit(new DepositDTO(
+                        required(item.receiverAccountNumber()), item.amount()));
+                case WITHDRAW -> ledgerEngine.withdraw(new WithdrawDTO(
+                        required(item.sourceAccountNumber()), item.amount()));
+            };
+            return BatchItemResultDTO.success(index, transaction.getId());
+        } catch (NotFoundException | RuntimeException ex) {
+            return BatchItemResultDTO.failure(index, ex.getMessage());
+        }
+    }
+
+    /**
+     * Falha de um item aplicado em transação própria, com o resultado a
+     * informar
+     */
+    private static final class ItemFailedException extends RuntimeException {
+        private final transient BatchItemResultDTO result;
+
+        ItemFailedException(BatchItemResultDTO result) {
+            super(result.error(), null, false, false);
+            this.result = result;
+        }
+    }
+
+        private static long required(Long number) {
+        if (number == null)
+            throw new IllegalArgumentException("Número da conta não informado");
+
+        return number;
+    }
+}
@@ -0,0 +1,41 @@
+package br.edu.utfpr.bankapi.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Codificação dos cursores de paginação (keyset). O cursor é opaco para o
+ * cliente: as chaves da última linha da página, em Base64 URL-safe.
+ */
+public final class Cursors {
+
+    private static final String SEPARATOR = "|";
+
+    private Cursors() {
+    }
+
+    public static String encode(Object... keys) {
+        var joined = new StringBuilder();
+        for (var key : keys) {
+            if (!joined.isEmpty())
+                joined.append(SEPARATOR);
+            joined.append(key);
+        }
+
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(joined.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException se o cursor for inválido
+     */
+    public static String[] decode(String cursor, int keys) {
+        var decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        var parts = decoded.split("\\" + SEPARATOR, -1);
+
+        if (parts.length != keys)
+            throw new IllegalArgumentException("Cursor inválido");
+
+        return parts;
+    }
+}
@@ -0,0 +1,329 @@
+package br.edu.utfpr.bankapi.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.edu.utfpr.bankapi.dto.DepositDTO;
+import br.edu.utfpr.bankapi.dto.TransactionResponseDTO;
+import br.edu.utfpr.bankapi.exception.NotFoundException;
+import br.edu.utfpr.bankapi.ledger.LedgerEngine;
+import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.model.Money;
+import br.edu.utfpr.bankapi.model.Transaction;
+import br.edu.utfpr.bankapi.model.TransactionType;
+import br.edu.utfpr.bankapi.outbox.OutboxWriter;
+import br.edu.utfpr.bankapi.repository.TransactionRepository;
+import br.edu.utfpr.bankapi.validations.AvailableAccountValidation;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Gravação agrupada de depósitos (group commit), ativada por
+ * {@code bankapi.deposit.group-commit.enabled}.
+ *
+ * Os depósitos não conferem saldo, então os depósitos simultâneos em uma
+ * mesma conta podem ser gravados juntos. Cada depósito é validado na thread da
+ * requisição e enfileirado; um dos {@code workers} junta os depósitos da sua
+ * fila por até {@code flush-interval} a partir do primeiro (ou até
+ * {@code max-batch-size}) e grava o lote em uma única transação: um crédito
+ * por conta, com a soma dos depósitos, e as transações individuais em lote
+ * (hibernate.jdbc.batch_size). Só então cada requisição é respondida.
+ *
+ * As contas são distribuídas entre os workers pelo número, de modo que os
+ * depósitos de uma conta são sempre agrupados pelo mesmo worker e dois lotes
+ * nunca disputam a mesma conta. Se o lote falhar antes da confirmação, os
+ * depósitos são gravados individualmente pelo {@link TransactionService}; uma
+ * falha na própria confirmação tem resultado incerto e é devolvida às
+ * requisições sem regravar, para não creditar duas vezes.
+ *
+ * A requisição espera até {@code timeout} pelo lote. Um depósito que nenhum
+ * worker retirou da fila nesse prazo é abandonado e não é mais gravado; um
+ * depósito já retirado sempre recebe um resultado, mesmo se o worker falhar.
+ * Depois do encerramento novos depósitos são recusados.
+ *
+ * O crédito do lote é sempre a atualização atômica do {@link BalanceUpdater},
+ * qualquer que seja {@code bankapi.transaction.locking}: um depósito não
+ * confere saldo, e o UPDATE incrementa a versão da conta, de modo que as
+ * operações otimistas simultâneas detectam o conflito e as pessimistas
+ * esperam o bloqueio da linha.
+ *
+ * Os depósitos com Idempotency-Key e os perfis de livro-razão alternativos
+ * não passam por aqui.
+ */
+@Component
+@ConditionalOnProperty(name = "bankapi.deposit.group-commit.enabled", havingValue = "true")
+public class DepositGroupCommitter implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(DepositGroupCommitter.class);
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private AvailableAccountValidation availableAccountValidation;
+
+    @Autowired
+    private BalanceUpdater balanceUpdater;
+
+    @Autowired
+    private OutboxWriter outboxWriter;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // Presente apenas quando um perfil de livro-razão alternativo está ativo
+    @Autowired(required = false)
+    private LedgerEngine ledgerEngine;
+
+    @Value("${bankapi.deposit.group-commit.workers:4}")
+    private int workers = 4;
+
+    @Value("${bankapi.deposit.group-commit.max-batch-size:500}")
+    private int maxBatchSize = 500;
+
+    @Value("${bankapi.deposit.group-commit.flush-interval:5ms}")
+    private Duration flushInterval = Duration.ofMillis(5);
+
+    // Depósitos aguardando em cada fila; com a fila cheia a requisição espera
+    @Value("${bankapi.deposit.group-commit.queue-capacity:10000}")
+    private int queueCapacity = 10000;
+
+    // Espera da requisição pela fila e pelo lote
+    @Value("${bankapi.deposit.group-commit.timeout:5s}")
+    private Duration timeout = Duration.ofSeconds(5);
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private List<BlockingQueue<Pending>> queues;
+
+    private List<Thread> threads;
+
+    private volatile boolean running = true;
+
+    private DistributionSummary batchSizes;
+
+    /**
+     * Depósito enfileirado; {@code claimed} é marcado por quem decide o seu
+     * destino: o worker ao incluí-lo em um lote ou a requisição ao abandoná-lo
+     */
+    private record Pending(DepositDTO dto, long enqueuedAt, CompletableFuture<TransactionResponseDTO> result,
+            AtomicBoolean claimed) {
+
+        void fail(Throwable cause) {
+            claimed.set(true);
+            result.completeExceptionally(cause);
+        }
+    }
+
+    @PostConstruct
+    void start() {
+        queues = new ArrayList<>(workers);
+        threads = new ArrayList<>(workers);
+
+        var builder = virtualThreads ? Thread.ofVirtual() : Thread.ofPlatform();
+        for (int i = 0; i < workers; i++) {
+            var queue = new LinkedBlockingQueue<Pending>(queueCapacity);
+            queues.add(queue);
+            threads.add(builder.name("deposit-group-commit-" + i).start(() -> run(queue)));
+        }
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        for (var thread : threads)
+            thread.join();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        batchSizes = DistributionSummary.builder("bankapi.deposit.group-commit.batch")
+                .description("Depósitos gravados por transação")
+                .publishPercentiles(0.5, 0.99)
+                .register(registry);
+    }
+
+    /**
+     * Enfileira o depósito e aguarda a gravação do lote que o contém
+     */
+    public TransactionResponseDTO deposit(DepositDTO dto) throws NotFoundException {
+        if (ledgerEngine != null)
+            return transactionService.deposit(dto);
+
+        var index = Math.floorMod(Long.hashCode(dto.receiverAccountNumber()), workers);
+        if (!running || !threads.get(index).isAlive())
+            throw new IllegalStateException("Gravação agrupada de depósitos encerrada");
+
+        // Conta inexistente é recusada antes de entrar no lote
+        availableAccountValidation.resolve(dto.receiverAccountNumber());
+
+        var pending = new Pending(dto, System.nanoTime(), new CompletableFuture<>(), new AtomicBoolean());
+        try {
+            if (!queues.get(index).offer(pending, timeout.toNanos(), TimeUnit.NANOSECONDS))
+                throw new IllegalStateException("Depósito não gravado: fila de gravação agrupada cheia");
+
+            try {
+                return pending.result().get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException ex) {
+                // Ainda na fila: abandona o depósito, que não será gravado
+                if (pending.claimed().compareAndSet(false, true))
+                    throw new IllegalStateException("Depósito não gravado: sem resposta em " + timeout, ex);
+
+                // Já está em um lote, que sempre conclui o resultado
+                return pending.result().get();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            pending.claimed().compareAndSet(false, true);
+            throw new IllegalStateException("Depósito interrompido", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof NotFoundException cause)
+                throw cause;
+            if (ex.getCause() instanceof RuntimeException cause)
+                throw cause;
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+
+    private void run(BlockingQueue<Pending> queue) {
+        var batch = new ArrayList<Pending>(maxBatchSize);
+        try {
+            while (running || !queue.isEmpty()) {
+                try {
+                    var first = queue.poll(100, TimeUnit.MILLISECONDS);
+                    if (first == null)
+                        continue;
+
+                    // Junta os depósitos que chegarem até o prazo do primeiro
+                    batch.add(first);
+                    var deadline = first.enqueuedAt() + flushInterval.toNanos();
+                    while (batch.size() < maxBatchSize) {
+                        var remaining = deadline - System.nanoTime();
+                        var next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                        if (next == null)
+                            break;
+                        batch.add(next);
+                    }
+
+                    // Descarta os depósitos abandonados pelas requisições
+                    batch.removeIf(pending -> !pending.claimed().compareAndSet(false, true));
+                    if (!batch.isEmpty())
+                        commit(batch);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } finally {
+                    // Nenhuma requisição fica sem resposta, mesmo com uma falha inesperada
+                    var unfinished = batch.stream().filter(pending -> !pending.result().isDone()).toList();
+                    if (!unfinished.isEmpty()) {
+                        log.error("{} depósitos do lote sem resultado após a gravação agrupada", unfinished.size());
+                        var failure = new IllegalStateException("Depósito não gravado: falha na gravação agrupada");
+                        unfinished.forEach(pending -> pending.fail(failure));
+                    }
+                    batch.clear();
+                }
+            }
+        } finally {
+            // Worker encerrado: recusa o que ainda estiver na fila
+            var stopped = new IllegalStateException("Gravação agrupada de depósitos encerrada");
+            for (Pending pending; (pending = queue.poll()) != null;)
+                pending.fail(stopped);
+        }
+    }
+
+    private void commit(List<Pending> batch) {
+        // Marcado ao fim do lote na transação: uma falha depois disso ocorreu na
+        // confirmação, e o lote pode ter sido gravado
+        var written = new AtomicBoolean();
+        List<TransactionResponseDTO> responses;
+        try {
+            responses = transactionTemplate.execute(status -> {
+                var result = write(batch);
+                written.set(true);
+                return result;
+            });
+        } catch (RuntimeException ex) {
+            if (written.get()) {
+                // Regravar os depósitos poderia creditá-los duas vezes
+                log.error("Falha ao confirmar lote de {} depósitos, resultado incerto", batch.size(), ex);
+                batch.forEach(pending -> pending.result().completeExceptionally(ex));
+                return;
+            }
+
+            // Isola o depósito com problema para não recusar o restante do lote
+            log.warn("Falha ao gravar lote de {} depósitos, gravando individualmente", batch.size(), ex);
+            for (var pending : batch) {
+                try {
+                    pending.result().complete(transactionService.deposit(pending.dto()));
+                } catch (NotFoundException | RuntimeException single) {
+                    pending.result().completeExceptionally(single);
+                }
+            }
+            return;
+        }
+
+        for (int i = 0; i < batch.size(); i++)
+            batch.get(i).result().complete(responses.get(i));
+
+        if (batchSizes != null)
+            batchSizes.record(batch.size());
+    }
+
+    private List<TransactionResponseDTO> write(List<Pending> batch) {
+        // Um crédito por conta com a soma dos depósitos, em ordem de número
+        var totals = new TreeMap<Long, Long>();
+        for (var pending : batch)
+            totals.merge(pending.dto().receiverAccountNumber(), pending.dto().amount(), Money::add);
+
+        // Referências devolvidas pelos créditos, reaproveitadas pelos depósitos
+        var accounts = new HashMap<Long, Account>();
+        try {
+            for (var total : totals.entrySet())
+                accounts.put(total.getKey(), balanceUpdater.credit(total.getKey(), total.getValue()));
+        } catch (NotFoundException ex) {
+            throw new IllegalStateException(ex);
+        }
+
+        var transactions = new ArrayList<Transaction>(batch.size());
+        for (var pending : batch)
+            transactions.add(new Transaction(null, accounts.get(pending.dto().receiverAccountNumber()),
+                    pending.dto().amount(), TransactionType.DEPOSIT));
+
+        transactionRepository.saveAll(transactions);
+        // Erros dos INSERTs dentro do lote, antes da confirmação
+        transactionRepository.flush();
+
+        var responses = new ArrayList<TransactionResponseDTO>(batch.size());
+        for (int i = 0; i < batch.size(); i++)
+            responses.add(TransactionResponseDTO.of(transactions.get(i), null,
+                    batch.get(i).dto().receiverAccountNumber()));
+        outboxWriter.append(responses);
+
+        return responses;
+    }
+}
@@ -0,0 +1,215 @@
+package br.edu.utfpr.bankapi.service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.model.Money;
+import br.edu.utfpr.bankapi.repository.AccountRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Saldo dividido em parcelas (shards) para as contas muito disputadas
+ * ({@code bankapi.hot-accounts.numbers}), como contas de liquidação que
+ * recebem muitos depósitos simultâneos.
+ *
+ * Os créditos dessas contas são feitos em uma das
+ * {@code bankapi.hot-accounts.shards} linhas de tb_account_shard, sorteada, e
+ * não na linha da conta: créditos simultâneos só disputam a mesma linha quando
+ * sorteiam a mesma parcela. O saldo da conta é o de tb_account somado às
+ * parcelas.
+ *
+ * Os débitos continuam no saldo de tb_account. Quando ele não é suficiente, as
+ * parcelas são incorporadas a ele ({@link #sweep(long)}) e o débito é tentado
+ * novamente. A incorporação também é feita periodicamente
+ * ({@code bankapi.hot-accounts.sweep-interval}), de modo que as parcelas
+ * acumulem pouco saldo.
+ *
+ * Os créditos nas parcelas são feitos pelo modo de atualização atômica
+ * ({@link BalanceUpdater}) e pelo {@link DepositGroupCommitter}. Toda leitura
+ * de saldo deve considerar as parcelas: os débitos dos demais modos, os lotes e
+ * o crédito de juros incorporam as parcelas antes de ler a conta
+ * ({@link #sweep(long)}, {@link #sweepAll()}), e as consultas somam o saldo
+ * ainda não incorporado ({@link #balance(Account)}).
+ *
+ * Os créditos nas parcelas não bloqueiam a linha da conta: os eventos de
+ * lançamento de uma conta com saldo dividido não seguem a ordem de confirmação
+ * garantida pelo {@link br.edu.utfpr.bankapi.outbox.OutboxWriter} para as
+ * demais contas.
+ */
+@Component
+public class HotAccountShards implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(HotAccountShards.class);
+
+    private static final String CREDIT = "UPDATE tb_account_shard SET balance_cents = balance_cents + ? WHERE account_id = ? AND shard = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Value("${bankapi.hot-accounts.numbers:}")
+    private List<Long> numbers = List.of();
+
+    @Value("${bankapi.hot-accounts.shards:8}")
+    private int shards = 8;
+
+    // Ids das contas com saldo dividido, indexados pelo número
+    private volatile Map<Long, Long> accounts = Map.of();
+
+    private Counter swept;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        swept = Counter.builder("bankapi.hot-accounts.sweeps")
+                .description("Incorporações das parcelas ao saldo das contas com saldo dividido")
+                .register(registry);
+    }
+
+    /**
+     * Cria as parcelas que ainda não existem para as contas configuradas
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+        var resolved = new HashMap<Long, Long>();
+        for (var number : numbers) {
+            var account = accountRepository.getByNumber(number);
+            if (account.isEmpty()) {
+                log.warn("Conta {} configurada com saldo dividido não existe", number);
+                continue;
+            }
+
+            var id = account.get().getId();
+            for (int shard = 0; shard < shards; shard++) {
+                try {
+                    jdbcTemplate.update("INSERT INTO tb_account_shard (account_id, shard, balance_cents) VALUES (?, ?, 0)",
+                            id, shard);
+                } catch (DuplicateKeyException ex) {
+                    // Parcela criada em uma execução anterior
+                }
+            }
+            resolved.put(number, id);
+        }
+
+        accounts = Map.copyOf(resolved);
+        if (!accounts.isEmpty())
+            log.info("Contas com saldo dividido em {} parcelas: {}", shards, accounts.keySet());
+    }
+
+    public boolean isHot(long number) {
+        return accounts.containsKey(number);
+    }
+
+    /**
+     * @return id da conta com saldo dividido (0 se a conta não tem o saldo
+     *         dividido)
+     */
+    public long accountId(long number) {
+        return accounts.getOrDefault(number, 0L);
+    }
+
+    /**
+     * Credita o valor em uma parcela sorteada da conta
+     *
+     * @return false se a conta não tem o saldo dividido; nesse caso nada é
+     *         alterado
+     */
+    public boolean credit(long number, long amount) {
+        var id = accounts.get(number);
+        if (id == null)
+            return false;
+
+        return jdbcTemplate.update(CREDIT, amount, id, ThreadLocalRandom.current().nextInt(shards)) == 1;
+    }
+
+    /**
+     * Incorpora as parcelas da conta ao saldo de tb_account, na transação
+     * corrente. A conta e as parcelas ficam bloqueadas até o fim da transação.
+     *
+     * A conta é bloqueada antes das parcelas, na mesma ordem do débito atômico
+     * (que altera a conta e então incorpora as parcelas), evitando deadlock
+     * entre os dois caminhos.
+     *
+     * @return valor incorporado (0 se a conta não tem o saldo dividido)
+     */
+    public long sweep(long number) {
+        var id = accounts.get(number);
+        if (id == null)
+            return 0;
+
+        jdbcTemplate.queryForList("SELECT id FROM tb_account WHERE id = ? FOR UPDATE", Long.class, id);
+        var total = jdbcTemplate.query(
+                "SELECT balance_cents FROM tb_account_shard WHERE account_id = ? ORDER BY shard FOR UPDATE",
+                rs -> {
+                    var sum = 0L;
+                    while (rs.next())
+                        sum += rs.getLong(1);
+                    return sum;
+                }, id);
+
+        if (total == 0)
+            return 0;
+
+        jdbcTemplate.update("UPDATE tb_account_shard SET balance_cents = 0 WHERE account_id = ?", id);
+        jdbcTemplate.update("UPDATE tb_account SET balance_cents = balance_cents + ?, version = version + 1 WHERE id = ?",
+                total, id);
+
+        if (swept != null)
+            swept.increment();
+        return total;
+    }
+
+    /**
+     * Saldo da conta somado ao das parcelas ainda não incorporadas
+     */
+    public long balance(Account account) {
+        if (!isHot(account.getNumber()))
+            return account.getBalance();
+
+        return Money.add(account.getBalance(), shardBalance(account.getNumber()));
+    }
+
+    /**
+     * Saldo das parcelas ainda não incorporado ao saldo de tb_account
+     */
+    public long shardBalance(long number) {
+        var id = accounts.get(number);
+        if (id == null)
+            return 0;
+
+        return jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(balance_cents), 0) FROM tb_account_shard WHERE account_id = ?", Long.class, id);
+    }
+
+    @Scheduled(fixedDelayString = "${bankapi.hot-accounts.sweep-interval:10s}")
+    public void sweepAll() {
+        for (var number : accounts.keySet()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> sweep(number));
+            } catch (RuntimeException ex) {
+                log.warn("Falha ao incorporar as parcelas da conta {}", number, ex);
+            }
+        }
+    }
+}
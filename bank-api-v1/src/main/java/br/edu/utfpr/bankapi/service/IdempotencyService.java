@@ -0,0 +1,111 @@
+package br.edu.utfpr.bankapi.service;
+
+import java.time.Duration;
+import java.util.Objects;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import br.edu.utfpr.bankapi.dto.TransactionResponseDTO;
+import br.edu.utfpr.bankapi.exception.IdempotencyConflictException;
+import br.edu.utfpr.bankapi.exception.NotFoundException;
+import br.edu.utfpr.bankapi.model.TransactionType;
+import br.edu.utfpr.bankapi.repository.TransactionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Deduplicação das requisições de transferência, depósito e saque pelo
+ * cabeçalho {@code Idempotency-Key}.
+ *
+ * As respostas recentes ficam em um cache local limitado por tamanho e tempo
+ * ({@code bankapi.idempotency.*}): uma repetição encontrada nele é respondida
+ * sem executar a operação nem consultar o banco. A garantia persistente é a
+ * chave única gravada na própria transação (tb_transaction.idempotency_key),
+ * no mesmo INSERT: uma chave nova não acrescenta nenhuma instrução. Se a chave
+ * já existir (repetição após a expiração do cache, em outra instância ou
+ * concorrente) o INSERT falha, a operação é desfeita e a transação original é
+ * devolvida.
+ *
+ * Com o livro-razão em memória a transação é gravada de forma assíncrona, sem a
+ * chave; a deduplicação fica limitada ao cache.
+ */
+@Service
+public class IdempotencyService implements MeterBinder {
+
+    public static final int MAX_KEY_LENGTH = 64;
+
+    /**
+     * Resposta da operação; {@code replayed} indica uma repetição
+     */
+    public record Result(TransactionResponseDTO response, boolean replayed) {
+    }
+
+    @FunctionalInterface
+    public interface Operation {
+        TransactionResponseDTO execute(String idempotencyKey) throws NotFoundException;
+    }
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    private final Cache<String, TransactionResponseDTO> cache;
+
+    public IdempotencyService(@Value("${bankapi.idempotency.maximum-size:100000}") long maximumSize,
+            @Value("${bankapi.idempotency.expire-after-write:24h}") Duration expireAfterWrite) {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Executa a operação uma única vez por chave. A requisição (tipo, contas e
+     * valor) é comparada com a resposta original em uma repetição.
+     *
+     * @throws IdempotencyConflictException se a chave já foi usada em uma
+     *                                      requisição diferente
+     */
+    public Result execute(String key, TransactionType type, Long sourceAccountNumber, Long receiverAccountNumber,
+            long amount, Operation operation) throws NotFoundException {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH)
+            throw new IllegalArgumentException("Idempotency-Key deve ter de 1 a " + MAX_KEY_LENGTH + " caracteres");
+
+        var cached = cache.getIfPresent(key);
+        if (cached != null)
+            return replay(key, cached, type, sourceAccountNumber, receiverAccountNumber, amount);
+
+        try {
+            var response = operation.execute(key);
+            cache.put(key, response);
+            return new Result(response, false);
+        } catch (DataIntegrityViolationException ex) {
+            // Chave já gravada: devolve a transação original
+            var stored = transactionRepository.findResponseByIdempotencyKey(key).orElseThrow(() -> ex);
+            cache.put(key, stored);
+            return replay(key, stored, type, sourceAccountNumber, receiverAccountNumber, amount);
+        }
+    }
+
+    private static Result replay(String key, TransactionResponseDTO response, TransactionType type,
+            Long sourceAccountNumber, Long receiverAccountNumber, long amount) {
+        if (response.type() != type || response.amount() != amount
+                || !Objects.equals(response.sourceAccountNumber(), sourceAccountNumber)
+                || !Objects.equals(response.receiverAccountNumber(), receiverAccountNumber))
+            throw new IdempotencyConflictException(key);
+
+        return new Result(response, true);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "idempotency");
+    }
+}
@@ -0,0 +1,276 @@
+package br.edu.utfpr.bankapi.service;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.edu.utfpr.bankapi.dto.InterestAccrualResultDTO;
+import br.edu.utfpr.bankapi.dto.TransactionResponseDTO;
+import br.edu.utfpr.bankapi.ledger.LedgerEngine;
+import br.edu.utfpr.bankapi.model.Money;
+import br.edu.utfpr.bankapi.model.Transaction;
+import br.edu.utfpr.bankapi.model.TransactionType;
+import br.edu.utfpr.bankapi.outbox.OutboxWriter;
+import br.edu.utfpr.bankapi.repository.AccountRepository;
+import br.edu.utfpr.bankapi.repository.TransactionRepository;
+
+/**
+ * Crédito de juros sobre os saldos positivos de todas as contas.
+ *
+ * As contas são divididas em blocos fixos de ids ({@code chunk-size}),
+ * processados em paralelo ({@code parallelism} threads), cada bloco em uma
+ * transação própria: os saldos são lidos em vetores primitivos, os juros
+ * calculados com o fator da taxa calculado uma única vez
+ * ({@link InterestCalculator#fator(float, int)}), os saldos incrementados com
+ * UPDATEs em lote JDBC e um depósito registrado para cada conta.
+ *
+ * Cada bloco grava um registro de controle (tb_interest_accrual_chunk) na mesma
+ * transação; ao executar novamente para a mesma data os blocos já registrados
+ * são ignorados, de modo que uma execução interrompida pode ser retomada sem
+ * creditar juros em dobro. O tamanho do bloco não deve ser alterado entre uma
+ * execução interrompida e a sua retomada.
+ *
+ * Os saldos são incrementados (não sobrescritos), então lançamentos
+ * concorrentes não são perdidos; os juros são calculados sobre o saldo lido
+ * pelo bloco. As parcelas das contas com saldo dividido
+ * ({@link HotAccountShards}) são incorporadas antes da leitura dos saldos.
+ */
+@Service
+public class InterestAccrualService {
+
+    private static final Logger log = LoggerFactory.getLogger(InterestAccrualService.class);
+
+    private static final String SELECT_BALANCES = "SELECT id, number, balance_cents FROM tb_account WHERE id >= ? AND id <= ? AND balance_cents > 0 ORDER BY id";
+
+    private static final String UPDATE_BALANCE = "UPDATE tb_account SET balance_cents = balance_cents + ?, version = version + 1 WHERE id = ?";
+
+    private static final String INSERT_CHUNK = "INSERT INTO tb_interest_accrual_chunk (accrual_date, first_id, last_id, accounts, interest_cents) VALUES (?, ?, ?, 0, 0)";
+
+    private static final String UPDATE_CHUNK = "UPDATE tb_interest_accrual_chunk SET accounts = ?, interest_cents = ? WHERE accrual_date = ? AND first_id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private OutboxWriter outboxWriter;
+
+    @Autowired
+    private HotAccountShards hotAccountShards;
+
+    // Presente apenas quando um perfil de livro-razão alternativo está ativo
+    @Autowired(required = false)
+    private LedgerEngine ledgerEngine;
+
+    // Taxa de juros (%) por período
+    @Value("${bankapi.interest.rate:0}")
+    private float rate;
+
+    // Períodos capitalizados a cada execução
+    @Value("${bankapi.interest.periods:1}")
+    private int periods = 1;
+
+    @Value("${bankapi.interest.chunk-size:1000}")
+    private int chunkSize = 1000;
+
+    @Value("${bankapi.interest.parallelism:4}")
+    private int parallelism = 4;
+
+    @Scheduled(cron = "${bankapi.interest.cron:-}")
+    public void scheduledAccrual() {
+        accrue(LocalDate.now());
+    }
+
+    /**
+     * Credita os juros da data informada em todas as contas, retomando a
+     * execução da data se ela tiver sido interrompida
+     */
+    public InterestAccrualResultDTO accrue(LocalDate date) {
+        // No livro-razão em memória os saldos não estão no banco
+        if (ledgerEngine != null)
+            throw new UnsupportedOperationException("Crédito de juros não suportado com o livro-razão em memória");
+
+        var start = System.nanoTime();
+        var fator = InterestCalculator.fator(rate, periods);
+
+        // Os juros incidem sobre o saldo completo das contas com saldo dividido
+        hotAccountShards.sweepAll();
+
+        var maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM tb_account", Long.class);
+        var done = new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT first_id FROM tb_interest_accrual_chunk WHERE accrual_date = ?", Long.class, Date.valueOf(date)));
+
+        var results = new ArrayList<Future<ChunkResult>>();
+        var skipped = 0;
+
+        try (var executor = Executors.newFixedThreadPool(parallelism)) {
+            for (long firstId = 0; firstId <= maxId; firstId += chunkSize) {
+                if (done.contains(firstId)) {
+                    skipped++;
+                    continue;
+                }
+
+                var first = firstId;
+                var last = firstId + chunkSize - 1;
+                results.add(executor.submit(() -> accrueChunk(date, first, last, fator)));
+            }
+        }
+
+        var chunks = 0;
+        var accounts = 0L;
+        var interest = 0L;
+        for (var future : results) {
+            var result = join(future);
+            if (result.skipped()) {
+                skipped++;
+                continue;
+            }
+
+            chunks++;
+            accounts += result.accounts();
+            interest = Money.add(interest, result.interest());
+        }
+
+        log.info("Juros de {}: {} contas, total {}, {} blocos processados e {} ignorados em {} ms", date, accounts,
+                Money.format(interest), chunks, skipped, (System.nanoTime() - start) / 1_000_000);
+
+        return new InterestAccrualResultDTO(date, chunks, skipped, accounts, interest);
+    }
+
+    private ChunkResult accrueChunk(LocalDate date, long firstId, long lastId, double fator) {
+        return transactionTemplate.execute(status -> {
+            // O registro de controle é gravado primeiro: outra execução do mesmo
+            // bloco espera pela chave e falha ao encontrá-la gravada
+            try {
+                jdbcTemplate.update(INSERT_CHUNK, Date.valueOf(date), firstId, lastId);
+            } catch (DuplicateKeyException ex) {
+                status.setRollbackOnly();
+                return ChunkResult.SKIPPED;
+            }
+
+            var chunk = new Chunk(chunkSize);
+            jdbcTemplate.query(SELECT_BALANCES, chunk::add, firstId, lastId);
+
+            InterestCalculator.calcularJuros(chunk.balances, chunk.size, fator, chunk.interest);
+            chunk.removeZeroInterest();
+
+            jdbcTemplate.batchUpdate(UPDATE_BALANCE, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    ps.setLong(1, chunk.interest[i]);
+                    ps.setLong(2, chunk.ids[i]);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return chunk.size;
+                }
+            });
+
+            // Depósitos dos juros, gravados em lote (hibernate.jdbc.batch_size)
+            var transactions = new ArrayList<Transaction>(chunk.size);
+            for (int i = 0; i < chunk.size; i++)
+                transactions.add(new Transaction(null, accountRepository.getReferenceById(chunk.ids[i]),
+                        chunk.interest[i], TransactionType.DEPOSIT));
+            transactionRepository.saveAll(transactions);
+
+            // Eventos dos depósitos, com os números lidos junto com os saldos
+            var postings = new ArrayList<TransactionResponseDTO>(chunk.size);
+            for (int i = 0; i < chunk.size; i++)
+                postings.add(TransactionResponseDTO.of(transactions.get(i), null, chunk.numbers[i]));
+            outboxWriter.append(postings);
+
+            var total = 0L;
+            for (int i = 0; i < chunk.size; i++)
+                total = Money.add(total, chunk.interest[i]);
+
+            jdbcTemplate.update(UPDATE_CHUNK, chunk.size, total, Date.valueOf(date), firstId);
+            return new ChunkResult(false, chunk.size, total);
+        });
+    }
+
+    private static ChunkResult join(Future<ChunkResult> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Crédito de juros interrompido", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause)
+                throw cause;
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+
+    private record ChunkResult(boolean skipped, int accounts, long interest) {
+        static final ChunkResult SKIPPED = new ChunkResult(true, 0, 0);
+    }
+
+    /**
+     * Contas de um bloco em vetores primitivos: ids, números, saldos e juros
+     */
+    private static final class Chunk {
+        final long[] ids;
+        final long[] numbers;
+        final long[] balances;
+        final long[] interest;
+        int size;
+
+        Chunk(int capacity) {
+            ids = new long[capacity];
+            numbers = new long[capacity];
+            balances = new long[capacity];
+            interest = new long[capacity];
+        }
+
+        void add(ResultSet rs) throws SQLException {
+            ids[size] = rs.getLong(1);
+            numbers[size] = rs.getLong(2);
+            balances[size] = rs.getLong(3);
+            size++;
+        }
+
+        /**
+         * Descarta as contas cujos juros arredondados são zero
+         */
+        void removeZeroInterest() {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                if (interest[i] == 0)
+                    continue;
+                ids[kept] = ids[i];
+                numbers[kept] = numbers[i];
+                balances[kept] = balances[i];
+                interest[kept] = interest[i];
+                kept++;
+            }
+            size = kept;
+        }
+    }
+}
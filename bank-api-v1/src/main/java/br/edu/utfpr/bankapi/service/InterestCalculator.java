@@ -1,7 +1,6 @@
 package br.edu.utfpr.bankapi.service;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
+import br.edu.utfpr.bankapi.model.Money;
 
 /**
  * Calculadora de juros
@@ -10,8 +9,33 @@ public class InterestCalculator {
 
     // Método para calcular juros compostos com base na taxa de juros mensal
     public static double calcularJuros(double valor, float taxa, int prazo) {
+        return Money.toDouble(calcularJuros(Money.ofDouble(valor), taxa, prazo));
+    }
+
+    /**
+     * Juros compostos sobre um valor em centavos, arredondados para o centavo
+     * (meio para o par)
+     */
+    public static long calcularJuros(long valorCentavos, float taxa, int prazo) {
+        return (long) Math.rint(valorCentavos * fator(taxa, prazo));
+    }
+
+    /**
+     * Fator de juros compostos da taxa e do prazo: juros = valor * fator.
+     * Calculado uma vez para aplicar a mesma taxa a muitos valores.
+     */
+    public static double fator(float taxa, int prazo) {
         float taxaDecimal = taxa / 100; // Convertendo a taxa para decimal
-        double juros = valor * Math.pow(1+taxaDecimal, prazo) - valor;
-        return new BigDecimal(juros).setScale(2, RoundingMode.HALF_EVEN).doubleValue();
+        return Math.pow(1 + taxaDecimal, prazo) - 1;
+    }
+
+    /**
+     * Juros em centavos dos {@code quantidade} primeiros valores, com o fator
+     * já calculado. Mesmo arredondamento de
+     * {@link #calcularJuros(long, float, int)}, sem alocação.
+     */
+    public static void calcularJuros(long[] valoresCentavos, int quantidade, double fator, long[] juros) {
+        for (int i = 0; i < quantidade; i++)
+            juros[i] = (long) Math.rint(valoresCentavos[i] * fator);
     }
 }
@@ -0,0 +1,24 @@
+package br.edu.utfpr.bankapi.service;
+
+/**
+ * Estratégia de controle de concorrência na alteração de saldos
+ * (propriedade {@code bankapi.transaction.locking})
+ */
+public enum LockingMode {
+    /**
+     * Lê, altera e grava a conta sem bloqueio explícito
+     */
+    NONE,
+    /**
+     * Bloqueia as contas com SELECT ... FOR UPDATE, em ordem de número da conta
+     */
+    PESSIMISTIC,
+    /**
+     * Grava o saldo condicionado à versão lida, repetindo em caso de conflito
+     */
+    OPTIMISTIC,
+    /**
+     * Confere o saldo e altera a conta em uma única instrução UPDATE
+     */
+    ATOMIC;
+}
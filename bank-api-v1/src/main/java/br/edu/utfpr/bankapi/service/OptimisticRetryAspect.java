@@ -0,0 +1,54 @@
+package br.edu.utfpr.bankapi.service;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import br.edu.utfpr.bankapi.exception.ConcurrentUpdateException;
+
+/**
+ * Repetição das operações do {@link TransactionService} recusadas por conflito
+ * de versão ({@link LockingMode#OPTIMISTIC}), até
+ * {@code bankapi.transaction.optimistic-attempts} tentativas.
+ *
+ * Executa antes da transação (logo após as métricas): cada tentativa é uma
+ * nova chamada ao serviço, em uma nova transação, e relê a conta com um novo
+ * contexto de persistência e um novo snapshot (no MariaDB, em REPEATABLE READ,
+ * a releitura na mesma transação veria sempre a versão em conflito). Quando o
+ * chamador já iniciou uma transação o conflito é propagado sem repetição.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class OptimisticRetryAspect {
+
+    private static final Logger log = LoggerFactory.getLogger(OptimisticRetryAspect.class);
+
+    @Value("${bankapi.transaction.optimistic-attempts:5}")
+    private int optimisticAttempts = 5;
+
+    @Around("execution(public * br.edu.utfpr.bankapi.service.TransactionService.*(..))")
+    public Object retry(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive())
+            return joinPoint.proceed();
+
+        for (int attempt = 1;; attempt++) {
+            try {
+                return joinPoint.proceed();
+            } catch (ConcurrentUpdateException ex) {
+                if (attempt >= optimisticAttempts)
+                    throw ex;
+
+                log.debug("Conflito na tentativa {} de {}: {}", attempt, joinPoint.getSignature().getName(),
+                        ex.getMessage());
+            }
+        }
+    }
+}
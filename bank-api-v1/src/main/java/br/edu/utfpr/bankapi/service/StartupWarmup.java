@@ -0,0 +1,206 @@
+package br.edu.utfpr.bankapi.service;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.edu.utfpr.bankapi.dto.DepositDTO;
+import br.edu.utfpr.bankapi.dto.TransferDTO;
+import br.edu.utfpr.bankapi.dto.WithdrawDTO;
+import br.edu.utfpr.bankapi.exception.NotFoundException;
+import br.edu.utfpr.bankapi.ledger.LedgerEngine;
+import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.repository.AccountRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Aquecimento da aplicação na inicialização, ativado por
+ * {@code bankapi.warmup.enabled} (desativado por padrão).
+ *
+ * Roda como {@link ApplicationRunner}: o Spring Boot só passa a readiness para
+ * ACCEPTING_TRAFFIC (/actuator/health/readiness) depois que os runners
+ * terminam, então a instância só recebe tráfego depois de aquecida. Uma falha
+ * no aquecimento é registrada e não impede a inicialização.
+ *
+ * Fases, com a duração em {@code bankapi.startup.phase} (tag phase):
+ * <ul>
+ * <li>accounts: carrega no {@link AccountCache} e, nos perfis de livro-razão
+ * em memória, no {@link LedgerEngine} apenas as contas movimentadas nas
+ * últimas {@code recent-transactions} transações, até {@code hot-accounts}
+ * contas (no máximo o tamanho do cache);</li>
+ * <li>services: executa {@code iterations} vezes a consulta de uma conta e,
+ * em uma transação desfeita ao final, depósito, saque e transferência de 1
+ * centavo entre duas contas sintéticas criadas na própria transação (números
+ * negativos sorteados), inicializando o Hibernate e dando ao JIT os caminhos
+ * do {@link TransactionService}. As contas sintéticas nunca ficam visíveis a
+ * outras transações, e nenhuma conta real é bloqueada. Com um livro-razão
+ * alternativo ativo só a consulta é executada, já que os saldos em memória não
+ * seriam desfeitos.</li>
+ * </ul>
+ * Os lançamentos de aquecimento entram nas métricas de lançamentos.
+ */
+@Component
+@ConditionalOnProperty(name = "bankapi.warmup.enabled", havingValue = "true")
+public class StartupWarmup implements ApplicationRunner, MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupWarmup.class);
+
+    private static final String SELECT_HOT = "SELECT id, name, number, balance_cents, special_limit_cents "
+            + "FROM tb_account WHERE id IN ("
+            + "SELECT source_account_id FROM tb_transaction WHERE id > ? AND source_account_id IS NOT NULL "
+            + "UNION SELECT receiver_account_id FROM tb_transaction WHERE id > ? AND receiver_account_id IS NOT NULL) "
+            + "LIMIT ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountCache accountCache;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    // Presente apenas quando um perfil de livro-razão alternativo está ativo
+    @Autowired(required = false)
+    private LedgerEngine ledgerEngine;
+
+    @Value("${bankapi.warmup.recent-transactions:100000}")
+    private long recentTransactions = 100000;
+
+    @Value("${bankapi.warmup.hot-accounts:10000}")
+    private int hotAccounts = 10000;
+
+    @Value("${bankapi.warmup.iterations:200}")
+    private int iterations = 200;
+
+    private MeterRegistry registry;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        var start = System.nanoTime();
+
+        var accounts = phase("accounts", this::loadAccounts);
+        var operations = phase("services", this::exercise);
+
+        var nanos = System.nanoTime() - start;
+        record("total", nanos);
+        log.info("Aquecimento concluído em {} ms: {} contas carregadas, {} operações executadas",
+                TimeUnit.NANOSECONDS.toMillis(nanos), accounts, operations);
+    }
+
+    /**
+     * @return contas carregadas
+     */
+    private long loadAccounts() {
+        var maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM tb_transaction", Long.class);
+        var after = Math.max(0, maxId - recentTransactions);
+        var limit = (int) Math.min(hotAccounts, accountCache.maximumSize());
+
+        var accounts = jdbcTemplate.query(SELECT_HOT,
+                (rs, row) -> new Account(rs.getLong(1), rs.getString(2), rs.getLong(3), rs.getLong(4), rs.getLong(5)),
+                after, after, limit);
+
+        for (var account : accounts) {
+            accountCache.put(account);
+            if (ledgerEngine != null)
+                ledgerEngine.preload(account);
+        }
+        return accounts.size();
+    }
+
+    /**
+     * @return operações executadas
+     */
+    private long exercise() {
+        var samples = accountRepository.findByIdGreaterThanOrderByIdAsc(0, PageRequest.ofSize(1));
+
+        var operations = 0L;
+        for (int i = 0; i < iterations; i++) {
+            if (!samples.isEmpty()) {
+                accountService.getByNumber(samples.get(0).getNumber());
+                operations++;
+            }
+
+            if (ledgerEngine != null)
+                continue;
+
+            var source = -1 - ThreadLocalRandom.current().nextLong(Long.MAX_VALUE / 2);
+            var receiver = source - 1;
+            var completed = new long[1];
+            transactionTemplate.executeWithoutResult(status -> {
+                // Nada do que for lançado aqui é gravado
+                status.setRollbackOnly();
+                try {
+                    // Gravadas antes dos lançamentos: a atualização atômica
+                    // (JDBC) não passa pelo contexto de persistência
+                    accountRepository.saveAndFlush(new Account("Aquecimento", source, 0, 0));
+                    accountRepository.saveAndFlush(new Account("Aquecimento", receiver, 0, 0));
+
+                    transactionService.deposit(new DepositDTO(source, 2));
+                    completed[0]++;
+                    transactionService.withdraw(new WithdrawDTO(source, 1));
+                    completed[0]++;
+                    transactionService.transfer(new TransferDTO(source, receiver, 1));
+                    completed[0]++;
+                } catch (NotFoundException | RuntimeException ex) {
+                    // Ex.: número sorteado já em uso; conta apenas o que foi exercitado
+                    log.warn("Operação de aquecimento recusada", ex);
+                }
+            });
+            // As contas desfeitas não podem continuar no cache
+            accountCache.invalidate(source);
+            accountCache.invalidate(receiver);
+            operations += completed[0];
+        }
+        return operations;
+    }
+
+    private long phase(String name, Supplier<Long> phase) {
+        var start = System.nanoTime();
+        try {
+            return phase.get();
+        } catch (RuntimeException ex) {
+            log.warn("Falha no aquecimento ({}), seguindo com a inicialização", name, ex);
+            return 0;
+        } finally {
+            record(name, System.nanoTime() - start);
+        }
+    }
+
+    private void record(String phase, long nanos) {
+        if (registry != null)
+            Timer.builder("bankapi.startup.phase")
+                    .description("Duração das fases do aquecimento na inicialização")
+                    .tag("phase", phase)
+                    .register(registry)
+                    .record(nanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,88 @@
+package br.edu.utfpr.bankapi.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import br.edu.utfpr.bankapi.dto.PageDTO;
+import br.edu.utfpr.bankapi.dto.StatementEntryDTO;
+import br.edu.utfpr.bankapi.exception.NotFoundException;
+import br.edu.utfpr.bankapi.repository.TransactionRepository;
+import br.edu.utfpr.bankapi.validations.AvailableAccountValidation;
+
+/**
+ * Extrato de uma conta, do lançamento mais recente ao mais antigo.
+ *
+ * Débitos e créditos são buscados em consultas separadas, cada uma sobre o seu
+ * índice (conta, data, id), e intercalados em memória. A paginação é por
+ * cursor (data, id) do último lançamento da página.
+ */
+@Service
+public class StatementService {
+
+    public static final int MAX_PAGE_SIZE = 500;
+
+    private static final LocalDateTime MIN_DATE = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime MAX_DATE = LocalDateTime.of(9999, 12, 31, 23, 59);
+
+    private static final Comparator<StatementEntryDTO> NEWEST_FIRST = Comparator
+            .comparing(StatementEntryDTO::dateTime)
+            .thenComparingLong(StatementEntryDTO::transactionId)
+            .reversed();
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private AvailableAccountValidation availableAccountValidation;
+
+    /**
+     * @param number número da conta
+     * @param from   início do período (inclusivo), ou null
+     * @param to     fim do período (exclusivo), ou null
+     * @param cursor cursor retornado na página anterior, ou null na primeira
+     * @param size   quantidade de lançamentos na página (até
+     *               {@link #MAX_PAGE_SIZE})
+     * @throws NotFoundException se a conta não existir
+     */
+    public PageDTO<StatementEntryDTO> getStatement(long number, LocalDateTime from, LocalDateTime to, String cursor,
+            int size) throws NotFoundException {
+        if (size < 1 || size > MAX_PAGE_SIZE)
+            throw new IllegalArgumentException("Tamanho da página deve estar entre 1 e " + MAX_PAGE_SIZE);
+
+        // Só o id é necessário: a conta é validada pelo cache, sem carregar o saldo
+        var account = availableAccountValidation.resolve(number);
+
+        var beforeDate = to != null ? to : MAX_DATE;
+        // Sem cursor o fim do período é exclusivo: nenhum id é menor que MIN_VALUE
+        var beforeId = Long.MIN_VALUE;
+        if (cursor != null) {
+            var keys = Cursors.decode(cursor, 2);
+            beforeDate = LocalDateTime.parse(keys[0]);
+            beforeId = Long.parseLong(keys[1]);
+        }
+        var after = from != null ? from : MIN_DATE;
+
+        // Um item a mais em cada consulta indica se existe próxima página
+        var limit = PageRequest.ofSize(size + 1);
+        var debits = transactionRepository.findDebits(account.id(), after, beforeDate, beforeId, limit);
+        var credits = transactionRepository.findCredits(account.id(), after, beforeDate, beforeId, limit);
+
+        List<StatementEntryDTO> entries = new ArrayList<>(debits.size() + credits.size());
+        entries.addAll(debits);
+        entries.addAll(credits);
+        entries.sort(NEWEST_FIRST);
+
+        if (entries.size() <= size)
+            return new PageDTO<>(entries, null);
+
+        entries = entries.subList(0, size);
+        var last = entries.get(size - 1);
+        return new PageDTO<>(List.copyOf(entries), Cursors.encode(last.dateTime(), last.transactionId()));
+    }
+}
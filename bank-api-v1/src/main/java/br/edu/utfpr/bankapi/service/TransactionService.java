@@ -1,15 +1,24 @@
 package br.edu.utfpr.bankapi.service;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import br.edu.utfpr.bankapi.dto.DepositDTO;
+import br.edu.utfpr.bankapi.dto.TransactionResponseDTO;
 import br.edu.utfpr.bankapi.dto.TransferDTO;
 import br.edu.utfpr.bankapi.dto.WithdrawDTO;
+import br.edu.utfpr.bankapi.exception.ConcurrentUpdateException;
 import br.edu.utfpr.bankapi.exception.NotFoundException;
+import br.edu.utfpr.bankapi.ledger.LedgerEngine;
+import br.edu.utfpr.bankapi.model.Account;
 import br.edu.utfpr.bankapi.model.Transaction;
 import br.edu.utfpr.bankapi.model.TransactionType;
+import br.edu.utfpr.bankapi.outbox.OutboxWriter;
+import br.edu.utfpr.bankapi.repository.AccountRepository;
 import br.edu.utfpr.bankapi.repository.TransactionRepository;
 import br.edu.utfpr.bankapi.validations.AvailableAccountValidation;
 import br.edu.utfpr.bankapi.validations.AvailableBalanceValidation;
@@ -17,30 +26,102 @@ import jakarta.transaction.Transactional;
 
 @Service
 public class TransactionService {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionService.class);
+
     @Autowired
     private TransactionRepository transactionRepository;
 
+    @Autowired
+    private AccountRepository accountRepository;
+
     @Autowired
     private AvailableBalanceValidation availableBalanceValidation;
 
     @Autowired
     private AvailableAccountValidation availableAccountValidation;
 
-    @Transactional
-    public Transaction transfer(TransferDTO dto) throws NotFoundException {
+    @Autowired
+    private BalanceUpdater balanceUpdater;
+
+    @Autowired
+    private OutboxWriter outboxWriter;
+
+    @Autowired
+    private HotAccountShards hotAccountShards;
+
+    // Presente apenas quando um perfil de livro-razão alternativo está ativo
+    @Autowired(required = false)
+    private LedgerEngine ledgerEngine;
+
+    @Value("${bankapi.transaction.locking:PESSIMISTIC}")
+    private LockingMode lockingMode = LockingMode.PESSIMISTIC;
+
+    @Transactional(rollbackOn = NotFoundException.class)
+    public TransactionResponseDTO transfer(TransferDTO dto) throws NotFoundException {
+        return transfer(dto, null);
+    }
+
+    /**
+     * Transferência registrada com a chave de idempotência informada, gravada na
+     * transação (única entre as transações)
+     */
+    @Transactional(rollbackOn = NotFoundException.class)
+    public TransactionResponseDTO transfer(TransferDTO dto, String idempotencyKey) throws NotFoundException {
+        if (ledgerEngine != null)
+            return TransactionResponseDTO.of(ledgerEngine.transfer(dto, idempotencyKey));
+
         var transaction = new Transaction();
         transaction.setType(TransactionType.TRANSFER);
+        transaction.setIdempotencyKey(idempotencyKey);
         BeanUtils.copyProperties(dto, transaction);
 
-        // Valida e obtém a Conta de ORIGEM da transferência
-        var source = availableAccountValidation.validate(dto.sourceAccountNumber());
-        // Valida e obtém Conta de DESTINO da transferência
-        var receiver = availableAccountValidation.validate(dto.receiverAccountNumber());
+        if (lockingMode == LockingMode.ATOMIC) {
+            // Confere o saldo e debita a origem em uma única instrução; os UPDATEs
+            // são a única validação das contas, que não são lidas: a transação
+            // referencia apenas os ids. Cada UPDATE bloqueia a conta até o fim
+            // da transação: as contas são alteradas em ordem de número, como no
+            // bloqueio pessimista, para evitar deadlock entre transferências
+            // opostas (o débito recusado desfaz o crédito já feito)
+            if (dto.sourceAccountNumber() <= dto.receiverAccountNumber()) {
+                transaction.setSourceAccount(balanceUpdater.debit(dto.sourceAccountNumber(), dto.amount()));
+                transaction.setReceiverAccount(balanceUpdater.credit(dto.receiverAccountNumber(), dto.amount()));
+            } else {
+                transaction.setReceiverAccount(balanceUpdater.credit(dto.receiverAccountNumber(), dto.amount()));
+                transaction.setSourceAccount(balanceUpdater.debit(dto.sourceAccountNumber(), dto.amount()));
+            }
+            return post(transaction, dto.sourceAccountNumber(), dto.receiverAccountNumber());
+        }
 
-        // Seta a conta de origem da transferência
-        transaction.setSourceAccount(source);
-        // Seta a conta de destino da transferência
-        transaction.setReceiverAccount(receiver);
+        // Conta com saldo dividido: incorpora as parcelas antes de ler o saldo da origem
+        hotAccountShards.sweep(dto.sourceAccountNumber());
+
+        if (lockingMode == LockingMode.OPTIMISTIC) {
+            // Debita a origem e credita o destino, cada um condicionado à versão lida
+            debitOptimistic(dto.sourceAccountNumber(), transaction);
+            transaction.setReceiverAccount(creditOptimistic(dto.receiverAccountNumber(), dto.amount()));
+
+            return post(transaction);
+        }
+
+        if (lockingMode == LockingMode.PESSIMISTIC) {
+            // Valida e bloqueia as duas contas em uma única consulta
+            var accounts = availableAccountValidation.validateForUpdate(dto.sourceAccountNumber(),
+                    dto.receiverAccountNumber());
+
+            transaction.setSourceAccount(accounts.get(dto.sourceAccountNumber()));
+            transaction.setReceiverAccount(accounts.get(dto.receiverAccountNumber()));
+        } else {
+            // Valida e obtém a Conta de ORIGEM da transferência
+            var source = availableAccountValidation.validate(dto.sourceAccountNumber());
+            // Valida e obtém Conta de DESTINO da transferência
+            var receiver = availableAccountValidation.validate(dto.receiverAccountNumber());
+
+            // Seta a conta de origem da transferência
+            transaction.setSourceAccount(source);
+            // Seta a conta de destino da transferência
+            transaction.setReceiverAccount(receiver);
+        }
 
         // Verifica se a conta de origem possui saldo
         availableBalanceValidation.validate(transaction);
@@ -53,10 +134,10 @@ public class TransactionService {
         transaction.getReceiverAccount()
                 .setBalance(transaction.getReceiverAccount().getBalance() + transaction.getAmount());
 
-        System.out.println(transaction);
+        log.debug("Transferência: {}", transaction);
 
         // Salvando a transação
-        return transactionRepository.save(transaction);
+        return post(transaction);
     }
 
     /**
@@ -66,26 +147,52 @@ public class TransactionService {
      * 
      * @throws Exception
      */
-    @Transactional
-    public Transaction deposit(DepositDTO dto) throws NotFoundException {
+    @Transactional(rollbackOn = NotFoundException.class)
+    public TransactionResponseDTO deposit(DepositDTO dto) throws NotFoundException {
+        return deposit(dto, null);
+    }
+
+    /**
+     * Depósito registrado com a chave de idempotência informada, gravada na
+     * transação (única entre as transações)
+     */
+    @Transactional(rollbackOn = NotFoundException.class)
+    public TransactionResponseDTO deposit(DepositDTO dto, String idempotencyKey) throws NotFoundException {
+        if (ledgerEngine != null)
+            return TransactionResponseDTO.of(ledgerEngine.deposit(dto, idempotencyKey));
+
         var transaction = new Transaction();
         transaction.setType(TransactionType.DEPOSIT);
+        transaction.setIdempotencyKey(idempotencyKey);
         BeanUtils.copyProperties(dto, transaction);
 
+        if (lockingMode == LockingMode.ATOMIC) {
+            transaction.setReceiverAccount(balanceUpdater.credit(dto.receiverAccountNumber(), dto.amount()));
+            return post(transaction, null, dto.receiverAccountNumber());
+        }
+
+        if (lockingMode == LockingMode.OPTIMISTIC) {
+            transaction.setReceiverAccount(creditOptimistic(dto.receiverAccountNumber(), dto.amount()));
+            return post(transaction);
+        }
+
         // Valida e obtém Conta de DESTINO do depósito
-        var receiver = availableAccountValidation.validate(dto.receiverAccountNumber());
+        var receiver = lockingMode == LockingMode.PESSIMISTIC
+                ? availableAccountValidation.validateForUpdate(dto.receiverAccountNumber())
+                        .get(dto.receiverAccountNumber())
+                : availableAccountValidation.validate(dto.receiverAccountNumber());
 
         // Seta a conta de destino do depósito
         transaction.setReceiverAccount(receiver);
 
-        System.out.println(transaction);
+        log.debug("Depósito: {}", transaction);
 
         // Creditando o valor do depósito na conta de destino
         transaction.getReceiverAccount()
                 .setBalance(transaction.getReceiverAccount().getBalance() + transaction.getAmount());
 
         // Salvando a transação
-        return transactionRepository.save(transaction);
+        return post(transaction);
     }
 
     /**
@@ -95,14 +202,44 @@ public class TransactionService {
      * 
      * @throws Exception
      */
-    @Transactional
-    public Transaction withdraw(WithdrawDTO dto) throws NotFoundException {
+    @Transactional(rollbackOn = NotFoundException.class)
+    public TransactionResponseDTO withdraw(WithdrawDTO dto) throws NotFoundException {
+        return withdraw(dto, null);
+    }
+
+    /**
+     * Saque registrado com a chave de idempotência informada, gravada na
+     * transação (única entre as transações)
+     */
+    @Transactional(rollbackOn = NotFoundException.class)
+    public TransactionResponseDTO withdraw(WithdrawDTO dto, String idempotencyKey) throws NotFoundException {
+        if (ledgerEngine != null)
+            return TransactionResponseDTO.of(ledgerEngine.withdraw(dto, idempotencyKey));
+
         var transaction = new Transaction();
         transaction.setType(TransactionType.WITHDRAW);
+        transaction.setIdempotencyKey(idempotencyKey);
         BeanUtils.copyProperties(dto, transaction);
 
+        if (lockingMode == LockingMode.ATOMIC) {
+            // Confere o saldo e debita a origem em uma única instrução
+            transaction.setSourceAccount(balanceUpdater.debit(dto.sourceAccountNumber(), dto.amount()));
+            return post(transaction, dto.sourceAccountNumber(), null);
+        }
+
+        // Conta com saldo dividido: incorpora as parcelas antes de ler o saldo da origem
+        hotAccountShards.sweep(dto.sourceAccountNumber());
+
+        if (lockingMode == LockingMode.OPTIMISTIC) {
+            debitOptimistic(dto.sourceAccountNumber(), transaction);
+            return post(transaction);
+        }
+
         // Valida e obtém a Conta de ORIGEM do Saque
-        var source = availableAccountValidation.validate(dto.sourceAccountNumber());
+        var source = lockingMode == LockingMode.PESSIMISTIC
+                ? availableAccountValidation.validateForUpdate(dto.sourceAccountNumber())
+                        .get(dto.sourceAccountNumber())
+                : availableAccountValidation.validate(dto.sourceAccountNumber());
 
         // Setando a conta de origem do saque
         transaction.setSourceAccount(source);
@@ -110,13 +247,70 @@ public class TransactionService {
         // Verifica se a conta de origem possui saldo
         availableBalanceValidation.validate(transaction);
 
-        System.out.println(transaction);
+        log.debug("Saque: {}", transaction);
 
         // Debitando o valor da conta de origem do saque
         transaction.getSourceAccount()
                 .setBalance(transaction.getSourceAccount().getBalance() - transaction.getAmount());
 
         // Salvando a transação
-        return transactionRepository.save(transaction);
+        return post(transaction);
+    }
+
+    /**
+     * Grava a transação e o seu evento na tabela de saída, na mesma transação
+     */
+    private TransactionResponseDTO post(Transaction transaction) {
+        transactionRepository.save(transaction);
+        var response = TransactionResponseDTO.of(transaction);
+        outboxWriter.append(response);
+        return response;
+    }
+
+    /**
+     * Grava a transação e o seu evento com os números de conta informados, sem
+     * acessar as contas da transação
+     */
+    private TransactionResponseDTO post(Transaction transaction, Long sourceAccountNumber,
+            Long receiverAccountNumber) {
+        transactionRepository.save(transaction);
+        var response = TransactionResponseDTO.of(transaction, sourceAccountNumber, receiverAccountNumber);
+        outboxWriter.append(response);
+        return response;
+    }
+
+    /**
+     * Debita a conta de origem da transação gravando o saldo condicionado à
+     * versão lida. Em caso de conflito a operação é desfeita e repetida em uma
+     * nova transação pelo {@link OptimisticRetryAspect}.
+     */
+    private void debitOptimistic(long number, Transaction transaction) throws NotFoundException {
+        var source = availableAccountValidation.validate(number);
+        transaction.setSourceAccount(source);
+
+        // Verifica se a conta de origem possui saldo
+        availableBalanceValidation.validate(transaction);
+
+        var balance = source.getBalance() - transaction.getAmount();
+        if (accountRepository.updateBalance(source.getId(), source.getVersion(), balance) != 1)
+            throw new ConcurrentUpdateException(number);
+
+        source.setBalance(balance);
+        source.setVersion(source.getVersion() + 1);
+    }
+
+    /**
+     * Credita a conta gravando o saldo condicionado à versão lida
+     */
+    private Account creditOptimistic(long number, long amount) throws NotFoundException {
+        var receiver = availableAccountValidation.validate(number);
+
+        var balance = receiver.getBalance() + amount;
+        if (accountRepository.updateBalance(receiver.getId(), receiver.getVersion(), balance) != 1)
+            throw new ConcurrentUpdateException(number);
+
+        receiver.setBalance(balance);
+        receiver.setVersion(receiver.getVersion() + 1);
+        return receiver;
     }
 }
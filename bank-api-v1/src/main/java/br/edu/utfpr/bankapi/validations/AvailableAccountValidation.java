@@ -1,11 +1,19 @@
 package br.edu.utfpr.bankapi.validations;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import br.edu.utfpr.bankapi.exception.NotFoundException;
 import br.edu.utfpr.bankapi.model.Account;
 import br.edu.utfpr.bankapi.repository.AccountRepository;
+import br.edu.utfpr.bankapi.service.AccountCache;
+import br.edu.utfpr.bankapi.service.AccountNumberFilter;
 
 /**
  * Validar se existe uma conta cadastrada
@@ -16,8 +24,45 @@ public class AvailableAccountValidation {
     @Autowired
     private AccountRepository accountRepository;
 
+    @Autowired
+    private AccountCache accountCache;
+
+    @Autowired
+    private AccountNumberFilter accountNumberFilter;
+
+    /**
+     * Valida e carrega a conta, com o saldo. A existência é conferida pelo
+     * cache de contas ({@link #resolve(long)}) e a conta é obtida pelo id no
+     * contexto de persistência: se já foi carregada na transação (inclusive
+     * pela própria carga do cache) nenhuma consulta é feita; caso contrário
+     * uma única consulta pela chave primária.
+     * 
+     * @throws NotFoundException se a conta não existir
+     */
     public Account validate(long number) throws NotFoundException {
-        var account = accountRepository.getByNumber(number); // Busca uma conta
+        var account = accountRepository.findById(resolve(number).id());
+
+        // Cache desatualizado: conta removida ou com o número alterado em outra instância
+        if (account.isEmpty() || account.get().getNumber() != number) {
+            accountCache.invalidate(number);
+            account = accountRepository.getByNumber(number);
+        }
+
+        if (account.isEmpty())
+            throw new NotFoundException("Conta " + number + " inexistente");
+
+        return account.get();
+    }
+
+    /**
+     * Valida a conta pelo cache de contas, sem acessar o banco quando a conta
+     * já estiver em cache. Não inclui o saldo.
+     * 
+     * @throws NotFoundException se a conta não existir
+     */
+    public AccountCache.CachedAccount resolve(long number) throws NotFoundException {
+        var account = accountNumberFilter.isAbsent(number) ? Optional.<AccountCache.CachedAccount>empty()
+                : accountCache.get(number);
 
         if (account.isEmpty())
             throw new NotFoundException("Conta " + number + " inexistente");
@@ -25,4 +70,36 @@ public class AvailableAccountValidation {
         return account.get();
     }
 
-}
\ No newline at end of file
+    /**
+     * Valida a conta e retorna uma referência a ela (proxy), sem carregar o
+     * registro. Usado ao gravar transações cujas contas não precisam ser
+     * lidas.
+     * 
+     * @throws NotFoundException se a conta não existir
+     */
+    public Account reference(long number) throws NotFoundException {
+        return accountRepository.getReferenceById(resolve(number).id());
+    }
+
+    /**
+     * Valida e bloqueia (SELECT ... FOR UPDATE) as contas informadas em uma
+     * única consulta. Deve ser chamado dentro de uma transação.
+     * 
+     * @return contas indexadas pelo número
+     * @throws NotFoundException se alguma das contas não existir
+     */
+    public Map<Long, Account> validateForUpdate(long... numbers) throws NotFoundException {
+        var distinct = LongStream.of(numbers).boxed().collect(Collectors.toSet());
+
+        var accounts = new HashMap<Long, Account>();
+        for (var account : accountRepository.findByNumberInForUpdate(distinct))
+            accounts.put(account.getNumber(), account);
+
+        for (var number : numbers)
+            if (!accounts.containsKey(number))
+                throw new NotFoundException("Conta " + number + " inexistente");
+
+        return accounts;
+    }
+
+}
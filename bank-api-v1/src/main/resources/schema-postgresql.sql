@@ -0,0 +1,105 @@
+-- Migrações do esquema (PostgreSQL). Executado a cada inicialização: os comandos devem ser idempotentes.
+
+-- Controle de concorrência otimista das contas
+ALTER TABLE tb_account ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+-- Sequências dos ids (pooled-lo): cada valor reserva um bloco de INCREMENT BY ids.
+-- O setval nunca retrocede a sequência e a posiciona após o maior id já gravado.
+CREATE SEQUENCE IF NOT EXISTS tb_account_seq INCREMENT BY 50;
+SELECT setval('tb_account_seq', GREATEST((SELECT last_value FROM tb_account_seq), (SELECT COALESCE(MAX(id), 0) + 1 FROM tb_account)));
+
+CREATE SEQUENCE IF NOT EXISTS tb_transaction_seq INCREMENT BY 50;
+SELECT setval('tb_transaction_seq', GREATEST((SELECT last_value FROM tb_transaction_seq), (SELECT COALESCE(MAX(id), 0) + 1 FROM tb_transaction)));
+
+-- Extrato: lançamentos de uma conta por data (paginação keyset)
+CREATE INDEX IF NOT EXISTS idx_transaction_source_date ON tb_transaction (source_account_id, date_time, id);
+CREATE INDEX IF NOT EXISTS idx_transaction_receiver_date ON tb_transaction (receiver_account_id, date_time, id);
+
+-- Valores monetários em centavos (BIGINT). A conversão das colunas antigas em ponto flutuante só roda
+-- enquanto elas existirem: nas inicializações seguintes nenhuma coluna é recriada ou removida (no
+-- PostgreSQL cada coluna removida continua contando para o limite de 1600 colunas da tabela).
+-- Corpo do DO entre aspas simples: o separador de comandos do Spring não reconhece $$.
+ALTER TABLE tb_account ADD COLUMN IF NOT EXISTS balance_cents BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE tb_account ADD COLUMN IF NOT EXISTS special_limit_cents BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE tb_transaction ADD COLUMN IF NOT EXISTS amount_cents BIGINT NOT NULL DEFAULT 0;
+DO '
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+            WHERE table_schema = current_schema() AND table_name = ''tb_account'' AND column_name = ''balance'') THEN
+        UPDATE tb_account SET balance_cents = ROUND(balance * 100), special_limit_cents = ROUND(special_limit * 100)
+            WHERE balance IS NOT NULL;
+        ALTER TABLE tb_account DROP COLUMN balance, DROP COLUMN special_limit;
+    END IF;
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+            WHERE table_schema = current_schema() AND table_name = ''tb_transaction'' AND column_name = ''amount'') THEN
+        UPDATE tb_transaction SET amount_cents = ROUND(amount * 100) WHERE amount IS NOT NULL;
+        ALTER TABLE tb_transaction DROP COLUMN amount;
+    END IF;
+END';
+
+-- Crédito de juros: blocos de contas já processados em cada data (retomada da execução)
+CREATE TABLE IF NOT EXISTS tb_interest_accrual_chunk (
+    accrual_date DATE NOT NULL,
+    first_id BIGINT NOT NULL,
+    last_id BIGINT NOT NULL,
+    accounts INTEGER NOT NULL,
+    interest_cents BIGINT NOT NULL,
+    PRIMARY KEY (accrual_date, first_id)
+);
+
+-- Idempotência das requisições de lançamento: chave única por transação (várias linhas NULL permitidas)
+ALTER TABLE tb_transaction ADD COLUMN IF NOT EXISTS idempotency_key VARCHAR(64);
+CREATE UNIQUE INDEX IF NOT EXISTS uk_transaction_idempotency_key ON tb_transaction (idempotency_key);
+
+-- Tabela de saída dos eventos de lançamento, gravada na transação do lançamento e esvaziada pelo OutboxRelay
+CREATE TABLE IF NOT EXISTS tb_outbox_event (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    account_number BIGINT NOT NULL,
+    payload TEXT NOT NULL,
+    created_at TIMESTAMP NOT NULL
+);
+
+-- Livro-razão com origem em eventos (perfil event-sourcing): lançamentos por conta, snapshots e fila de projeção
+ALTER TABLE tb_account ADD COLUMN IF NOT EXISTS projected_seq BIGINT NOT NULL DEFAULT 0;
+CREATE TABLE IF NOT EXISTS tb_account_entry (
+    account_id BIGINT NOT NULL,
+    seq BIGINT NOT NULL,
+    transaction_id BIGINT NOT NULL,
+    amount_cents BIGINT NOT NULL,
+    PRIMARY KEY (account_id, seq)
+);
+CREATE TABLE IF NOT EXISTS tb_account_snapshot (
+    account_id BIGINT PRIMARY KEY,
+    seq BIGINT NOT NULL,
+    balance_cents BIGINT NOT NULL
+);
+CREATE TABLE IF NOT EXISTS tb_projection_queue (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    account_id BIGINT NOT NULL
+);
+
+-- Contas com saldo dividido (bankapi.hot-accounts): parcelas creditadas em separado da linha da conta
+CREATE TABLE IF NOT EXISTS tb_account_shard (
+    account_id BIGINT NOT NULL,
+    shard INTEGER NOT NULL,
+    balance_cents BIGINT NOT NULL,
+    PRIMARY KEY (account_id, shard)
+);
+
+-- Journal do livro-razão em memória (bankapi.ledger.journal): posição do último lançamento gravado no banco
+CREATE TABLE IF NOT EXISTS tb_ledger_checkpoint (
+    id INTEGER PRIMARY KEY,
+    journal_position BIGINT NOT NULL
+);
+
+-- Lançamentos do livro-razão em memória que não puderam ser gravados, para conciliação
+CREATE TABLE IF NOT EXISTS tb_ledger_dead_letter (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    journal_position BIGINT NOT NULL,
+    type VARCHAR(16) NOT NULL,
+    source_account_id BIGINT,
+    receiver_account_id BIGINT,
+    amount_cents BIGINT NOT NULL,
+    date_time TIMESTAMP NOT NULL,
+    error VARCHAR(1000)
+);
@@ -1,9 +1,14 @@
 package br.edu.utfpr.bankapi.controller;
 
 import br.edu.utfpr.bankapi.dto.AccountDTO;
+import br.edu.utfpr.bankapi.dto.PageDTO;
+import br.edu.utfpr.bankapi.dto.StatementEntryDTO;
 import br.edu.utfpr.bankapi.exception.NotFoundException;
 import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.model.Money;
+import br.edu.utfpr.bankapi.model.TransactionType;
 import br.edu.utfpr.bankapi.service.AccountService;
+import br.edu.utfpr.bankapi.service.StatementService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.mockito.BDDMockito;
@@ -13,7 +18,9 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -28,6 +35,9 @@ public class AccountControllerTest {
     @MockBean
     private AccountService accountService; // Atualizado para @MockBean
 
+    @MockBean
+    private StatementService statementService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -35,7 +45,7 @@ public class AccountControllerTest {
     void deveriaRetornarContaPorNumero() throws Exception {
         // ### ARRANGE ###
         long accountNumber = 12345;
-        Account account = new Account("John Doe", accountNumber, 1000.0, 500.0);
+        Account account = new Account("John Doe", accountNumber, Money.ofUnits(1000), Money.ofUnits(500));
 
         BDDMockito.given(accountService.getByNumber(accountNumber)).willReturn(Optional.of(account));
 
@@ -44,8 +54,9 @@ public class AccountControllerTest {
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.name").value(account.getName()))
-                .andExpect(jsonPath("$.balance").value(account.getBalance()))
-                .andExpect(jsonPath("$.specialLimit").value(account.getSpecialLimit()));
+                // Valores em centavos são apresentados em decimal
+                .andExpect(jsonPath("$.balance").value(1000.0))
+                .andExpect(jsonPath("$.specialLimit").value(500.0));
     }
 
     @Test
@@ -62,26 +73,76 @@ public class AccountControllerTest {
     }
 
     @Test
-    void deveriaRetornarListaDeContas() throws Exception {
+    void deveriaRetornarPaginaDeContas() throws Exception {
         // ### ARRANGE ###
-        Account account1 = new Account("John Doe", 12345, 1000.0, 500.0);
-        Account account2 = new Account("Jane Doe", 67890, 2000.0, 1000.0);
+        Account account1 = new Account("John Doe", 12345, 100000, 50000);
+        Account account2 = new Account("Jane Doe", 67890, 200000, 100000);
 
-        BDDMockito.given(accountService.getAll()).willReturn(Arrays.asList(account1, account2));
+        BDDMockito.given(accountService.getPage(null, 100))
+                .willReturn(new PageDTO<>(Arrays.asList(account1, account2), null));
 
         // ### ACT & ASSERT ###
         mockMvc.perform(get("/account")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.length()").value(2))
-                .andExpect(jsonPath("$[0].name").value(account1.getName()))
-                .andExpect(jsonPath("$[1].name").value(account2.getName()));
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.items[0].name").value(account1.getName()))
+                .andExpect(jsonPath("$.items[1].name").value(account2.getName()))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void deveriaRetornarBadRequestComCursorInvalido() throws Exception {
+        // ### ARRANGE ###
+        BDDMockito.given(accountService.getPage("invalido", 100))
+                .willThrow(new IllegalArgumentException("Cursor inválido"));
+
+        // ### ACT & ASSERT ###
+        mockMvc.perform(get("/account").param("cursor", "invalido"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void deveriaRetornarExtratoDaConta() throws Exception {
+        // ### ARRANGE ###
+        long accountNumber = 12345;
+        LocalDateTime from = LocalDateTime.of(2024, 1, 1, 0, 0);
+        var debit = new StatementEntryDTO(2, LocalDateTime.of(2024, 3, 1, 10, 0), TransactionType.TRANSFER, -5050,
+                67890L);
+        var credit = new StatementEntryDTO(1, LocalDateTime.of(2024, 2, 1, 10, 0), TransactionType.DEPOSIT, 10000,
+                null);
+
+        BDDMockito.given(statementService.getStatement(accountNumber, from, null, null, 50))
+                .willReturn(new PageDTO<>(List.of(debit, credit), "proximo"));
+
+        // ### ACT & ASSERT ###
+        mockMvc.perform(get("/account/{number}/statement", accountNumber)
+                        .param("from", "2024-01-01T00:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.items[0].amount").value(-50.5))
+                .andExpect(jsonPath("$.items[0].counterpartAccountNumber").value(67890))
+                .andExpect(jsonPath("$.items[1].type").value("DEPOSIT"))
+                .andExpect(jsonPath("$.nextCursor").value("proximo"));
+    }
+
+    @Test
+    void deveriaRetornarNotFoundNoExtratoDeContaInexistente() throws Exception {
+        // ### ARRANGE ###
+        long accountNumber = 99999;
+
+        BDDMockito.given(statementService.getStatement(accountNumber, null, null, null, 50))
+                .willThrow(new NotFoundException("Conta 99999 inexistente"));
+
+        // ### ACT & ASSERT ###
+        mockMvc.perform(get("/account/{number}/statement", accountNumber))
+                .andExpect(status().isNotFound());
     }
 
     @Test
     void deveriaCriarNovaConta() throws Exception {
         // ### ARRANGE ###
-        AccountDTO accountDTO = new AccountDTO("John Doe", 12345L, 1000.0, 500.0);
+        AccountDTO accountDTO = new AccountDTO("John Doe", 12345L, Money.ofUnits(1000), Money.ofUnits(500));
         Account savedAccount = new Account(accountDTO.name(), accountDTO.number(), accountDTO.balance(), accountDTO.specialLimit());
 
         BDDMockito.given(accountService.save(accountDTO)).willReturn(savedAccount);
@@ -92,15 +153,15 @@ public class AccountControllerTest {
                         .content(objectMapper.writeValueAsString(accountDTO)))
                 .andExpect(status().isCreated())
                 .andExpect(jsonPath("$.name").value(savedAccount.getName()))
-                .andExpect(jsonPath("$.balance").value(savedAccount.getBalance()))
-                .andExpect(jsonPath("$.specialLimit").value(savedAccount.getSpecialLimit()));
+                .andExpect(jsonPath("$.balance").value(1000.0))
+                .andExpect(jsonPath("$.specialLimit").value(500.0));
     }
 
     @Test
     void deveriaAtualizarConta() throws Exception {
         // ### ARRANGE ###
         long accountId = 1L;
-        AccountDTO accountDTO = new AccountDTO("John Doe Updated", 12345L, 1500.0, 700.0);
+        AccountDTO accountDTO = new AccountDTO("John Doe Updated", 12345L, 150000, 70050);
         Account updatedAccount = new Account(accountDTO.name(), accountDTO.number(), accountDTO.balance(), accountDTO.specialLimit());
 
         BDDMockito.given(accountService.update(accountId, accountDTO)).willReturn(updatedAccount);
@@ -111,15 +172,15 @@ public class AccountControllerTest {
                         .content(objectMapper.writeValueAsString(accountDTO)))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.name").value(updatedAccount.getName()))
-                .andExpect(jsonPath("$.balance").value(updatedAccount.getBalance()))
-                .andExpect(jsonPath("$.specialLimit").value(updatedAccount.getSpecialLimit()));
+                .andExpect(jsonPath("$.balance").value(1500.0))
+                .andExpect(jsonPath("$.specialLimit").value(700.5));
     }
 
     @Test
     void deveriaRetornarNotFoundQuandoAtualizarContaInexistente() throws Exception {
         // ### ARRANGE ###
         long accountId = 999L;
-        AccountDTO accountDTO = new AccountDTO("Non-existent", 33333L, 1500.0, 700.0);
+        AccountDTO accountDTO = new AccountDTO("Non-existent", 33333L, 150000, 70000);
 
         BDDMockito.given(accountService.update(accountId, accountDTO)).willThrow(new NotFoundException("Account not found"));
 
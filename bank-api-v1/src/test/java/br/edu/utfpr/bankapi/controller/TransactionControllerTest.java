@@ -1,10 +1,21 @@
 package br.edu.utfpr.bankapi.controller;
 
+import br.edu.utfpr.bankapi.dto.BatchDTO;
+import br.edu.utfpr.bankapi.dto.BatchItemDTO;
+import br.edu.utfpr.bankapi.dto.BatchItemResultDTO;
+import br.edu.utfpr.bankapi.dto.BatchMode;
+import br.edu.utfpr.bankapi.dto.BatchResultDTO;
+import br.edu.utfpr.bankapi.dto.DepositDTO;
+import br.edu.utfpr.bankapi.dto.TransactionResponseDTO;
 import br.edu.utfpr.bankapi.dto.TransferDTO;
 import br.edu.utfpr.bankapi.dto.WithdrawDTO;
+import br.edu.utfpr.bankapi.exception.BatchRejectedException;
 import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.model.Money;
 import br.edu.utfpr.bankapi.model.Transaction;
 import br.edu.utfpr.bankapi.model.TransactionType;
+import br.edu.utfpr.bankapi.service.BatchTransactionService;
+import br.edu.utfpr.bankapi.service.IdempotencyService;
 import br.edu.utfpr.bankapi.service.TransactionService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
@@ -15,8 +26,13 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.Arrays;
+import java.util.List;
+
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(TransactionController.class)
@@ -28,19 +44,26 @@ public class TransactionControllerTest {
     @MockBean
     private TransactionService transactionService;
 
+    @MockBean
+    private BatchTransactionService batchTransactionService;
+
+    @MockBean
+    private IdempotencyService idempotencyService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
     @Test
     void deveriaRealizarTransferenciaComSucesso() throws Exception {
         // ### ARRANGE ###
-        TransferDTO transferDTO = new TransferDTO(66666, 12346, 15000.0);
+        TransferDTO transferDTO = new TransferDTO(66666, 12346, Money.ofUnits(15000));
 
         // Criação dos objetos esperados na resposta
-        Account sourceAccount = new Account("Guido Power", 66666, 184500.0, 1.0E9);
-        Account receiverAccount = new Account("Ana Campos", 12346, 15500.0, 0.0);
+        Account sourceAccount = new Account("Guido Power", 66666, Money.ofUnits(184500), Money.ofUnits(1_000_000_000));
+        Account receiverAccount = new Account("Ana Campos", 12346, Money.ofUnits(15500), 0);
 
-        Transaction expectedTransaction = new Transaction(sourceAccount, receiverAccount, 15000.0, TransactionType.TRANSFER);
+        TransactionResponseDTO expectedTransaction = TransactionResponseDTO.of(
+                new Transaction(sourceAccount, receiverAccount, Money.ofUnits(15000), TransactionType.TRANSFER));
 
         BDDMockito.given(transactionService.transfer(transferDTO)).willReturn(expectedTransaction);
 
@@ -52,7 +75,12 @@ public class TransactionControllerTest {
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(transferDTO)))
                 .andExpect(status().isCreated())
-                .andExpect(content().json(expectedResponse));
+                .andExpect(content().json(expectedResponse))
+                // A resposta identifica as contas apenas pelo número, sem saldo
+                // O valor em centavos é apresentado em decimal
+                .andExpect(jsonPath("$.amount").value(15000.0))
+                .andExpect(jsonPath("$.sourceAccountNumber").value(66666))
+                .andExpect(jsonPath("$.sourceAccount").doesNotExist());
     }
 
     @Test
@@ -75,11 +103,12 @@ public class TransactionControllerTest {
     @Test
     void deveriaRealizarSaqueComSucesso() throws Exception {
         // ### ARRANGE ###
-        WithdrawDTO withdrawDTO = new WithdrawDTO(11111, 1000.0);
+        WithdrawDTO withdrawDTO = new WithdrawDTO(11111, Money.ofUnits(1000));
 
         // Configuração da conta inicial e da resposta esperada
-        Account sourceAccount = new Account("Paula Tejando", 11111, 1000.0, 1000.0);
-        Transaction expectedTransaction = new Transaction(sourceAccount, null, 1000.0, TransactionType.WITHDRAW);
+        Account sourceAccount = new Account("Paula Tejando", 11111, Money.ofUnits(1000), Money.ofUnits(1000));
+        TransactionResponseDTO expectedTransaction = TransactionResponseDTO.of(
+                new Transaction(sourceAccount, null, Money.ofUnits(1000), TransactionType.WITHDRAW));
 
         // Configurando o mock para retornar a transação esperada
         BDDMockito.given(transactionService.withdraw(withdrawDTO)).willReturn(expectedTransaction);
@@ -110,4 +139,61 @@ public class TransactionControllerTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(content().string(errorMessage));
     }
+
+    @Test
+    void deveriaDevolverARespostaOriginalNaRepeticaoDoDeposito() throws Exception {
+        // ### ARRANGE ###
+        DepositDTO depositDTO = new DepositDTO(12345, Money.ofUnits(100));
+        TransactionResponseDTO original = TransactionResponseDTO.of(new Transaction(null,
+                new Account("John Smith", 12345, 0, 0), depositDTO.amount(), TransactionType.DEPOSIT));
+
+        BDDMockito.given(idempotencyService.execute(BDDMockito.eq("chave-1"), BDDMockito.eq(TransactionType.DEPOSIT),
+                BDDMockito.isNull(), BDDMockito.eq(12345L), BDDMockito.eq(depositDTO.amount()), BDDMockito.any()))
+                .willReturn(new IdempotencyService.Result(original, true));
+
+        // ### ACT & ASSERT ###
+        mockMvc.perform(post("/transaction/deposit")
+                        .header("Idempotency-Key", "chave-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(depositDTO)))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andExpect(content().json(objectMapper.writeValueAsString(original)));
+
+        // A operação não é executada diretamente
+        BDDMockito.then(transactionService).shouldHaveNoInteractions();
+    }
+
+    @Test
+    void deveriaRejeitarValorComMaisDeDuasCasasDecimais() throws Exception {
+        // ### ACT & ASSERT ###
+        mockMvc.perform(post("/transaction/deposit")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"receiverAccountNumber\": 12345, \"amount\": 10.005}"))
+                .andExpect(status().isBadRequest());
+
+        BDDMockito.then(transactionService).shouldHaveNoInteractions();
+    }
+
+    @Test
+    void deveriaRetornarResultadoDoLoteRejeitado() throws Exception {
+        // ### ARRANGE ###
+        BatchDTO batchDTO = new BatchDTO(BatchMode.ALL_OR_NOTHING, List.of(
+                new BatchItemDTO(TransactionType.DEPOSIT, null, 11111L, 100),
+                new BatchItemDTO(TransactionType.WITHDRAW, 99999L, null, 100)));
+
+        BatchResultDTO result = new BatchResultDTO(false, Arrays.asList(null,
+                BatchItemResultDTO.failure(1, "Conta 99999 inexistente")));
+
+        BDDMockito.given(batchTransactionService.execute(batchDTO))
+                .willThrow(new BatchRejectedException(result));
+
+        // ### ACT & ASSERT ###
+        mockMvc.perform(post("/transaction/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(batchDTO)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.committed").value(false))
+                .andExpect(jsonPath("$.items[1].error").value("Conta 99999 inexistente"));
+    }
 }
@@ -0,0 +1,93 @@
+package br.edu.utfpr.bankapi.ledger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.BDDMockito;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import br.edu.utfpr.bankapi.dto.DepositDTO;
+import br.edu.utfpr.bankapi.dto.WithdrawDTO;
+import br.edu.utfpr.bankapi.exception.NotFoundException;
+import br.edu.utfpr.bankapi.exception.WithoutBalanceException;
+import br.edu.utfpr.bankapi.outbox.OutboxWriter;
+import br.edu.utfpr.bankapi.repository.AccountRepository;
+import br.edu.utfpr.bankapi.repository.TransactionRepository;
+import br.edu.utfpr.bankapi.service.AccountCache;
+import br.edu.utfpr.bankapi.validations.AvailableAccountValidation;
+import br.edu.utfpr.bankapi.validations.AvailableBalanceValidation;
+
+@ExtendWith(MockitoExtension.class)
+class EventSourcedLedgerTest {
+
+    @Mock
+    JdbcTemplate jdbcTemplate;
+
+    @Mock
+    AccountRepository accountRepository;
+
+    @Mock
+    TransactionRepository transactionRepository;
+
+    @Mock
+    AvailableAccountValidation availableAccountValidation;
+
+    @Spy
+    AvailableBalanceValidation availableBalanceValidation;
+
+    @Mock
+    OutboxWriter outboxWriter;
+
+    @InjectMocks
+    EventSourcedLedger ledger;
+
+    void givenAccount(long seq, long snapshotBalance, long tailSeq, long tailSum) throws NotFoundException {
+        BDDMockito.given(availableAccountValidation.resolve(12345))
+                .willReturn(new AccountCache.CachedAccount(1L, "John Smith", 12345, 0));
+        BDDMockito.given(jdbcTemplate.query(BDDMockito.startsWith("SELECT seq"),
+                BDDMockito.<ResultSetExtractor<long[]>>any(), BDDMockito.eq(1L)))
+                .willReturn(new long[] { seq, snapshotBalance });
+        BDDMockito.given(jdbcTemplate.query(BDDMockito.startsWith("SELECT COALESCE"),
+                BDDMockito.<ResultSetExtractor<long[]>>any(), BDDMockito.eq(1L), BDDMockito.eq(seq)))
+                .willReturn(new long[] { tailSeq, tailSum });
+    }
+
+    @Test
+    void deveriaDepositarComOSaldoDoSnapshotMaisOsLancamentosPosteriores() throws NotFoundException {
+        // ### ARRANGE ###
+        ReflectionTestUtils.setField(ledger, "snapshotInterval", 100);
+        // Snapshot no lançamento 50 com R$ 10,00 e mais 49 lançamentos somando R$ 5,00
+        givenAccount(50, 1000, 99, 500);
+
+        // ### ACT ###
+        var transaction = ledger.deposit(new DepositDTO(12345, 250));
+
+        // ### ASSERT ###
+        Assertions.assertEquals(1750, transaction.getReceiverAccount().getBalance());
+        BDDMockito.then(jdbcTemplate).should().update(BDDMockito.startsWith("INSERT INTO tb_account_entry"),
+                BDDMockito.eq(1L), BDDMockito.eq(100L), BDDMockito.anyLong(), BDDMockito.eq(250L));
+        // O lançamento 100 grava um novo snapshot
+        BDDMockito.then(jdbcTemplate).should().update(BDDMockito.startsWith("UPDATE tb_account_snapshot"),
+                BDDMockito.eq(100L), BDDMockito.eq(1750L), BDDMockito.eq(1L));
+        // O saldo de tb_account não é alterado no lançamento
+        BDDMockito.then(accountRepository).should(BDDMockito.never()).updateBalance(BDDMockito.anyLong(),
+                BDDMockito.anyLong(), BDDMockito.anyLong());
+    }
+
+    @Test
+    void deveriaRecusarSaqueSemSaldoSemGravarLancamento() throws NotFoundException {
+        // ### ARRANGE ###
+        givenAccount(0, 1000, 3, -900);
+
+        // ### ACT & ASSERT ###
+        Assertions.assertThrows(WithoutBalanceException.class, () -> ledger.withdraw(new WithdrawDTO(12345, 200)));
+        BDDMockito.then(transactionRepository).shouldHaveNoInteractions();
+        BDDMockito.then(outboxWriter).shouldHaveNoInteractions();
+    }
+}
@@ -0,0 +1,135 @@
+package br.edu.utfpr.bankapi.ledger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.BDDMockito;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import br.edu.utfpr.bankapi.dto.DepositDTO;
+import br.edu.utfpr.bankapi.dto.TransferDTO;
+import br.edu.utfpr.bankapi.dto.WithdrawDTO;
+import br.edu.utfpr.bankapi.exception.NotFoundException;
+import br.edu.utfpr.bankapi.exception.WithoutBalanceException;
+import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.validations.AvailableAccountValidation;
+import br.edu.utfpr.bankapi.validations.AvailableBalanceValidation;
+
+@ExtendWith(MockitoExtension.class)
+class InMemoryLedgerTest {
+
+    @Mock
+    AvailableAccountValidation availableAccountValidation;
+
+    @Spy
+    AvailableBalanceValidation availableBalanceValidation;
+
+    @Mock
+    LedgerPersister ledgerPersister;
+
+    @InjectMocks
+    InMemoryLedger ledger;
+
+    @Test
+    void deveriaTransferirEmMemoria() throws NotFoundException {
+        // ### ARRANGE ###
+        BDDMockito.given(availableAccountValidation.validate(54321))
+                .willReturn(new Account(1L, "Power Guido", 54321, 2000, 0));
+        BDDMockito.given(availableAccountValidation.validate(88888))
+                .willReturn(new Account(2L, "John Smith", 88888, 500, 0));
+
+        // ### ACT ###
+        var transaction = ledger.transfer(new TransferDTO(54321, 88888, 1000));
+
+        // ### ASSERT ###
+        Assertions.assertEquals(1000, transaction.getSourceAccount().getBalance());
+        Assertions.assertEquals(1500, transaction.getReceiverAccount().getBalance());
+        BDDMockito.then(ledgerPersister).should().enqueue(transaction, 0L);
+    }
+
+    @Test
+    void deveriaRegistrarNoJournalAntesDeAplicarEConfirmarAposOFsync() throws NotFoundException {
+        // ### ARRANGE ###
+        BDDMockito.given(availableAccountValidation.validate(12345))
+                .willReturn(new Account(1L, "John Smith", 12345, 0, 0));
+        var balances = new ArrayList<Long>();
+        BDDMockito.given(ledgerPersister.journal(BDDMockito.any())).willAnswer(invocation -> {
+            // Saldo em memória no momento do registro no journal
+            balances.add(ledger.find(12345).orElseThrow().getBalance());
+            return 37L;
+        });
+
+        // ### ACT ###
+        var transaction = ledger.deposit(new DepositDTO(12345, 100));
+
+        // ### ASSERT ###
+        Assertions.assertEquals(List.of(0L), balances);
+        Assertions.assertEquals(100, transaction.getReceiverAccount().getBalance());
+        var inOrder = BDDMockito.inOrder(ledgerPersister);
+        inOrder.verify(ledgerPersister).journal(transaction);
+        inOrder.verify(ledgerPersister).enqueue(transaction, 37L);
+        inOrder.verify(ledgerPersister).awaitDurable(37L);
+    }
+
+    @Test
+    void deveriaCarregarContaDoBancoApenasUmaVez() throws NotFoundException {
+        // ### ARRANGE ###
+        BDDMockito.given(availableAccountValidation.validate(12345))
+                .willReturn(new Account(1L, "John Smith", 12345, 0, 0));
+
+        // ### ACT ###
+        ledger.deposit(new DepositDTO(12345, 100));
+        var transaction = ledger.deposit(new DepositDTO(12345, 100));
+
+        // ### ASSERT ###
+        Assertions.assertEquals(200, transaction.getReceiverAccount().getBalance());
+        BDDMockito.then(availableAccountValidation).should().validate(12345);
+    }
+
+    @Test
+    void deveriaRecusarSaqueSemSaldo() throws NotFoundException {
+        // ### ARRANGE ###
+        BDDMockito.given(availableAccountValidation.validate(11111))
+                .willReturn(new Account(1L, "Paula Tejando", 11111, 100, 50));
+
+        // ### ACT & ASSERT ###
+        Assertions.assertThrows(WithoutBalanceException.class,
+                () -> ledger.withdraw(new WithdrawDTO(11111, 200)));
+
+        // O saldo não deveria ser alterado nem gravado
+        BDDMockito.then(ledgerPersister).should(BDDMockito.never()).enqueue(BDDMockito.any(), BDDMockito.anyLong());
+        Assertions.assertEquals(-50, ledger.withdraw(new WithdrawDTO(11111, 150)).getSourceAccount().getBalance());
+    }
+
+    @Test
+    void deveriaManterSaldoTotalComTransferenciasConcorrentes() throws Exception {
+        // ### ARRANGE ###
+        BDDMockito.given(availableAccountValidation.validate(1))
+                .willReturn(new Account(1L, "Conta A", 1, 1000, 0));
+        BDDMockito.given(availableAccountValidation.validate(2))
+                .willReturn(new Account(2L, "Conta B", 2, 1000, 0));
+
+        // ### ACT ###
+        var executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 1000; i++) {
+            var dto = i % 2 == 0 ? new TransferDTO(1, 2, 1) : new TransferDTO(2, 1, 1);
+            executor.submit(() -> ledger.transfer(dto));
+        }
+        executor.shutdown();
+        Assertions.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        // ### ASSERT ###
+        var a = ledger.deposit(new DepositDTO(1, 0)).getReceiverAccount().getBalance();
+        var b = ledger.deposit(new DepositDTO(2, 0)).getReceiverAccount().getBalance();
+        Assertions.assertEquals(1000, a);
+        Assertions.assertEquals(1000, b);
+    }
+}
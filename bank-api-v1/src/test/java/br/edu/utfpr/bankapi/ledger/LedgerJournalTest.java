@@ -0,0 +1,121 @@
+package br.edu.utfpr.bankapi.ledger;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.model.Transaction;
+import br.edu.utfpr.bankapi.model.TransactionType;
+
+class LedgerJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void deveriaRecuperarLancamentosDeVariosSegmentosAoReabrir() throws Exception {
+        // ### ARRANGE ###
+        // Segmentos de 3 registros: 7 lançamentos ocupam 3 segmentos
+        var journal = open(3 * LedgerJournal.RECORD_SIZE);
+        for (int i = 1; i <= 7; i++)
+            journal.append(deposit(i * 100));
+        journal.close();
+
+        // ### ACT ###
+        var reopened = open(3 * LedgerJournal.RECORD_SIZE);
+        var entries = new ArrayList<LedgerJournal.Entry>();
+        reopened.read(2 * LedgerJournal.RECORD_SIZE, entries::add);
+        reopened.close();
+
+        // ### ASSERT ###
+        Assertions.assertEquals(7 * LedgerJournal.RECORD_SIZE, reopened.position());
+        Assertions.assertEquals(5, entries.size());
+        Assertions.assertEquals(300, entries.get(0).amount());
+        Assertions.assertEquals(700, entries.get(4).amount());
+        Assertions.assertEquals(TransactionType.DEPOSIT, entries.get(4).type());
+        Assertions.assertEquals(2L, entries.get(4).receiverAccountId());
+        Assertions.assertEquals(0L, entries.get(4).sourceAccountId());
+        Assertions.assertEquals(7 * LedgerJournal.RECORD_SIZE, entries.get(4).position());
+    }
+
+    @Test
+    void deveriaDescartarRegistroIncompletoAoReabrir() throws Exception {
+        // ### ARRANGE ###
+        var journal = open(1024);
+        journal.append(deposit(100));
+        journal.append(deposit(200));
+        journal.close();
+
+        // Gravação interrompida no meio do segundo registro
+        try (var channel = FileChannel.open(directory.resolve("%020d.journal".formatted(0)),
+                StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] { 0x7f }), LedgerJournal.RECORD_SIZE + 20);
+        }
+
+        // ### ACT ###
+        var reopened = open(1024);
+        reopened.append(deposit(300));
+        var entries = new ArrayList<LedgerJournal.Entry>();
+        reopened.read(0, entries::add);
+        reopened.close();
+
+        // ### ASSERT ###
+        Assertions.assertEquals(2, entries.size());
+        Assertions.assertEquals(100, entries.get(0).amount());
+        Assertions.assertEquals(300, entries.get(1).amount());
+    }
+
+    @Test
+    void deveriaRemoverSegmentosJaGravados() throws Exception {
+        // ### ARRANGE ###
+        var journal = open(2 * LedgerJournal.RECORD_SIZE);
+        for (int i = 1; i <= 5; i++)
+            journal.append(deposit(i));
+
+        // ### ACT ###
+        journal.release(4 * LedgerJournal.RECORD_SIZE);
+        journal.close();
+
+        // ### ASSERT ###
+        try (var files = Files.list(directory)) {
+            Assertions.assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    void deveriaAguardarOFsyncDoRegistro() throws Exception {
+        // ### ARRANGE ###
+        var journal = open(1024);
+        var position = journal.append(deposit(100));
+
+        // ### ACT ###
+        journal.awaitSync(position);
+        var synced = (long) ReflectionTestUtils.getField(journal, "synced");
+        journal.close();
+
+        // ### ASSERT ###
+        Assertions.assertTrue(synced >= position);
+    }
+
+    private LedgerJournal open(long segmentSize) throws Exception {
+        var journal = new LedgerJournal();
+        ReflectionTestUtils.setField(journal, "directory", directory);
+        ReflectionTestUtils.setField(journal, "segmentSize", DataSize.ofBytes(segmentSize));
+        journal.open();
+        return journal;
+    }
+
+    private static Transaction deposit(long amount) {
+        return new Transaction(null, new Account(2L, "John Smith", 12345, 0, 0), amount, TransactionType.DEPOSIT);
+    }
+}
@@ -0,0 +1,91 @@
+package br.edu.utfpr.bankapi.ledger;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.BDDMockito;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.model.Transaction;
+import br.edu.utfpr.bankapi.model.TransactionType;
+import br.edu.utfpr.bankapi.outbox.OutboxWriter;
+import br.edu.utfpr.bankapi.repository.AccountRepository;
+import br.edu.utfpr.bankapi.repository.TransactionRepository;
+
+@ExtendWith(MockitoExtension.class)
+class LedgerPersisterTest {
+
+    @Mock
+    AccountRepository accountRepository;
+
+    @Mock
+    TransactionRepository transactionRepository;
+
+    @Mock
+    TransactionTemplate transactionTemplate;
+
+    @Mock
+    OutboxWriter outboxWriter;
+
+    @Mock
+    JdbcTemplate jdbcTemplate;
+
+    @Mock
+    LedgerJournal ledgerJournal;
+
+    @InjectMocks
+    LedgerPersister ledgerPersister;
+
+    @Test
+    void deveriaRegistrarLancamentoRecusadoSemPerderOsSeguintes() throws Exception {
+        // ### ARRANGE ###
+        BDDMockito.given(jdbcTemplate.queryForList(BDDMockito.anyString(), BDDMockito.eq(Long.class)))
+                .willReturn(List.of(0L));
+        BDDMockito.given(accountRepository.findById(1L))
+                .willAnswer(invocation -> Optional.of(new Account(1L, "John Smith", 12345, 0, 0)));
+        // Conta removida depois do lançamento em memória
+        BDDMockito.given(accountRepository.findById(2L)).willReturn(Optional.empty());
+        BDDMockito.given(ledgerJournal.append(BDDMockito.any())).willReturn(
+                (long) LedgerJournal.RECORD_SIZE, 2L * LedgerJournal.RECORD_SIZE, 3L * LedgerJournal.RECORD_SIZE);
+        BDDMockito.willAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).given(transactionTemplate).executeWithoutResult(BDDMockito.any());
+
+        // ### ACT ###
+        ledgerPersister.start();
+        enqueue(deposit(1L, 100));
+        enqueue(deposit(2L, 200));
+        enqueue(deposit(1L, 300));
+        ledgerPersister.stop();
+
+        // ### ASSERT ###
+        BDDMockito.then(jdbcTemplate).should().update(BDDMockito.startsWith("INSERT INTO tb_ledger_dead_letter"),
+                BDDMockito.eq(2L * LedgerJournal.RECORD_SIZE), BDDMockito.eq("DEPOSIT"), BDDMockito.isNull(),
+                BDDMockito.eq(2L), BDDMockito.eq(200L), BDDMockito.any(), BDDMockito.any());
+        // O lançamento seguinte é gravado e o checkpoint chega ao fim do journal
+        BDDMockito.then(jdbcTemplate).should().update(BDDMockito.startsWith("UPDATE tb_ledger_checkpoint"),
+                BDDMockito.eq(3L * LedgerJournal.RECORD_SIZE));
+        BDDMockito.then(ledgerJournal).should().release(3L * LedgerJournal.RECORD_SIZE);
+        Assertions.assertEquals(0, ledgerPersister.pending());
+    }
+
+    private void enqueue(Transaction posting) {
+        ledgerPersister.enqueue(posting, ledgerPersister.journal(posting));
+    }
+
+    private static Transaction deposit(long accountId, long amount) {
+        return new Transaction(null, new Account(accountId, "John Smith", 12345, 0, 0), amount,
+                TransactionType.DEPOSIT);
+    }
+}
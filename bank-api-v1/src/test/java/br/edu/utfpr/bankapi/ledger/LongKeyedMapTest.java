@@ -0,0 +1,55 @@
+package br.edu.utfpr.bankapi.ledger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class LongKeyedMapTest {
+
+    @Test
+    void deveriaManterAsChavesAoRedimensionar() {
+        // ### ARRANGE ###
+        var map = new LongKeyedMap<String>();
+
+        // ### ACT ###
+        for (long number = 1; number <= 1000; number++)
+            map.put(number, "conta " + number);
+
+        // ### ASSERT ###
+        for (long number = 1; number <= 1000; number++)
+            Assertions.assertEquals("conta " + number, map.get(number));
+        Assertions.assertNull(map.get(1001));
+    }
+
+    @Test
+    void deveriaIncluirApenasChaveAusente() {
+        // ### ARRANGE ###
+        var map = new LongKeyedMap<String>();
+        map.putIfAbsent(12345, "carregada");
+
+        // ### ACT ###
+        var existing = map.putIfAbsent(12345, "recarregada");
+
+        // ### ASSERT ###
+        Assertions.assertEquals("carregada", existing);
+        Assertions.assertEquals("carregada", map.get(12345));
+    }
+
+    @Test
+    void deveriaRemoverChaveSomenteComOValorInformado() {
+        // ### ARRANGE ###
+        var map = new LongKeyedMap<String>();
+        map.put(12345, "atual");
+
+        // ### ACT ###
+        map.remove(12345, "outra");
+        var kept = map.get(12345);
+        map.remove(12345, "atual");
+
+        // ### ASSERT ###
+        Assertions.assertEquals("atual", kept);
+        Assertions.assertNull(map.get(12345));
+        // A chave removida pode ser incluída novamente
+        Assertions.assertNull(map.putIfAbsent(12345, "renumerada"));
+        Assertions.assertEquals("renumerada", map.get(12345));
+    }
+}
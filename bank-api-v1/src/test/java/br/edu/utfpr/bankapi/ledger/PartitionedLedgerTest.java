@@ -0,0 +1,121 @@
+package br.edu.utfpr.bankapi.ledger;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.BDDMockito;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import br.edu.utfpr.bankapi.dto.TransferDTO;
+import br.edu.utfpr.bankapi.dto.WithdrawDTO;
+import br.edu.utfpr.bankapi.exception.NotFoundException;
+import br.edu.utfpr.bankapi.exception.WithoutBalanceException;
+import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.validations.AvailableAccountValidation;
+import br.edu.utfpr.bankapi.validations.AvailableBalanceValidation;
+
+@ExtendWith(MockitoExtension.class)
+class PartitionedLedgerTest {
+
+    @Mock
+    AvailableAccountValidation availableAccountValidation;
+
+    @Spy
+    AvailableBalanceValidation availableBalanceValidation;
+
+    @Mock
+    LedgerPersister ledgerPersister;
+
+    @InjectMocks
+    PartitionedLedger ledger;
+
+    @BeforeEach
+    void setUp() {
+        // Com duas partições, 54321 (ímpar) e 88888 (par) ficam em partições diferentes
+        ReflectionTestUtils.setField(ledger, "partitionCount", 2);
+        ledger.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        ledger.stop();
+    }
+
+    @Test
+    void deveriaTransferirEntreParticoes() throws NotFoundException {
+        // ### ARRANGE ###
+        BDDMockito.given(availableAccountValidation.validate(54321))
+                .willReturn(new Account(1L, "Power Guido", 54321, 2000, 0));
+        BDDMockito.given(availableAccountValidation.validate(88888))
+                .willReturn(new Account(2L, "John Smith", 88888, 500, 0));
+
+        // ### ACT ###
+        var transaction = ledger.transfer(new TransferDTO(54321, 88888, 1000));
+
+        // ### ASSERT ###
+        Assertions.assertEquals(1000, transaction.getSourceAccount().getBalance());
+        Assertions.assertEquals(1500, transaction.getReceiverAccount().getBalance());
+        BDDMockito.then(ledgerPersister).should().enqueue(transaction, 0L);
+    }
+
+    @Test
+    void deveriaCarregarAsContasForaDaThreadDaParticao() throws NotFoundException {
+        // ### ARRANGE ###
+        var threads = new ArrayList<String>();
+        BDDMockito.given(availableAccountValidation.validate(54321)).willAnswer(invocation -> {
+            threads.add(Thread.currentThread().getName());
+            return new Account(1L, "Power Guido", 54321, 2000, 0);
+        });
+
+        // ### ACT ###
+        ledger.withdraw(new WithdrawDTO(54321, 500));
+        var transaction = ledger.withdraw(new WithdrawDTO(54321, 500));
+
+        // ### ASSERT ###
+        Assertions.assertEquals(1000, transaction.getSourceAccount().getBalance());
+        // Lida uma única vez, pela thread da requisição
+        Assertions.assertEquals(List.of(Thread.currentThread().getName()), threads);
+    }
+
+    @Test
+    void deveriaRecusarTransferenciaParaContaInexistenteSemDebitar() throws NotFoundException {
+        // ### ARRANGE ###
+        BDDMockito.given(availableAccountValidation.validate(54321))
+                .willReturn(new Account(1L, "Power Guido", 54321, 2000, 0));
+        // Conta de destino inexistente, recusada antes de enfileirar o débito
+        BDDMockito.given(availableAccountValidation.validate(88888)).willThrow(new NotFoundException());
+
+        // ### ACT ###
+        Assertions.assertThrows(NotFoundException.class,
+                () -> ledger.transfer(new TransferDTO(54321, 88888, 1000)));
+        var transaction = ledger.withdraw(new WithdrawDTO(54321, 2000));
+
+        // ### ASSERT ###
+        Assertions.assertEquals(0, transaction.getSourceAccount().getBalance());
+        BDDMockito.then(ledgerPersister).should().enqueue(transaction, 0L);
+        BDDMockito.then(ledgerPersister).shouldHaveNoMoreInteractions();
+    }
+
+    @Test
+    void deveriaRecusarTransferenciaSemSaldo() throws NotFoundException {
+        // ### ARRANGE ###
+        BDDMockito.given(availableAccountValidation.validate(54321))
+                .willReturn(new Account(1L, "Power Guido", 54321, 100, 0));
+        BDDMockito.given(availableAccountValidation.validate(88888))
+                .willReturn(new Account(2L, "John Smith", 88888, 500, 0));
+
+        // ### ACT & ASSERT ###
+        Assertions.assertThrows(WithoutBalanceException.class,
+                () -> ledger.transfer(new TransferDTO(54321, 88888, 1000)));
+        BDDMockito.then(ledgerPersister).shouldHaveNoInteractions();
+    }
+}
@@ -0,0 +1,110 @@
+package br.edu.utfpr.bankapi.metrics;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.BDDMockito;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import br.edu.utfpr.bankapi.dto.DepositDTO;
+import br.edu.utfpr.bankapi.dto.WithdrawDTO;
+import br.edu.utfpr.bankapi.exception.NotFoundException;
+import br.edu.utfpr.bankapi.exception.WithoutBalanceException;
+import br.edu.utfpr.bankapi.ledger.LedgerEngine;
+import br.edu.utfpr.bankapi.model.Transaction;
+import br.edu.utfpr.bankapi.model.TransactionType;
+import br.edu.utfpr.bankapi.service.TransactionService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionMetricsAspectTest {
+
+    // As operações são delegadas ao motor de lançamentos, o que permite
+    // controlar o resultado de cada chamada
+    @Mock
+    LedgerEngine ledgerEngine;
+
+    @InjectMocks
+    TransactionService transactionService;
+
+    SimpleMeterRegistry registry;
+
+    TransactionService proxy;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+
+        var factory = new AspectJProxyFactory(transactionService);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new TransactionMetricsAspect(registry));
+        proxy = factory.getProxy();
+    }
+
+    @Test
+    void deveriaRegistrarOperacaoComSucesso() throws NotFoundException {
+        // ### ARRANGE ###
+        var dto = new DepositDTO(12345, 100);
+        BDDMockito.given(ledgerEngine.deposit(dto, null))
+                .willReturn(new Transaction(null, null, 100, TransactionType.DEPOSIT));
+
+        // ### ACT ###
+        proxy.deposit(dto);
+
+        // ### ASSERT ###
+        var timer = registry.find("bankapi.transaction")
+                .tags("operation", "deposit", "outcome", "success").timer();
+        Assertions.assertNotNull(timer);
+        Assertions.assertEquals(1, timer.count());
+        Assertions.assertEquals(1, registry.get("bankapi.transaction.db").tag("operation", "deposit").timer().count());
+        Assertions.assertEquals(1, registry.get("bankapi.transaction.app").tag("operation", "deposit").timer().count());
+    }
+
+    @Test
+    void deveriaRegistrarResultadoDeSaldoInsuficiente() throws NotFoundException {
+        // ### ARRANGE ###
+        var dto = new WithdrawDTO(12345, 100);
+        BDDMockito.given(ledgerEngine.withdraw(dto, null)).willThrow(new WithoutBalanceException());
+
+        // ### ACT ###
+        Assertions.assertThrows(WithoutBalanceException.class, () -> proxy.withdraw(dto));
+
+        // ### ASSERT ###
+        Assertions.assertEquals(1, registry.get("bankapi.transaction")
+                .tags("operation", "withdraw", "outcome", "insufficient_balance").timer().count());
+    }
+
+    @Test
+    void deveriaRegistrarResultadoDeContaInexistente() throws NotFoundException {
+        // ### ARRANGE ###
+        var dto = new WithdrawDTO(99999, 100);
+        BDDMockito.given(ledgerEngine.withdraw(dto, null)).willThrow(new NotFoundException("Conta 99999 inexistente"));
+
+        // ### ACT ###
+        Assertions.assertThrows(NotFoundException.class, () -> proxy.withdraw(dto));
+
+        // ### ASSERT ###
+        Assertions.assertEquals(1, registry.get("bankapi.transaction")
+                .tags("operation", "withdraw", "outcome", "not_found").timer().count());
+    }
+
+    @Test
+    void deveriaAcumularTempoDeBancoDaOperacao() {
+        // ### ARRANGE ###
+        DbTime.start();
+
+        // ### ACT ###
+        DbTime.add(1_000);
+        DbTime.add(2_000);
+
+        // ### ASSERT ###
+        Assertions.assertEquals(3_000, DbTime.stop());
+        // Fora de uma operação o tempo não é acumulado
+        DbTime.add(5_000);
+        Assertions.assertEquals(0, DbTime.stop());
+    }
+}
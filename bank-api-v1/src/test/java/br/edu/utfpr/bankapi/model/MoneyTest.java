@@ -0,0 +1,45 @@
+package br.edu.utfpr.bankapi.model;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class MoneyTest {
+
+    @Test
+    void deveriaSomarCentavosSemErroDeArredondamento() {
+        // ### ARRANGE ###
+        long saldo = 0;
+
+        // ### ACT ###
+        // Em double, somar 0.1 dez vezes resulta em 0.9999999999999999
+        for (int i = 0; i < 10; i++)
+            saldo = Money.add(saldo, Money.of(new BigDecimal("0.10")));
+
+        // ### ASSERT ###
+        Assertions.assertEquals(Money.ofUnits(1), saldo);
+        Assertions.assertEquals("1.00", Money.format(saldo));
+    }
+
+    @Test
+    void deveriaConverterDecimais() {
+        // ### ACT & ASSERT ###
+        Assertions.assertEquals(15085, Money.of(new BigDecimal("150.85")));
+        Assertions.assertEquals(100, Money.of(new BigDecimal("1")));
+        Assertions.assertEquals(new BigDecimal("-0.05"), Money.toBigDecimal(-5));
+        Assertions.assertEquals(15085, Money.ofDouble(150.85));
+    }
+
+    @Test
+    void deveriaRejeitarMaisDeDuasCasasDecimais() {
+        // ### ACT & ASSERT ###
+        Assertions.assertThrows(ArithmeticException.class, () -> Money.of(new BigDecimal("10.005")));
+    }
+
+    @Test
+    void deveriaLancarExcecaoEmCasoDeEstouro() {
+        // ### ACT & ASSERT ###
+        Assertions.assertThrows(ArithmeticException.class, () -> Money.add(Long.MAX_VALUE, 1));
+    }
+}
@@ -0,0 +1,41 @@
+package br.edu.utfpr.bankapi.outbox;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+class FileOutboxSinkTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void deveriaRotacionarOArquivoAoAtingirOTamanhoMaximo() throws Exception {
+        // ### ARRANGE ###
+        var file = directory.resolve("postings.ndjson");
+        var sink = new FileOutboxSink(file, DataSize.ofBytes(1), 2);
+
+        // ### ACT ###
+        try {
+            for (long id = 1; id <= 4; id++)
+                sink.publish(List.of(new OutboxEvent(id, 12345, "{\"id\":" + id + "}", LocalDateTime.now())));
+        } finally {
+            sink.close();
+        }
+
+        // ### ASSERT ###
+        Assertions.assertEquals(List.of("{\"id\":4}"), Files.readAllLines(file));
+        // Apenas os dois arquivos renomeados mais recentes são mantidos
+        Assertions.assertFalse(Files.exists(directory.resolve("postings.ndjson.0000000000000000002")));
+        Assertions.assertEquals(List.of("{\"id\":2}"),
+                Files.readAllLines(directory.resolve("postings.ndjson.0000000000000000003")));
+        Assertions.assertEquals(List.of("{\"id\":3}"),
+                Files.readAllLines(directory.resolve("postings.ndjson.0000000000000000004")));
+    }
+}
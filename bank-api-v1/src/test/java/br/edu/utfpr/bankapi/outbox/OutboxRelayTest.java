@@ -0,0 +1,74 @@
+package br.edu.utfpr.bankapi.outbox;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.BDDMockito;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    @Mock
+    JdbcTemplate jdbcTemplate;
+
+    @Mock
+    TransactionTemplate transactionTemplate;
+
+    @Mock
+    OutboxSink sink;
+
+    @InjectMocks
+    OutboxRelay outboxRelay;
+
+    List<OutboxEvent> events = List.of(
+            new OutboxEvent(1, 11111, "{}", LocalDateTime.now()),
+            new OutboxEvent(2, 12346, "{}", LocalDateTime.now()));
+
+    @BeforeEach
+    void setUp() {
+        BDDMockito.given(transactionTemplate.execute(BDDMockito.any())).willAnswer(invocation -> invocation
+                .getArgument(0, TransactionCallback.class).doInTransaction(BDDMockito.mock(TransactionStatus.class)));
+        BDDMockito.given(jdbcTemplate.query(BDDMockito.anyString(), BDDMockito.<RowMapper<OutboxEvent>>any(),
+                BDDMockito.eq(500))).willReturn(events);
+    }
+
+    @Test
+    void deveriaRemoverOsEventosDepoisDePublicados() throws Exception {
+        // ### ACT ###
+        int count = outboxRelay.relayBatch();
+
+        // ### ASSERT ###
+        Assertions.assertEquals(2, count);
+        var inOrder = BDDMockito.inOrder(sink, jdbcTemplate);
+        inOrder.verify(sink).publish(events);
+        inOrder.verify(jdbcTemplate).batchUpdate(BDDMockito.startsWith("DELETE"),
+                BDDMockito.<List<Object[]>>argThat(ids -> ids.size() == 2));
+    }
+
+    @Test
+    void deveriaManterOsEventosQuandoAPublicacaoFalha() throws Exception {
+        // ### ARRANGE ###
+        BDDMockito.willThrow(new IOException("disco cheio")).given(sink).publish(events);
+
+        // ### ACT ###
+        // A falha é registrada e o lote é publicado novamente no próximo ciclo
+        outboxRelay.relay();
+
+        // ### ASSERT ###
+        BDDMockito.then(jdbcTemplate).should(BDDMockito.never()).batchUpdate(BDDMockito.anyString(),
+                BDDMockito.<List<Object[]>>any());
+    }
+}
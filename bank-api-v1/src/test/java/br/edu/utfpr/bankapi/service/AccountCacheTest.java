@@ -0,0 +1,79 @@
+package br.edu.utfpr.bankapi.service;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.BDDMockito;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.repository.AccountRepository;
+
+@ExtendWith(MockitoExtension.class)
+class AccountCacheTest {
+
+    @Mock
+    AccountRepository accountRepository;
+
+    AccountCache accountCache;
+
+    @BeforeEach
+    void setUp() {
+        accountCache = new AccountCache(100, Duration.ofMinutes(10));
+        ReflectionTestUtils.setField(accountCache, "accountRepository", accountRepository);
+    }
+
+    @Test
+    void deveriaConsultarOBancoApenasNaPrimeiraVez() {
+        // ### ARRANGE ###
+        BDDMockito.given(accountRepository.getByNumber(12345))
+                .willReturn(Optional.of(new Account(1L, "John Smith", 12345, 1000, 500)));
+
+        // ### ACT ###
+        accountCache.get(12345);
+        var account = accountCache.get(12345);
+
+        // ### ASSERT ###
+        BDDMockito.then(accountRepository).should(BDDMockito.times(1)).getByNumber(12345);
+        Assertions.assertEquals(1L, account.get().id());
+        Assertions.assertEquals(500, account.get().specialLimit());
+        Assertions.assertEquals(1, accountCache.stats().hitCount());
+        Assertions.assertEquals(1, accountCache.stats().missCount());
+    }
+
+    @Test
+    void deveriaConsultarOBancoNovamenteAposInvalidar() {
+        // ### ARRANGE ###
+        BDDMockito.given(accountRepository.getByNumber(12345))
+                .willReturn(Optional.of(new Account(1L, "John Smith", 12345, 1000, 500)));
+        accountCache.get(12345);
+
+        // ### ACT ###
+        accountCache.invalidate(12345);
+        accountCache.get(12345);
+
+        // ### ASSERT ###
+        BDDMockito.then(accountRepository).should(BDDMockito.times(2)).getByNumber(12345);
+    }
+
+    @Test
+    void naoDeveriaArmazenarContaInexistente() {
+        // ### ARRANGE ###
+        BDDMockito.given(accountRepository.getByNumber(99999)).willReturn(Optional.empty());
+
+        // ### ACT ###
+        var first = accountCache.get(99999);
+        var second = accountCache.get(99999);
+
+        // ### ASSERT ###
+        Assertions.assertTrue(first.isEmpty());
+        Assertions.assertTrue(second.isEmpty());
+        BDDMockito.then(accountRepository).should(BDDMockito.times(2)).getByNumber(99999);
+    }
+}
@@ -0,0 +1,49 @@
+package br.edu.utfpr.bankapi.service;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class AccountNumberFilterTest {
+
+    @Test
+    void naoDeveriaRejeitarNumerosInseridos() {
+        // ### ARRANGE ###
+        var bits = new AccountNumberFilter.Bits(10_000, 0.01);
+
+        // ### ACT ###
+        for (long number = 10_000; number < 20_000; number++)
+            bits.put(number);
+
+        // ### ASSERT ###
+        for (long number = 10_000; number < 20_000; number++)
+            Assertions.assertTrue(bits.mightContain(number));
+        Assertions.assertEquals(10_000, bits.count());
+    }
+
+    @Test
+    void deveriaManterTaxaDeFalsosPositivosProximaDaConfigurada() {
+        // ### ARRANGE ###
+        var bits = new AccountNumberFilter.Bits(10_000, 0.01);
+        for (long number = 0; number < 10_000; number++)
+            bits.put(number);
+
+        // ### ACT ###
+        int falsePositives = 0;
+        for (long number = 1_000_000; number < 1_100_000; number++)
+            if (bits.mightContain(number))
+                falsePositives++;
+
+        // ### ASSERT ###
+        Assertions.assertTrue(falsePositives < 2_000, "falsos positivos: " + falsePositives);
+        Assertions.assertEquals(0.01, bits.falsePositiveRate(), 0.005);
+    }
+
+    @Test
+    void naoDeveriaRejeitarContasAntesDaConstrucao() {
+        // ### ARRANGE ###
+        var filter = new AccountNumberFilter();
+
+        // ### ACT & ASSERT ###
+        Assertions.assertFalse(filter.isAbsent(12345));
+    }
+}
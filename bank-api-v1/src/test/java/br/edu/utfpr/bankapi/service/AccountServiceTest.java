@@ -1,7 +1,9 @@
 package br.edu.utfpr.bankapi.service;
 
 import br.edu.utfpr.bankapi.dto.AccountDTO;
+import br.edu.utfpr.bankapi.dto.PageDTO;
 import br.edu.utfpr.bankapi.exception.NotFoundException;
+import br.edu.utfpr.bankapi.ledger.LedgerEngine;
 import br.edu.utfpr.bankapi.model.Account;
 import br.edu.utfpr.bankapi.repository.AccountRepository;
 import org.junit.jupiter.api.Assertions;
@@ -13,6 +15,8 @@ import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.List;
 import java.util.Optional;
@@ -23,6 +27,15 @@ public class AccountServiceTest {
     @Mock
     private AccountRepository accountRepository;
 
+    @Mock
+    private AccountCache accountCache;
+
+    @Mock
+    private AccountNumberFilter accountNumberFilter;
+
+    @Mock
+    private HotAccountShards hotAccountShards;
+
     @InjectMocks
     private AccountService accountService;
 
@@ -34,21 +47,47 @@ public class AccountServiceTest {
     Account account;
 
     @Test
-    void deveriaObterTodasAsContas() {
+    void deveriaObterPrimeiraPaginaDeContas() {
         // ### ARRANGE ###
         Account account1 = new Account(1L, "Juca Silva", 11111, 0, 3000);
         Account account2 = new Account(2L, "Ana Campos", 12346, 0, 0);
-        
-        BDDMockito.when(accountRepository.findAll()).thenReturn(List.of(account1, account2));
+
+        BDDMockito.when(accountRepository.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.ofSize(2)))
+                .thenReturn(List.of(account1, account2));
+
+        // ### ACT ###
+        PageDTO<Account> page = accountService.getPage(null, 2);
+
+        // ### ASSERT ###
+        Assertions.assertNotNull(page);
+        Assertions.assertEquals(2, page.items().size());
+        Assertions.assertEquals("Juca Silva", page.items().get(0).getName());
+        Assertions.assertEquals("Ana Campos", page.items().get(1).getName());
+        // Página completa: deveria haver cursor para a próxima página a partir do último id
+        Assertions.assertEquals("2", Cursors.decode(page.nextCursor(), 1)[0]);
+    }
+
+    @Test
+    void deveriaObterUltimaPaginaDeContasSemCursor() {
+        // ### ARRANGE ###
+        Account account3 = new Account(3L, "Paula Tejando", 22222, 0, 0);
+
+        BDDMockito.when(accountRepository.findByIdGreaterThanOrderByIdAsc(2L, PageRequest.ofSize(2)))
+                .thenReturn(List.of(account3));
 
         // ### ACT ###
-        List<Account> accounts = accountService.getAll();
+        PageDTO<Account> page = accountService.getPage(Cursors.encode(2L), 2);
 
         // ### ASSERT ###
-        Assertions.assertNotNull(accounts);
-        Assertions.assertEquals(2, accounts.size());
-        Assertions.assertEquals("Juca Silva", accounts.get(0).getName());
-        Assertions.assertEquals("Ana Campos", accounts.get(1).getName());
+        Assertions.assertEquals(1, page.items().size());
+        Assertions.assertNull(page.nextCursor());
+    }
+
+    @Test
+    void deveriaRecusarTamanhoDePaginaInvalido() {
+        // ### ACT & ASSERT ###
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> accountService.getPage(null, AccountService.MAX_PAGE_SIZE + 1));
     }
 
     @Test
@@ -110,6 +149,8 @@ public class AccountServiceTest {
         Assertions.assertNotNull(result);
         Assertions.assertEquals("Juca Silva de Pedra", accountSalva.getName());
         Assertions.assertEquals(4000, accountSalva.getSpecialLimit());
+        // Os dados em cache da conta deveriam ser descartados
+        BDDMockito.then(accountCache).should(BDDMockito.atLeastOnce()).invalidate(11111);
     }
 
     @Test
@@ -131,4 +172,20 @@ public class AccountServiceTest {
         // Verifica que o método save nunca foi chamado
         BDDMockito.then(accountRepository).should(BDDMockito.never()).save(BDDMockito.any());
     }
+
+    @Test
+    void deveriaObterSaldoDoLivroRazaoEmMemoria() {
+        // ### ARRANGE ###
+        var ledgerEngine = BDDMockito.mock(LedgerEngine.class);
+        ReflectionTestUtils.setField(accountService, "ledgerEngine", ledgerEngine);
+        BDDMockito.given(ledgerEngine.find(12345)).willReturn(Optional.of(new Account(1L, "John Smith", 12345, 700, 0)));
+
+        // ### ACT ###
+        var found = accountService.getByNumber(12345);
+
+        // ### ASSERT ###
+        Assertions.assertEquals(700, found.orElseThrow().getBalance());
+        // O saldo do banco pode ainda não ter recebido os lançamentos em memória
+        BDDMockito.then(accountRepository).shouldHaveNoInteractions();
+    }
 }
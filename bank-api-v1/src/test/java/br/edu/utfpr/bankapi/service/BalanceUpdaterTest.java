@@ -0,0 +1,130 @@
+package br.edu.utfpr.bankapi.service;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.BDDMockito;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import br.edu.utfpr.bankapi.exception.NotFoundException;
+import br.edu.utfpr.bankapi.exception.WithoutBalanceException;
+import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.repository.AccountRepository;
+import br.edu.utfpr.bankapi.validations.AvailableAccountValidation;
+
+@ExtendWith(MockitoExtension.class)
+class BalanceUpdaterTest {
+
+    @Mock
+    AccountRepository accountRepository;
+
+    @Mock
+    AccountNumberFilter accountNumberFilter;
+
+    @Mock
+    HotAccountShards hotAccountShards;
+
+    @Mock
+    AvailableAccountValidation availableAccountValidation;
+
+    @Mock
+    JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    BalanceUpdater balanceUpdater;
+
+    @Test
+    void deveriaDebitarSemConsultarAConta() throws NotFoundException {
+        // ### ARRANGE ###
+        BDDMockito.given(accountRepository.debit(12345, 100)).willReturn(1);
+
+        // ### ACT ###
+        balanceUpdater.debit(12345, 100);
+
+        // ### ASSERT ###
+        BDDMockito.then(accountRepository).should(BDDMockito.never()).existsByNumber(BDDMockito.anyLong());
+    }
+
+    @Test
+    void deveriaObterOIdDaContaPeloProprioUpdateNoPostgreSQL() throws NotFoundException {
+        // ### ARRANGE ###
+        ReflectionTestUtils.setField(balanceUpdater, "platform", "postgresql");
+        var account = new Account(1L, "Power Guido", 12345, 0, 0);
+        BDDMockito.given(jdbcTemplate.queryForList(BDDMockito.anyString(), BDDMockito.eq(Long.class),
+                BDDMockito.eq(100L), BDDMockito.eq(12345L), BDDMockito.eq(100L))).willReturn(List.of(1L));
+        BDDMockito.given(accountRepository.getReferenceById(1L)).willReturn(account);
+
+        // ### ACT ###
+        var debited = balanceUpdater.debit(12345, 100);
+
+        // ### ASSERT ###
+        Assertions.assertSame(account, debited);
+        BDDMockito.then(availableAccountValidation).shouldHaveNoInteractions();
+        BDDMockito.then(accountRepository).should(BDDMockito.never()).debit(BDDMockito.anyLong(),
+                BDDMockito.anyLong());
+    }
+
+    @Test
+    void deveriaLancarWithoutBalanceExceptionQuandoDebitoNaoAlterarConta() {
+        // ### ARRANGE ###
+        BDDMockito.given(accountRepository.debit(12345, 100)).willReturn(0);
+        BDDMockito.given(accountRepository.existsByNumber(12345)).willReturn(true);
+
+        // ### ACT & ASSERT ###
+        Assertions.assertThrows(WithoutBalanceException.class, () -> balanceUpdater.debit(12345, 100));
+    }
+
+    @Test
+    void deveriaLancarNotFoundExceptionAoDebitarContaInexistente() {
+        // ### ARRANGE ###
+        BDDMockito.given(accountRepository.debit(99999, 100)).willReturn(0);
+        BDDMockito.given(accountRepository.existsByNumber(99999)).willReturn(false);
+
+        // ### ACT & ASSERT ###
+        var exception = Assertions.assertThrows(NotFoundException.class, () -> balanceUpdater.debit(99999, 100));
+        Assertions.assertEquals("Conta 99999 inexistente", exception.getMessage());
+    }
+
+    @Test
+    void deveriaIncorporarAsParcelasEDebitarNovamente() throws NotFoundException {
+        // ### ARRANGE ###
+        // O saldo da conta não basta, mas as parcelas somam R$ 5,00
+        BDDMockito.given(accountRepository.debit(12345, 100)).willReturn(0, 1);
+        BDDMockito.given(hotAccountShards.sweep(12345)).willReturn(500L);
+
+        // ### ACT ###
+        balanceUpdater.debit(12345, 100);
+
+        // ### ASSERT ###
+        BDDMockito.then(accountRepository).should(BDDMockito.times(2)).debit(12345, 100);
+        BDDMockito.then(accountRepository).should(BDDMockito.never()).existsByNumber(BDDMockito.anyLong());
+    }
+
+    @Test
+    void deveriaCreditarEmUmaParcelaSemAlterarAConta() throws NotFoundException {
+        // ### ARRANGE ###
+        BDDMockito.given(hotAccountShards.credit(12345, 100)).willReturn(true);
+
+        // ### ACT ###
+        balanceUpdater.credit(12345, 100);
+
+        // ### ASSERT ###
+        BDDMockito.then(accountRepository).should(BDDMockito.never()).credit(BDDMockito.anyLong(),
+                BDDMockito.anyLong());
+    }
+
+    @Test
+    void deveriaLancarNotFoundExceptionAoCreditarContaInexistente() {
+        // ### ARRANGE ###
+        BDDMockito.given(accountRepository.credit(99999, 100)).willReturn(0);
+
+        // ### ACT & ASSERT ###
+        Assertions.assertThrows(NotFoundException.class, () -> balanceUpdater.credit(99999, 100));
+    }
+}
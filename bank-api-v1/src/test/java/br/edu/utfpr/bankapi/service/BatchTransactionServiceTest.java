@@ -0,0 +1,217 @@
+package br.edu.utfpr.bankapi.service;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.BDDMockito;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import br.edu.utfpr.bankapi.dto.BatchDTO;
+import br.edu.utfpr.bankapi.dto.BatchItemDTO;
+import br.edu.utfpr.bankapi.dto.BatchMode;
+import br.edu.utfpr.bankapi.dto.DepositDTO;
+import br.edu.utfpr.bankapi.dto.TransactionResponseDTO;
+import br.edu.utfpr.bankapi.dto.WithdrawDTO;
+import br.edu.utfpr.bankapi.exception.BatchRejectedException;
+import br.edu.utfpr.bankapi.exception.UnsupportedBatchModeException;
+import br.edu.utfpr.bankapi.exception.WithoutBalanceException;
+import br.edu.utfpr.bankapi.ledger.LedgerEngine;
+import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.model.Transaction;
+import br.edu.utfpr.bankapi.model.TransactionType;
+import br.edu.utfpr.bankapi.outbox.OutboxWriter;
+import br.edu.utfpr.bankapi.repository.AccountRepository;
+import br.edu.utfpr.bankapi.repository.TransactionRepository;
+import br.edu.utfpr.bankapi.validations.AvailableBalanceValidation;
+
+@ExtendWith(MockitoExtension.class)
+class BatchTransactionServiceTest {
+
+    @Mock
+    AccountRepository accountRepository;
+
+    @Mock
+    TransactionRepository transactionRepository;
+
+    @Mock
+    OutboxWriter outboxWriter;
+
+    @Mock
+    HotAccountShards hotAccountShards;
+
+    @Mock
+    PlatformTransactionManager transactionManager;
+
+    @Spy
+    AvailableBalanceValidation availableBalanceValidation;
+
+    @InjectMocks
+    BatchTransactionService batchTransactionService;
+
+    @Test
+    void deveriaAplicarItensEmOrdemComUmaUnicaConsulta() {
+        // ### ARRANGE ###
+        Account conta1 = new Account(1L, "Paula Tejando", 11111, 0, 0);
+        Account conta2 = new Account(2L, "Ana Campos", 12346, 0, 0);
+
+        BDDMockito.given(accountRepository.findByNumberInForUpdate(Set.of(11111L, 12346L)))
+                .willReturn(List.of(conta1, conta2));
+
+        // O saque só é possível por causa do depósito e da transferência anteriores
+        BatchDTO batchDTO = new BatchDTO(BatchMode.ALL_OR_NOTHING, List.of(
+                new BatchItemDTO(TransactionType.DEPOSIT, null, 11111L, 1000),
+                new BatchItemDTO(TransactionType.TRANSFER, 11111L, 12346L, 600),
+                new BatchItemDTO(TransactionType.WITHDRAW, 12346L, null, 500)));
+
+        // ### ACT ###
+        var result = batchTransactionService.execute(batchDTO);
+
+        // ### ASSERT ###
+        Assertions.assertTrue(result.committed());
+        Assertions.assertTrue(result.items().stream().allMatch(item -> item.success()));
+        Assertions.assertEquals(400, conta1.getBalance());
+        Assertions.assertEquals(100, conta2.getBalance());
+        BDDMockito.then(transactionRepository).should().saveAll(BDDMockito.argThat((List<Transaction> list) -> list.size() == 3));
+        // Eventos de todas as transações do lote gravados juntos
+        BDDMockito.then(outboxWriter).should().append(BDDMockito.argThat((List<TransactionResponseDTO> list) -> list.size() == 3));
+    }
+
+    @Test
+    void deveriaRejeitarLoteAllOrNothingComItemInvalido() {
+        // ### ARRANGE ###
+        Account conta1 = new Account(1L, "Paula Tejando", 11111, 100, 0);
+
+        BDDMockito.given(accountRepository.findByNumberInForUpdate(Set.of(11111L, 99999L)))
+                .willReturn(List.of(conta1));
+
+        BatchDTO batchDTO = new BatchDTO(BatchMode.ALL_OR_NOTHING, List.of(
+                new BatchItemDTO(TransactionType.WITHDRAW, 11111L, null, 50),
+                new BatchItemDTO(TransactionType.DEPOSIT, null, 99999L, 50)));
+
+        // ### ACT & ASSERT ###
+        var exception = Assertions.assertThrows(BatchRejectedException.class,
+                () -> batchTransactionService.execute(batchDTO));
+
+        Assertions.assertFalse(exception.getResult().committed());
+        Assertions.assertEquals("Conta 99999 inexistente", exception.getResult().items().get(1).error());
+        // O item válido é informado como não aplicado
+        Assertions.assertNotNull(exception.getResult().items().get(0));
+        Assertions.assertFalse(exception.getResult().items().get(0).success());
+        BDDMockito.then(transactionRepository).shouldHaveNoInteractions();
+    }
+
+    @Test
+    void deveriaIgnorarItensInvalidosNoModoBestEffort() {
+        // ### ARRANGE ###
+        Account conta1 = new Account(1L, "Paula Tejando", 11111, 100, 0);
+
+        BDDMockito.given(accountRepository.findByNumberInForUpdate(Set.of(11111L)))
+                .willReturn(List.of(conta1));
+
+        BatchDTO batchDTO = new BatchDTO(BatchMode.BEST_EFFORT, List.of(
+                new BatchItemDTO(TransactionType.WITHDRAW, 11111L, null, 500),
+                new BatchItemDTO(TransactionType.WITHDRAW, 11111L, null, 50)));
+
+        // ### ACT ###
+        var result = batchTransactionService.execute(batchDTO);
+
+        // ### ASSERT ###
+        Assertions.assertTrue(result.committed());
+        Assertions.assertFalse(result.items().get(0).success());
+        Assertions.assertEquals("No balance in account", result.items().get(0).error());
+        Assertions.assertTrue(result.items().get(1).success());
+        Assertions.assertEquals(50, conta1.getBalance());
+    }
+
+    @Test
+    void deveriaAplicarCadaItemEmTransacaoPropriaNoLivroRazaoTransacional() throws Exception {
+        // ### ARRANGE ###
+        var ledgerEngine = BDDMockito.mock(LedgerEngine.class);
+        ReflectionTestUtils.setField(batchTransactionService, "ledgerEngine", ledgerEngine);
+        BDDMockito.given(ledgerEngine.transactional()).willReturn(true);
+
+        var deposit = new Transaction(null, new Account(1L, "Paula Tejando", 11111, 0, 0), 50, TransactionType.DEPOSIT);
+        deposit.setId(7L);
+        BDDMockito.given(ledgerEngine.withdraw(new WithdrawDTO(11111L, 500))).willThrow(new WithoutBalanceException());
+        BDDMockito.given(ledgerEngine.deposit(new DepositDTO(11111L, 50))).willReturn(deposit);
+
+        var first = new SimpleTransactionStatus();
+        var second = new SimpleTransactionStatus();
+        BDDMockito.given(transactionManager.getTransaction(BDDMockito.argThat((TransactionDefinition definition) -> definition
+                .getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW)))
+                .willReturn(first, second);
+
+        BatchDTO batchDTO = new BatchDTO(BatchMode.BEST_EFFORT, List.of(
+                new BatchItemDTO(TransactionType.WITHDRAW, 11111L, null, 500),
+                new BatchItemDTO(TransactionType.DEPOSIT, null, 11111L, 50)));
+
+        // ### ACT ###
+        var result = batchTransactionService.execute(batchDTO);
+
+        // ### ASSERT ###
+        Assertions.assertTrue(result.committed());
+        Assertions.assertFalse(result.items().get(0).success());
+        Assertions.assertEquals(7L, result.items().get(1).transactionId());
+        // Só a transação do item com falha é desfeita
+        BDDMockito.then(transactionManager).should().rollback(first);
+        BDDMockito.then(transactionManager).should().commit(second);
+    }
+
+    @Test
+    void deveriaRejeitarLoteAllOrNothingNoLivroRazaoTransacional() throws Exception {
+        // ### ARRANGE ###
+        var ledgerEngine = BDDMockito.mock(LedgerEngine.class);
+        ReflectionTestUtils.setField(batchTransactionService, "ledgerEngine", ledgerEngine);
+        BDDMockito.given(ledgerEngine.transactional()).willReturn(true);
+
+        var deposit = new Transaction(null, new Account(1L, "Paula Tejando", 11111, 0, 0), 50, TransactionType.DEPOSIT);
+        deposit.setId(7L);
+        BDDMockito.given(ledgerEngine.deposit(new DepositDTO(11111L, 50))).willReturn(deposit);
+        BDDMockito.given(ledgerEngine.withdraw(new WithdrawDTO(11111L, 500))).willThrow(new WithoutBalanceException());
+
+        BatchDTO batchDTO = new BatchDTO(BatchMode.ALL_OR_NOTHING, List.of(
+                new BatchItemDTO(TransactionType.DEPOSIT, null, 11111L, 50),
+                new BatchItemDTO(TransactionType.WITHDRAW, 11111L, null, 500),
+                new BatchItemDTO(TransactionType.DEPOSIT, null, 11111L, 50)));
+
+        // ### ACT & ASSERT ###
+        var exception = Assertions.assertThrows(BatchRejectedException.class,
+                () -> batchTransactionService.execute(batchDTO));
+
+        var items = exception.getResult().items();
+        Assertions.assertEquals(3, items.size());
+        Assertions.assertTrue(items.stream().noneMatch(item -> item == null || item.success()));
+        Assertions.assertEquals("No balance in account", items.get(1).error());
+        // A falha interrompe o lote: o terceiro item não chega ao motor
+        BDDMockito.then(ledgerEngine).should().deposit(new DepositDTO(11111L, 50));
+        BDDMockito.then(transactionManager).shouldHaveNoInteractions();
+    }
+
+    @Test
+    void deveriaRecusarLoteAllOrNothingNoLivroRazaoEmMemoria() {
+        // ### ARRANGE ###
+        var ledgerEngine = BDDMockito.mock(LedgerEngine.class);
+        ReflectionTestUtils.setField(batchTransactionService, "ledgerEngine", ledgerEngine);
+
+        BatchDTO batchDTO = new BatchDTO(BatchMode.ALL_OR_NOTHING, List.of(
+                new BatchItemDTO(TransactionType.DEPOSIT, null, 11111L, 50)));
+
+        // ### ACT & ASSERT ###
+        Assertions.assertThrows(UnsupportedBatchModeException.class,
+                () -> batchTransactionService.execute(batchDTO));
+
+        // Nenhum item chega ao motor
+        BDDMockito.then(ledgerEngine).should().transactional();
+        BDDMockito.then(ledgerEngine).shouldHaveNoMoreInteractions();
+    }
+}
@@ -0,0 +1,129 @@
+package br.edu.utfpr.bankapi.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.BDDMockito;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.TransactionSystemException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.edu.utfpr.bankapi.dto.DepositDTO;
+import br.edu.utfpr.bankapi.dto.TransactionResponseDTO;
+import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.model.Transaction;
+import br.edu.utfpr.bankapi.outbox.OutboxWriter;
+import br.edu.utfpr.bankapi.repository.TransactionRepository;
+import br.edu.utfpr.bankapi.validations.AvailableAccountValidation;
+
+@ExtendWith(MockitoExtension.class)
+class DepositGroupCommitterTest {
+
+    @Mock
+    TransactionService transactionService;
+
+    @Mock
+    TransactionRepository transactionRepository;
+
+    @Mock
+    AvailableAccountValidation availableAccountValidation;
+
+    @Mock
+    BalanceUpdater balanceUpdater;
+
+    @Mock
+    OutboxWriter outboxWriter;
+
+    @Mock
+    TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    DepositGroupCommitter depositGroupCommitter;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        depositGroupCommitter.stop();
+    }
+
+    @Test
+    void deveriaGravarDepositosSimultaneosNaMesmaContaComUmUnicoCredito() throws Exception {
+        // ### ARRANGE ###
+        ReflectionTestUtils.setField(depositGroupCommitter, "workers", 1);
+        // Prazo longo o bastante para os três depósitos entrarem no mesmo lote
+        ReflectionTestUtils.setField(depositGroupCommitter, "flushInterval", Duration.ofMillis(500));
+        ReflectionTestUtils.setField(depositGroupCommitter, "maxBatchSize", 3);
+        depositGroupCommitter.start();
+
+        BDDMockito.given(transactionTemplate.execute(BDDMockito.any())).willAnswer(invocation -> invocation
+                .getArgument(0, TransactionCallback.class).doInTransaction(BDDMockito.mock(TransactionStatus.class)));
+        var account = new Account(1L, "Power Guido", 12345, 0, 0);
+        BDDMockito.given(balanceUpdater.credit(12345, 600)).willReturn(account);
+
+        // ### ACT ###
+        var responses = new ArrayList<Future<TransactionResponseDTO>>();
+        try (var executor = Executors.newFixedThreadPool(3)) {
+            for (int i = 1; i <= 3; i++) {
+                var amount = i * 100;
+                responses.add(executor.submit(() -> depositGroupCommitter.deposit(new DepositDTO(12345, amount))));
+            }
+        }
+
+        // ### ASSERT ###
+        var amounts = new ArrayList<Long>();
+        for (var response : responses) {
+            Assertions.assertEquals(12345L, response.get().receiverAccountNumber());
+            amounts.add(response.get().amount());
+        }
+        Assertions.assertTrue(amounts.containsAll(List.of(100L, 200L, 300L)));
+
+        BDDMockito.then(balanceUpdater).should().credit(12345, 600);
+        BDDMockito.then(transactionRepository).should()
+                .saveAll(BDDMockito.argThat((List<Transaction> list) -> list.size() == 3
+                        && list.stream().allMatch(transaction -> transaction.getReceiverAccount() == account)));
+        BDDMockito.then(transactionService).shouldHaveNoInteractions();
+        BDDMockito.then(availableAccountValidation).should(BDDMockito.never()).reference(BDDMockito.anyLong());
+    }
+
+    @Test
+    void naoDeveriaRegravarLoteComFalhaNaConfirmacao() throws Exception {
+        // ### ARRANGE ###
+        ReflectionTestUtils.setField(depositGroupCommitter, "workers", 1);
+        depositGroupCommitter.start();
+
+        // O lote é escrito, mas a confirmação falha: pode ter sido gravado
+        BDDMockito.given(transactionTemplate.execute(BDDMockito.any())).willAnswer(invocation -> {
+            invocation.getArgument(0, TransactionCallback.class).doInTransaction(BDDMockito.mock(TransactionStatus.class));
+            throw new TransactionSystemException("Conexão perdida na confirmação");
+        });
+
+        // ### ACT & ASSERT ###
+        Assertions.assertThrows(TransactionSystemException.class,
+                () -> depositGroupCommitter.deposit(new DepositDTO(12345, 100)));
+        BDDMockito.then(transactionService).shouldHaveNoInteractions();
+    }
+
+    @Test
+    void deveriaRecusarDepositosAposOEncerramento() throws Exception {
+        // ### ARRANGE ###
+        ReflectionTestUtils.setField(depositGroupCommitter, "workers", 1);
+        depositGroupCommitter.start();
+        depositGroupCommitter.stop();
+
+        // ### ACT & ASSERT ###
+        Assertions.assertThrows(IllegalStateException.class,
+                () -> depositGroupCommitter.deposit(new DepositDTO(12345, 100)));
+        BDDMockito.then(transactionTemplate).shouldHaveNoInteractions();
+    }
+}
@@ -9,12 +9,14 @@ import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import br.edu.utfpr.bankapi.dto.DepositDTO;
 import br.edu.utfpr.bankapi.exception.NotFoundException;
 import br.edu.utfpr.bankapi.model.Account;
 import br.edu.utfpr.bankapi.model.Transaction;
 import br.edu.utfpr.bankapi.model.TransactionType;
+import br.edu.utfpr.bankapi.outbox.OutboxWriter;
 import br.edu.utfpr.bankapi.repository.AccountRepository;
 import br.edu.utfpr.bankapi.repository.TransactionRepository;
 import br.edu.utfpr.bankapi.validations.AvailableAccountValidation;
@@ -32,6 +34,9 @@ class DepositTest {
 	@Mock
 	TransactionRepository transactionRepository;
 
+	@Mock
+	OutboxWriter outboxWriter;
+
 	@InjectMocks
 	TransactionService service;
 
@@ -58,7 +63,8 @@ class DepositTest {
 		// Garantir que a transação foi salva
 
 		// ### ARRANGE ###
-		double saldoInicial = 150.85;
+		ReflectionTestUtils.setField(service, "lockingMode", LockingMode.NONE);
+		long saldoInicial = 15085; // R$ 150,85 em centavos
 
 		depositDTO = new DepositDTO(12345, 1000);
 		receiverAccount = new Account("John Smith", 12345, saldoInicial, 0);
@@ -0,0 +1,86 @@
+package br.edu.utfpr.bankapi.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.BDDMockito;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import br.edu.utfpr.bankapi.dto.TransactionResponseDTO;
+import br.edu.utfpr.bankapi.exception.IdempotencyConflictException;
+import br.edu.utfpr.bankapi.model.TransactionType;
+import br.edu.utfpr.bankapi.repository.TransactionRepository;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceTest {
+
+    @Mock
+    TransactionRepository transactionRepository;
+
+    IdempotencyService idempotencyService;
+
+    TransactionResponseDTO deposit = new TransactionResponseDTO(10L, TransactionType.DEPOSIT, 1000,
+            LocalDateTime.of(2024, 5, 1, 10, 0), null, 12345L);
+
+    @BeforeEach
+    void setUp() {
+        idempotencyService = new IdempotencyService(100, Duration.ofMinutes(10));
+        ReflectionTestUtils.setField(idempotencyService, "transactionRepository", transactionRepository);
+    }
+
+    @Test
+    void deveriaExecutarApenasUmaVezPorChave() throws Exception {
+        // ### ARRANGE ###
+        var executions = new AtomicInteger();
+        IdempotencyService.Operation operation = key -> {
+            executions.incrementAndGet();
+            return deposit;
+        };
+
+        // ### ACT ###
+        var first = idempotencyService.execute("chave-1", TransactionType.DEPOSIT, null, 12345L, 1000, operation);
+        var replay = idempotencyService.execute("chave-1", TransactionType.DEPOSIT, null, 12345L, 1000, operation);
+
+        // ### ASSERT ###
+        Assertions.assertEquals(1, executions.get());
+        Assertions.assertFalse(first.replayed());
+        Assertions.assertTrue(replay.replayed());
+        Assertions.assertEquals(first.response(), replay.response());
+        // A repetição encontrada em memória não consulta o banco
+        BDDMockito.then(transactionRepository).shouldHaveNoInteractions();
+    }
+
+    @Test
+    void deveriaDevolverATransacaoGravadaQuandoAChaveJaExistirNoBanco() throws Exception {
+        // ### ARRANGE ###
+        BDDMockito.given(transactionRepository.findResponseByIdempotencyKey("chave-1")).willReturn(Optional.of(deposit));
+
+        // ### ACT ###
+        var result = idempotencyService.execute("chave-1", TransactionType.DEPOSIT, null, 12345L, 1000, key -> {
+            throw new DataIntegrityViolationException("uk_transaction_idempotency_key");
+        });
+
+        // ### ASSERT ###
+        Assertions.assertTrue(result.replayed());
+        Assertions.assertEquals(10L, result.response().id());
+    }
+
+    @Test
+    void deveriaRejeitarChaveReutilizadaEmOutraRequisicao() throws Exception {
+        // ### ARRANGE ###
+        idempotencyService.execute("chave-1", TransactionType.DEPOSIT, null, 12345L, 1000, key -> deposit);
+
+        // ### ACT & ASSERT ###
+        Assertions.assertThrows(IdempotencyConflictException.class, () -> idempotencyService.execute("chave-1",
+                TransactionType.DEPOSIT, null, 12345L, 2000, key -> deposit));
+    }
+}
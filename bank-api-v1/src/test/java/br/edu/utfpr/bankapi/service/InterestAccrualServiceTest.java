@@ -0,0 +1,116 @@
+package br.edu.utfpr.bankapi.service;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.BDDMockito;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.edu.utfpr.bankapi.dto.InterestAccrualResultDTO;
+import br.edu.utfpr.bankapi.dto.TransactionResponseDTO;
+import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.model.Transaction;
+import br.edu.utfpr.bankapi.model.TransactionType;
+import br.edu.utfpr.bankapi.outbox.OutboxWriter;
+import br.edu.utfpr.bankapi.repository.AccountRepository;
+import br.edu.utfpr.bankapi.repository.TransactionRepository;
+
+@ExtendWith(MockitoExtension.class)
+class InterestAccrualServiceTest {
+
+    @Mock
+    JdbcTemplate jdbcTemplate;
+
+    @Mock
+    TransactionTemplate transactionTemplate;
+
+    @Mock
+    AccountRepository accountRepository;
+
+    @Mock
+    TransactionRepository transactionRepository;
+
+    @Mock
+    OutboxWriter outboxWriter;
+
+    @Mock
+    HotAccountShards hotAccountShards;
+
+    @Mock
+    ResultSet resultSet;
+
+    @InjectMocks
+    InterestAccrualService interestAccrualService;
+
+    @Captor
+    ArgumentCaptor<List<Transaction>> transactionsCaptor;
+
+    @Captor
+    ArgumentCaptor<List<TransactionResponseDTO>> postingsCaptor;
+
+    @Test
+    void deveriaCreditarJurosIgnorandoBlocosJaProcessados() throws Exception {
+        // ### ARRANGE ###
+        ReflectionTestUtils.setField(interestAccrualService, "rate", 1.5f);
+        var date = LocalDate.of(2024, 5, 1);
+        var account = new Account(1L, "Juca Silva", 11111, 100_000, 0);
+
+        // Contas com ids até 2500: blocos 0, 1000 e 2000; o bloco 1000 já foi processado
+        BDDMockito.given(jdbcTemplate.queryForObject(BDDMockito.anyString(), BDDMockito.eq(Long.class)))
+                .willReturn(2500L);
+        BDDMockito.given(jdbcTemplate.queryForList(BDDMockito.anyString(), BDDMockito.eq(Long.class),
+                BDDMockito.eq(Date.valueOf(date)))).willReturn(List.of(1000L));
+        BDDMockito.given(transactionTemplate.execute(BDDMockito.any())).willAnswer(invocation -> invocation
+                .getArgument(0, TransactionCallback.class).doInTransaction(BDDMockito.mock(TransactionStatus.class)));
+
+        // Apenas a conta 1 (R$ 1.000,00) no bloco 0
+        BDDMockito.given(resultSet.getLong(1)).willReturn(1L);
+        BDDMockito.given(resultSet.getLong(2)).willReturn(11111L);
+        BDDMockito.given(resultSet.getLong(3)).willReturn(100_000L);
+        BDDMockito.willAnswer(invocation -> {
+            if (invocation.getArgument(2, Long.class) == 0L)
+                invocation.getArgument(1, RowCallbackHandler.class).processRow(resultSet);
+            return null;
+        }).given(jdbcTemplate).query(BDDMockito.anyString(), BDDMockito.any(RowCallbackHandler.class),
+                BDDMockito.anyLong(), BDDMockito.anyLong());
+        BDDMockito.given(accountRepository.getReferenceById(1L)).willReturn(account);
+
+        // ### ACT ###
+        InterestAccrualResultDTO result = interestAccrualService.accrue(date);
+
+        // ### ASSERT ###
+        Assertions.assertEquals(2, result.chunks());
+        Assertions.assertEquals(1, result.skippedChunks());
+        Assertions.assertEquals(1, result.accounts());
+        Assertions.assertEquals(1500, result.interest());
+
+        BDDMockito.then(transactionRepository).should(BDDMockito.times(2)).saveAll(transactionsCaptor.capture());
+        var deposits = transactionsCaptor.getAllValues().stream().flatMap(List::stream).toList();
+        Assertions.assertEquals(1, deposits.size());
+        Assertions.assertEquals(TransactionType.DEPOSIT, deposits.get(0).getType());
+        Assertions.assertEquals(1500, deposits.get(0).getAmount());
+        Assertions.assertEquals(account, deposits.get(0).getReceiverAccount());
+
+        // Um evento por depósito, com o número da conta lido junto com o saldo
+        BDDMockito.then(outboxWriter).should(BDDMockito.times(2)).append(postingsCaptor.capture());
+        var postings = postingsCaptor.getAllValues().stream().flatMap(List::stream).toList();
+        Assertions.assertEquals(1, postings.size());
+        Assertions.assertEquals(11111L, postings.get(0).receiverAccountNumber());
+        Assertions.assertNull(postings.get(0).sourceAccountNumber());
+    }
+}
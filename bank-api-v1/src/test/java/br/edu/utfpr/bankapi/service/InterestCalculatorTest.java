@@ -30,4 +30,27 @@ class InterestCalculatorTest {
 		Assertions.assertEquals(93.44, jurosPorMes);
 	}
 
+	@Test
+	void deveriaCalcularJurosEmCentavos() {
+		// ### ACT ###
+		long jurosPorMes = InterestCalculator.calcularJuros(100_000L, 1.5f, 6);
+
+		// ### ASSERT ###
+		Assertions.assertEquals(9344, jurosPorMes);
+	}
+
+	@Test
+	void deveriaCalcularJurosEmLoteComOMesmoArredondamento() {
+		// ### ARRANGE ###
+		long[] valores = { 100_000, 15_085, 1, 0 };
+		long[] juros = new long[valores.length];
+
+		// ### ACT ###
+		InterestCalculator.calcularJuros(valores, valores.length, InterestCalculator.fator(1.5f, 6), juros);
+
+		// ### ASSERT ###
+		for (int i = 0; i < valores.length; i++)
+			Assertions.assertEquals(InterestCalculator.calcularJuros(valores[i], 1.5f, 6), juros[i]);
+	}
+
 }
@@ -0,0 +1,101 @@
+package br.edu.utfpr.bankapi.service;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.BDDMockito;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import br.edu.utfpr.bankapi.dto.WithdrawDTO;
+import br.edu.utfpr.bankapi.exception.ConcurrentUpdateException;
+import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.model.Transaction;
+import br.edu.utfpr.bankapi.outbox.OutboxWriter;
+import br.edu.utfpr.bankapi.repository.AccountRepository;
+import br.edu.utfpr.bankapi.repository.TransactionRepository;
+import br.edu.utfpr.bankapi.validations.AvailableAccountValidation;
+import br.edu.utfpr.bankapi.validations.AvailableBalanceValidation;
+
+@ExtendWith(MockitoExtension.class)
+class OptimisticRetryAspectTest {
+
+    @Mock
+    AvailableAccountValidation availableAccountValidation;
+
+    @Mock
+    AvailableBalanceValidation availableBalanceValidation;
+
+    @Mock
+    TransactionRepository transactionRepository;
+
+    @Mock
+    AccountRepository accountRepository;
+
+    @Mock
+    OutboxWriter outboxWriter;
+
+    @Mock
+    HotAccountShards hotAccountShards;
+
+    @InjectMocks
+    TransactionService transactionService;
+
+    @Captor
+    ArgumentCaptor<Transaction> transactionCaptor;
+
+    TransactionService proxy;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(transactionService, "lockingMode", LockingMode.OPTIMISTIC);
+
+        var factory = new AspectJProxyFactory(transactionService);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new OptimisticRetryAspect());
+        proxy = factory.getProxy();
+    }
+
+    @Test
+    void deveriaRepetirSaqueOtimistaEmCasoDeConflito() throws Exception {
+        // ### ARRANGE ###
+        var dto = new WithdrawDTO(54321, 1000);
+        var lida = new Account(1L, "Power Guido", 54321, 2000, 0);
+        var relida = new Account(1L, "Power Guido", 54321, 3000, 0);
+        relida.setVersion(1);
+
+        BDDMockito.when(availableAccountValidation.validate(54321)).thenReturn(lida, relida);
+        // A primeira gravação encontra a conta alterada por outra transação
+        BDDMockito.when(accountRepository.updateBalance(1L, 0L, 1000)).thenReturn(0);
+        BDDMockito.when(accountRepository.updateBalance(1L, 1L, 2000)).thenReturn(1);
+
+        // ### ACT ###
+        proxy.withdraw(dto);
+
+        // ### ASSERT ###
+        BDDMockito.then(transactionRepository).should().save(transactionCaptor.capture());
+        Assertions.assertEquals(2000, transactionCaptor.getValue().getSourceAccount().getBalance());
+    }
+
+    @Test
+    void deveriaDesistirDoSaqueOtimistaAposLimiteDeTentativas() throws Exception {
+        // ### ARRANGE ###
+        var dto = new WithdrawDTO(54321, 1000);
+        var account = new Account(1L, "Power Guido", 54321, 2000, 0);
+
+        BDDMockito.when(availableAccountValidation.validate(54321)).thenReturn(account);
+        BDDMockito.when(accountRepository.updateBalance(BDDMockito.anyLong(), BDDMockito.anyLong(),
+                BDDMockito.anyLong())).thenReturn(0);
+
+        // ### ACT & ASSERT ###
+        Assertions.assertThrows(ConcurrentUpdateException.class, () -> proxy.withdraw(dto));
+        BDDMockito.then(availableAccountValidation).should(BDDMockito.times(5)).validate(54321);
+        BDDMockito.then(transactionRepository).should(BDDMockito.never()).save(BDDMockito.any());
+    }
+}
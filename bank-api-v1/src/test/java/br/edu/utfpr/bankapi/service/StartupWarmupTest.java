@@ -0,0 +1,124 @@
+package br.edu.utfpr.bankapi.service;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.BDDMockito;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.edu.utfpr.bankapi.dto.DepositDTO;
+import br.edu.utfpr.bankapi.dto.TransferDTO;
+import br.edu.utfpr.bankapi.dto.WithdrawDTO;
+import br.edu.utfpr.bankapi.ledger.LedgerEngine;
+import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.repository.AccountRepository;
+
+@ExtendWith(MockitoExtension.class)
+class StartupWarmupTest {
+
+    @Mock
+    JdbcTemplate jdbcTemplate;
+
+    @Mock
+    TransactionTemplate transactionTemplate;
+
+    @Mock
+    AccountRepository accountRepository;
+
+    @Mock
+    AccountCache accountCache;
+
+    @Mock
+    AccountService accountService;
+
+    @Mock
+    TransactionService transactionService;
+
+    @Mock
+    LedgerEngine ledgerEngine;
+
+    @InjectMocks
+    StartupWarmup startupWarmup;
+
+    @Captor
+    ArgumentCaptor<Account> accountCaptor;
+
+    Account source = new Account(1L, "Power Guido", 54321, 2000, 0);
+
+    Account receiver = new Account(2L, "John Smith", 88888, 500, 0);
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void deveriaCarregarContasNoCacheENoLivroRazao() {
+        // ### ARRANGE ###
+        BDDMockito.given(jdbcTemplate.queryForObject(BDDMockito.anyString(), BDDMockito.eq(Long.class)))
+                .willReturn(250_000L);
+        BDDMockito.given(accountCache.maximumSize()).willReturn(100_000L);
+        // Apenas as contas das últimas 100.000 transações, até 10.000 contas
+        BDDMockito.given(jdbcTemplate.query(BDDMockito.anyString(), BDDMockito.any(RowMapper.class),
+                BDDMockito.eq(150_000L), BDDMockito.eq(150_000L), BDDMockito.eq(10_000)))
+                .willReturn(List.of(source, receiver));
+        BDDMockito.given(accountRepository.findByIdGreaterThanOrderByIdAsc(BDDMockito.eq(0L),
+                BDDMockito.any(Pageable.class))).willReturn(List.of(source));
+
+        // ### ACT ###
+        startupWarmup.run(null);
+
+        // ### ASSERT ###
+        BDDMockito.then(accountCache).should().put(source);
+        BDDMockito.then(accountCache).should().put(receiver);
+        BDDMockito.then(ledgerEngine).should().preload(source);
+        BDDMockito.then(ledgerEngine).should().preload(receiver);
+        // Com livro-razão em memória os lançamentos não seriam desfeitos
+        BDDMockito.then(transactionService).shouldHaveNoInteractions();
+        BDDMockito.then(accountService).should(BDDMockito.times(200)).getByNumber(54321);
+    }
+
+    @Test
+    void deveriaDesfazerLancamentosDeAquecimentoEntreContasSinteticas() throws Exception {
+        // ### ARRANGE ###
+        ReflectionTestUtils.setField(startupWarmup, "ledgerEngine", null);
+        ReflectionTestUtils.setField(startupWarmup, "iterations", 1);
+        BDDMockito.given(jdbcTemplate.queryForObject(BDDMockito.anyString(), BDDMockito.eq(Long.class)))
+                .willReturn(0L);
+        BDDMockito.given(accountRepository.findByIdGreaterThanOrderByIdAsc(BDDMockito.eq(0L),
+                BDDMockito.any(Pageable.class))).willReturn(List.of(source));
+
+        var status = BDDMockito.mock(TransactionStatus.class);
+        BDDMockito.willAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(status);
+            return null;
+        }).given(transactionTemplate).executeWithoutResult(BDDMockito.any());
+
+        // ### ACT ###
+        startupWarmup.run(null);
+
+        // ### ASSERT ###
+        BDDMockito.then(status).should().setRollbackOnly();
+        BDDMockito.then(accountRepository).should(BDDMockito.times(2)).saveAndFlush(accountCaptor.capture());
+        var synthetic = accountCaptor.getAllValues().get(0).getNumber();
+        var other = accountCaptor.getAllValues().get(1).getNumber();
+        Assertions.assertTrue(synthetic < 0 && other < 0);
+
+        BDDMockito.then(transactionService).should().deposit(new DepositDTO(synthetic, 2));
+        BDDMockito.then(transactionService).should().withdraw(new WithdrawDTO(synthetic, 1));
+        BDDMockito.then(transactionService).should().transfer(new TransferDTO(synthetic, other, 1));
+        // Nenhuma conta real é movimentada
+        BDDMockito.then(transactionService).should(BDDMockito.never()).deposit(new DepositDTO(54321, 1));
+        BDDMockito.then(accountCache).should().invalidate(synthetic);
+        BDDMockito.then(accountCache).should().invalidate(other);
+    }
+}
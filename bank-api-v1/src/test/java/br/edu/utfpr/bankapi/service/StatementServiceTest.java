@@ -0,0 +1,96 @@
+package br.edu.utfpr.bankapi.service;
+
+import br.edu.utfpr.bankapi.dto.PageDTO;
+import br.edu.utfpr.bankapi.dto.StatementEntryDTO;
+import br.edu.utfpr.bankapi.exception.NotFoundException;
+import br.edu.utfpr.bankapi.model.TransactionType;
+import br.edu.utfpr.bankapi.repository.TransactionRepository;
+import br.edu.utfpr.bankapi.validations.AvailableAccountValidation;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.BDDMockito;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@ExtendWith(MockitoExtension.class)
+public class StatementServiceTest {
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private AvailableAccountValidation availableAccountValidation;
+
+    @InjectMocks
+    private StatementService statementService;
+
+    @Test
+    void deveriaIntercalarDebitosECreditosDoMaisRecenteAoMaisAntigo() throws NotFoundException {
+        // ### ARRANGE ###
+        var account = new AccountCache.CachedAccount(1L, "Juca Silva", 11111, 0);
+        var debit1 = entry(3, LocalDateTime.of(2024, 3, 1, 10, 0), -10);
+        var debit2 = entry(1, LocalDateTime.of(2024, 1, 1, 10, 0), -20);
+        var credit1 = entry(4, LocalDateTime.of(2024, 4, 1, 10, 0), 30);
+        var credit2 = entry(2, LocalDateTime.of(2024, 2, 1, 10, 0), 40);
+
+        BDDMockito.given(availableAccountValidation.resolve(11111)).willReturn(account);
+        BDDMockito.given(transactionRepository.findDebits(ArgumentMatchers.eq(1L), ArgumentMatchers.any(),
+                ArgumentMatchers.any(), ArgumentMatchers.anyLong(), ArgumentMatchers.eq(PageRequest.ofSize(4))))
+                .willReturn(List.of(debit1, debit2));
+        BDDMockito.given(transactionRepository.findCredits(ArgumentMatchers.eq(1L), ArgumentMatchers.any(),
+                ArgumentMatchers.any(), ArgumentMatchers.anyLong(), ArgumentMatchers.eq(PageRequest.ofSize(4))))
+                .willReturn(List.of(credit1, credit2));
+
+        // ### ACT ###
+        PageDTO<StatementEntryDTO> page = statementService.getStatement(11111, null, null, null, 3);
+
+        // ### ASSERT ###
+        Assertions.assertEquals(List.of(credit1, debit1, credit2), page.items());
+        // Há mais lançamentos: o cursor aponta para o último da página
+        String[] keys = Cursors.decode(page.nextCursor(), 2);
+        Assertions.assertEquals(credit2.dateTime(), LocalDateTime.parse(keys[0]));
+        Assertions.assertEquals(2L, Long.parseLong(keys[1]));
+    }
+
+    @Test
+    void deveriaContinuarAPartirDoCursor() throws NotFoundException {
+        // ### ARRANGE ###
+        var account = new AccountCache.CachedAccount(1L, "Juca Silva", 11111, 0);
+        var date = LocalDateTime.of(2024, 2, 1, 10, 0);
+        var debit = entry(1, LocalDateTime.of(2024, 1, 1, 10, 0), -20);
+
+        BDDMockito.given(availableAccountValidation.resolve(11111)).willReturn(account);
+        BDDMockito.given(transactionRepository.findDebits(ArgumentMatchers.eq(1L), ArgumentMatchers.any(),
+                ArgumentMatchers.eq(date), ArgumentMatchers.eq(2L), ArgumentMatchers.any()))
+                .willReturn(List.of(debit));
+        BDDMockito.given(transactionRepository.findCredits(ArgumentMatchers.eq(1L), ArgumentMatchers.any(),
+                ArgumentMatchers.eq(date), ArgumentMatchers.eq(2L), ArgumentMatchers.any()))
+                .willReturn(List.of());
+
+        // ### ACT ###
+        PageDTO<StatementEntryDTO> page = statementService.getStatement(11111, null, null,
+                Cursors.encode(date, 2L), 3);
+
+        // ### ASSERT ###
+        Assertions.assertEquals(List.of(debit), page.items());
+        Assertions.assertNull(page.nextCursor());
+    }
+
+    @Test
+    void deveriaRejeitarTamanhoDePaginaInvalido() {
+        // ### ACT & ASSERT ###
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> statementService.getStatement(11111, null, null, null, 0));
+    }
+
+    private static StatementEntryDTO entry(long id, LocalDateTime dateTime, long amount) {
+        return new StatementEntryDTO(id, dateTime, TransactionType.TRANSFER, amount, null);
+    }
+}
@@ -1,5 +1,7 @@
 package br.edu.utfpr.bankapi.service;
 
+import java.util.Map;
+
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -9,12 +11,17 @@ import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import br.edu.utfpr.bankapi.dto.TransactionResponseDTO;
 import br.edu.utfpr.bankapi.dto.TransferDTO;
 import br.edu.utfpr.bankapi.dto.WithdrawDTO;
+import br.edu.utfpr.bankapi.exception.ConcurrentUpdateException;
 import br.edu.utfpr.bankapi.exception.NotFoundException;
 import br.edu.utfpr.bankapi.model.Account;
 import br.edu.utfpr.bankapi.model.Transaction;
+import br.edu.utfpr.bankapi.outbox.OutboxWriter;
+import br.edu.utfpr.bankapi.repository.AccountRepository;
 import br.edu.utfpr.bankapi.repository.TransactionRepository;
 import br.edu.utfpr.bankapi.validations.AvailableAccountValidation;
 import br.edu.utfpr.bankapi.validations.AvailableBalanceValidation;
@@ -35,6 +42,18 @@ public class TransactionServiceTest {
     @Mock
 	TransactionRepository transactionRepository;
 
+    @Mock
+    AccountRepository accountRepository;
+
+    @Mock
+    BalanceUpdater balanceUpdater;
+
+    @Mock
+    OutboxWriter outboxWriter;
+
+    @Mock
+    HotAccountShards hotAccountShards;
+
     @Mock
 	Transaction transaction;
 
@@ -58,9 +77,10 @@ public class TransactionServiceTest {
     @Test
     void deveriaSacar() throws Exception {
         // ### ARRANGE ###
+        ReflectionTestUtils.setField(transactionService, "lockingMode", LockingMode.NONE);
 
-        double valor = 1000; // Valor a ser sacado
-        double saldo = 2000; // Saldo da conta
+        long valor = 1000; // Valor a ser sacado
+        long saldo = 2000; // Saldo da conta
 
         withdrawDTO = new WithdrawDTO(54321, valor);
         withdrawAccount = new Account("Power Guido", 54321, saldo, 0);
@@ -83,10 +103,11 @@ public class TransactionServiceTest {
     @Test
     void deveriaTransferir() throws Exception {
         // ### ARRANGE ###
+        ReflectionTestUtils.setField(transactionService, "lockingMode", LockingMode.NONE);
 
-        double valor = 1000; // Valor a ser transferido
-        double saldoOrigem = 2000; // Saldo da conta de origem
-        double saldoDestino = 500; // Saldo da conta de destino
+        long valor = 1000; // Valor a ser transferido
+        long saldoOrigem = 2000; // Saldo da conta de origem
+        long saldoDestino = 500; // Saldo da conta de destino
 
         transferDTO = new TransferDTO(54321, 88888, valor);
         sourceAccount = new Account("Power Guido", 54321, saldoOrigem, 0);
@@ -108,4 +129,116 @@ public class TransactionServiceTest {
         Assertions.assertEquals(saldoOrigem - valor, transactionSalva.getSourceAccount().getBalance());
         Assertions.assertEquals(saldoDestino + valor, transactionSalva.getReceiverAccount().getBalance());
     }
+
+    @Test
+    void deveriaBloquearAsContasNaTransferenciaPessimista() throws Exception {
+        // ### ARRANGE ###
+        ReflectionTestUtils.setField(transactionService, "lockingMode", LockingMode.PESSIMISTIC);
+
+        transferDTO = new TransferDTO(54321, 88888, 1000);
+        sourceAccount = new Account("Power Guido", 54321, 2000, 0);
+        receiverAccount = new Account("John Smith", 88888, 500, 0);
+
+        BDDMockito.when(availableAccountValidation.validateForUpdate(54321, 88888))
+                .thenReturn(Map.of(54321L, sourceAccount, 88888L, receiverAccount));
+
+        // ### ACT ###
+        transactionService.transfer(transferDTO);
+
+        // ### ASSERT ###
+        BDDMockito.then(availableAccountValidation).should(BDDMockito.never()).validate(BDDMockito.anyLong());
+        BDDMockito.then(transactionRepository).should().save(transactionCaptor.capture());
+        Transaction transactionSalva = transactionCaptor.getValue();
+
+        Assertions.assertEquals(1000, transactionSalva.getSourceAccount().getBalance());
+        Assertions.assertEquals(1500, transactionSalva.getReceiverAccount().getBalance());
+    }
+
+    @Test
+    void deveriaIncorporarAsParcelasAntesDeBloquearAOrigemDoSaque() throws Exception {
+        // ### ARRANGE ###
+        ReflectionTestUtils.setField(transactionService, "lockingMode", LockingMode.PESSIMISTIC);
+
+        withdrawDTO = new WithdrawDTO(54321, 1000);
+        withdrawAccount = new Account("Power Guido", 54321, 2000, 0);
+
+        BDDMockito.when(availableAccountValidation.validateForUpdate(54321))
+                .thenReturn(Map.of(54321L, withdrawAccount));
+
+        // ### ACT ###
+        transactionService.withdraw(withdrawDTO);
+
+        // ### ASSERT ###
+        var inOrder = BDDMockito.inOrder(hotAccountShards, availableAccountValidation);
+        inOrder.verify(hotAccountShards).sweep(54321);
+        inOrder.verify(availableAccountValidation).validateForUpdate(54321);
+    }
+
+    @Test
+    void deveriaRecusarSaqueOtimistaEmCasoDeConflito() throws Exception {
+        // ### ARRANGE ###
+        ReflectionTestUtils.setField(transactionService, "lockingMode", LockingMode.OPTIMISTIC);
+
+        withdrawDTO = new WithdrawDTO(54321, 1000);
+        withdrawAccount = new Account(1L, "Power Guido", 54321, 2000, 0);
+
+        BDDMockito.when(availableAccountValidation.validate(54321)).thenReturn(withdrawAccount);
+        BDDMockito.when(accountRepository.updateBalance(BDDMockito.anyLong(), BDDMockito.anyLong(),
+                BDDMockito.anyLong())).thenReturn(0);
+
+        // ### ACT & ASSERT ###
+        // A repetição é feita fora da transação (OptimisticRetryAspect)
+        Assertions.assertThrows(ConcurrentUpdateException.class, () -> transactionService.withdraw(withdrawDTO));
+        BDDMockito.then(availableAccountValidation).should().validate(54321);
+        BDDMockito.then(transactionRepository).should(BDDMockito.never()).save(BDDMockito.any());
+    }
+
+    @Test
+    void deveriaTransferirComAtualizacaoAtomica() throws Exception {
+        // ### ARRANGE ###
+        ReflectionTestUtils.setField(transactionService, "lockingMode", LockingMode.ATOMIC);
+
+        transferDTO = new TransferDTO(54321, 88888, 1000);
+        sourceAccount = new Account("Power Guido", 54321, 1000, 0);
+        receiverAccount = new Account("John Smith", 88888, 1500, 0);
+
+        BDDMockito.when(balanceUpdater.debit(54321, 1000)).thenReturn(sourceAccount);
+        BDDMockito.when(balanceUpdater.credit(88888, 1000)).thenReturn(receiverAccount);
+
+        // ### ACT ###
+        TransactionResponseDTO response = transactionService.transfer(transferDTO);
+
+        // ### ASSERT ###
+        BDDMockito.then(balanceUpdater).should().debit(54321, 1000);
+        BDDMockito.then(balanceUpdater).should().credit(88888, 1000);
+        BDDMockito.then(availableBalanceValidation).shouldHaveNoInteractions();
+
+        BDDMockito.then(transactionRepository).should().save(transactionCaptor.capture());
+        Assertions.assertEquals(sourceAccount, transactionCaptor.getValue().getSourceAccount());
+        Assertions.assertEquals(receiverAccount, transactionCaptor.getValue().getReceiverAccount());
+        // As contas não deveriam ser lidas nem validadas: a resposta usa os números informados
+        BDDMockito.then(availableAccountValidation).shouldHaveNoInteractions();
+        Assertions.assertEquals(54321L, response.sourceAccountNumber());
+        Assertions.assertEquals(88888L, response.receiverAccountNumber());
+        // O evento do lançamento é gravado na mesma transação
+        BDDMockito.then(outboxWriter).should().append(response);
+    }
+
+    @Test
+    void deveriaAlterarAsContasEmOrdemDeNumeroNaAtualizacaoAtomica() throws Exception {
+        // ### ARRANGE ###
+        ReflectionTestUtils.setField(transactionService, "lockingMode", LockingMode.ATOMIC);
+
+        // Origem com número maior que o destino
+        transferDTO = new TransferDTO(88888, 54321, 1000);
+
+        // ### ACT ###
+        transactionService.transfer(transferDTO);
+
+        // ### ASSERT ###
+        // O destino (menor número) é bloqueado antes da origem
+        var inOrder = BDDMockito.inOrder(balanceUpdater);
+        inOrder.verify(balanceUpdater).credit(54321, 1000);
+        inOrder.verify(balanceUpdater).debit(88888, 1000);
+    }
 }
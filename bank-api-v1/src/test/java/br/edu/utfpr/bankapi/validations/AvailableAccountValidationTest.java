@@ -3,13 +3,17 @@ package br.edu.utfpr.bankapi.validations;
 import br.edu.utfpr.bankapi.exception.NotFoundException;
 import br.edu.utfpr.bankapi.model.Account;
 import br.edu.utfpr.bankapi.repository.AccountRepository;
+import br.edu.utfpr.bankapi.service.AccountCache;
+import br.edu.utfpr.bankapi.service.AccountNumberFilter;
 import org.junit.jupiter.api.Test;
 import org.mockito.BDDMockito;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -19,6 +23,12 @@ class AvailableAccountValidationTest {
     @Mock
     private AccountRepository accountRepository;
 
+    @Mock
+    private AccountCache accountCache;
+
+    @Mock
+    private AccountNumberFilter accountNumberFilter;
+
     @InjectMocks
     private AvailableAccountValidation availableAccountValidation;
 
@@ -30,16 +40,39 @@ class AvailableAccountValidationTest {
     void deveriaRetornarContaExistente() throws Exception {
         // ### ARRANGE ###
         long accountNumber = 12345L;
-        Account expectedAccount = new Account("John Doe", accountNumber, 1000.0, 500.0);
+        Account expectedAccount = new Account(7L, "John Doe", accountNumber, 1000, 500);
 
-        // Configura o repositório para retornar a conta
-        BDDMockito.given(accountRepository.getByNumber(accountNumber)).willReturn(Optional.of(expectedAccount));
+        // A existência é conferida pelo cache e a conta obtida pelo id
+        BDDMockito.given(accountCache.get(accountNumber))
+                .willReturn(Optional.of(new AccountCache.CachedAccount(7L, "John Doe", accountNumber, 500)));
+        BDDMockito.given(accountRepository.findById(7L)).willReturn(Optional.of(expectedAccount));
 
         // ### ACT ###
         Account result = availableAccountValidation.validate(accountNumber);
 
         // ### ASSERT ###
         assertEquals(expectedAccount, result);
+        BDDMockito.then(accountRepository).should(BDDMockito.never()).getByNumber(accountNumber);
+    }
+
+    @Test
+    void deveriaRecarregarContaComCacheDesatualizado() throws Exception {
+        // ### ARRANGE ###
+        Account renumbered = new Account(7L, "John Doe", 54321L, 1000, 0);
+        Account current = new Account(8L, "Jane Doe", 12345L, 200, 0);
+
+        // A conta 7 passou a ter outro número em outra instância
+        BDDMockito.given(accountCache.get(12345L))
+                .willReturn(Optional.of(new AccountCache.CachedAccount(7L, "John Doe", 12345L, 0)));
+        BDDMockito.given(accountRepository.findById(7L)).willReturn(Optional.of(renumbered));
+        BDDMockito.given(accountRepository.getByNumber(12345L)).willReturn(Optional.of(current));
+
+        // ### ACT ###
+        Account result = availableAccountValidation.validate(12345L);
+
+        // ### ASSERT ###
+        assertEquals(current, result);
+        BDDMockito.then(accountCache).should().invalidate(12345L);
     }
 
     @Test
@@ -47,8 +80,8 @@ class AvailableAccountValidationTest {
         // ### ARRANGE ###
         long accountNumber = 99999L;
 
-        // Configura o repositório para retornar um Optional vazio
-        BDDMockito.given(accountRepository.getByNumber(accountNumber)).willReturn(Optional.empty());
+        // Conta inexistente não é encontrada pelo cache
+        BDDMockito.given(accountCache.get(accountNumber)).willReturn(Optional.empty());
 
         // ### ACT & ASSERT ###
         NotFoundException exception = assertThrows(NotFoundException.class,
@@ -56,4 +89,72 @@ class AvailableAccountValidationTest {
 
         assertEquals("Conta 99999 inexistente", exception.getMessage());
     }
+
+    @Test
+    void deveriaBloquearContasEmUmaUnicaConsulta() throws Exception {
+        // ### ARRANGE ###
+        Account source = new Account("John Doe", 11111L, 1000, 0);
+        Account receiver = new Account("Jane Doe", 22222L, 0, 0);
+
+        BDDMockito.given(accountRepository.findByNumberInForUpdate(Set.of(11111L, 22222L)))
+                .willReturn(List.of(source, receiver));
+
+        // ### ACT ###
+        var result = availableAccountValidation.validateForUpdate(22222L, 11111L);
+
+        // ### ASSERT ###
+        assertEquals(source, result.get(11111L));
+        assertEquals(receiver, result.get(22222L));
+    }
+
+    @Test
+    void deveriaLancarNotFoundExceptionAoBloquearContaInexistente() {
+        // ### ARRANGE ###
+        Account source = new Account("John Doe", 11111L, 1000, 0);
+
+        BDDMockito.given(accountRepository.findByNumberInForUpdate(Set.of(11111L, 99999L)))
+                .willReturn(List.of(source));
+
+        // ### ACT & ASSERT ###
+        NotFoundException exception = assertThrows(NotFoundException.class,
+                () -> availableAccountValidation.validateForUpdate(11111L, 99999L));
+
+        assertEquals("Conta 99999 inexistente", exception.getMessage());
+    }
+
+    @Test
+    void deveriaRejeitarContaAusenteDoFiltroSemConsultarOBanco() {
+        // ### ARRANGE ###
+        BDDMockito.given(accountNumberFilter.isAbsent(99999L)).willReturn(true);
+
+        // ### ACT & ASSERT ###
+        assertThrows(NotFoundException.class, () -> availableAccountValidation.validate(99999L));
+        BDDMockito.then(accountRepository).shouldHaveNoInteractions();
+    }
+
+    @Test
+    void deveriaRetornarReferenciaSemCarregarConta() throws Exception {
+        // ### ARRANGE ###
+        Account reference = new Account(7L, null, 0, 0, 0);
+
+        BDDMockito.given(accountCache.get(12345L))
+                .willReturn(Optional.of(new AccountCache.CachedAccount(7L, "John Doe", 12345L, 0)));
+        BDDMockito.given(accountRepository.getReferenceById(7L)).willReturn(reference);
+
+        // ### ACT ###
+        Account account = availableAccountValidation.reference(12345L);
+
+        // ### ASSERT ###
+        assertEquals(reference, account);
+        BDDMockito.then(accountRepository).should(BDDMockito.never()).getByNumber(12345L);
+    }
+
+    @Test
+    void deveriaLancarNotFoundExceptionAoReferenciarContaInexistente() {
+        // ### ARRANGE ###
+        BDDMockito.given(accountCache.get(99999L)).willReturn(Optional.empty());
+
+        // ### ACT & ASSERT ###
+        assertThrows(NotFoundException.class, () -> availableAccountValidation.reference(99999L));
+    }
 }
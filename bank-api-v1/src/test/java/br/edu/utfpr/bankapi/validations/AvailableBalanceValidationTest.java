@@ -15,8 +15,8 @@ class AvailableBalanceValidationTest {
     @Test
     void deveriaPermitirTransacaoComSaldoSuficiente() {
         // ### ARRANGE ###
-        Account sourceAccount = new Account("John Doe", 12345, 1000.0, 500.0); // Saldo total: 1500
-        Transaction transaction = new Transaction(sourceAccount, null, 1000.0, TransactionType.WITHDRAW);
+        Account sourceAccount = new Account("John Doe", 12345, 1000, 500); // Saldo total: 1500
+        Transaction transaction = new Transaction(sourceAccount, null, 1000, TransactionType.WITHDRAW);
 
         // ### ACT & ASSERT ###
         availableBalanceValidation.validate(transaction); // Não deve lançar exceção
@@ -25,8 +25,8 @@ class AvailableBalanceValidationTest {
     @Test
     void deveriaLancarWithoutBalanceExceptionQuandoSaldoInsuficiente() {
         // ### ARRANGE ###
-        Account sourceAccount = new Account("John Doe", 12345, 1000.0, 500.0); // Saldo total: 1500
-        Transaction transaction = new Transaction(sourceAccount, null, 2000.0, TransactionType.WITHDRAW);
+        Account sourceAccount = new Account("John Doe", 12345, 1000, 500); // Saldo total: 1500
+        Transaction transaction = new Transaction(sourceAccount, null, 2000, TransactionType.WITHDRAW);
 
         // ### ACT & ASSERT ###
         assertThrows(WithoutBalanceException.class,